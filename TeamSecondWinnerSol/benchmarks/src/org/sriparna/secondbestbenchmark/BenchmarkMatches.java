@@ -0,0 +1,134 @@
+package org.sriparna.secondbestbenchmark;
+
+import org.sriparna.secondbest.Match;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.MatchPool;
+import org.sriparna.secondbest.Olympics;
+import org.sriparna.secondbest.RandomOutcomeStrategy;
+
+/**
+ * Class which provides the @link Match implementations and the inputs used by the benchmarks
+ * 
+ * @author SriparnaChakraborty
+ * 
+ * */
+
+public class BenchmarkMatches {
+	
+	/**
+	 * Kinds of @link Match the benchmarks can be run with :
+	 * 
+	 * 	1. MATCH_DETERMINISTIC : the team with the higher id always wins
+	 * 	2. MATCH_RANDOM : the @link Match objects handed out by @link MatchFactory, which decide 
+	 * 		the winners from the ratings of the sport. Check @link org.sriparna.secondbest.RatedMatch
+	 * 	3. MATCH_SEEDED : each team wins with the same probability, drawn from a seeded 
+	 * 		generator per thread. Check @link RandomOutcomeStrategy
+	 * */
+	
+	public static final String MATCH_DETERMINISTIC = "deterministic";
+	public static final String MATCH_RANDOM = "random";
+	public static final String MATCH_SEEDED = "seeded";
+	
+	private static final RandomOutcomeStrategy SEEDED_STRATEGY = new RandomOutcomeStrategy(42);
+	
+	/**
+	 * Match in which the team with the higher id always wins. 
+	 * 
+	 * This mirrors the fixture of the same name in org.sriparna.secondbesttest.Matches, which the 
+	 * benchmark profile cannot see : it excludes the tests from compilation, since they need JUnit.
+	 * */
+	
+	public static class HigherTeamWinsMatch extends Match{
+		
+		@Override
+		public void play(int team1, int team2, int matchType){
+			super.play(team1, team2, matchType);
+			mWinner = Math.max(team1, team2);
+		}
+	}
+	
+	/**
+	 * Returns a @link Match object of the given kind
+	 * 
+	 * @param kind one of the MATCH_* constants
+	 * @param typeOfSport the type of sport to play
+	 * @return Match the @link Match object
+	 * */
+	
+	public static Match newMatch(String kind, int typeOfSport){
+		if(MATCH_DETERMINISTIC.equals(kind)){
+			return new HigherTeamWinsMatch();
+		}
+		Match match = MatchFactory.getMatchInstance(typeOfSport);
+		if(MATCH_SEEDED.equals(kind)){
+			match.setOutcomeStrategy(SEEDED_STRATEGY);
+		}
+		return match;
+	}
+	
+	/**
+	 * Returns an @link Olympics object playing with the given kind of @link Match and engine. 
+	 * The matches are borrowed from a pool so that every engine, including the ones playing on 
+	 * several threads, can be benchmarked with the same kind of @link Match.
+	 * 
+	 * @param kind one of the MATCH_* constants
+	 * @param engine name of the engine, i.e. the ENGINE_MODE_* constant without the prefix
+	 * @param typeOfSport the type of sport to play
+	 * @return Olympics the @link Olympics object
+	 * */
+	
+	public static Olympics newOlympics(final String kind, String engine, final int typeOfSport){
+		int capacity = 2 * Runtime.getRuntime().availableProcessors();
+		Olympics olympics = new Olympics(new MatchPool(typeOfSport, capacity, () -> newMatch(kind, typeOfSport)));
+		olympics.setEngineMode(engineMode(engine));
+		return olympics;
+	}
+	
+	/**
+	 * Maps the name of an engine to its ENGINE_MODE_* constant in @link Olympics
+	 * 
+	 * @param engine name of the engine
+	 * @return int the engine mode
+	 * @throws IllegalArgumentException In case the engine is unknown
+	 * */
+	
+	public static int engineMode(String engine) throws IllegalArgumentException{
+		switch(engine){
+		case "QUEUE":
+			return Olympics.ENGINE_MODE_QUEUE;
+		case "PRIMITIVE":
+			return Olympics.ENGINE_MODE_PRIMITIVE;
+		case "TREE":
+			return Olympics.ENGINE_MODE_TREE;
+		case "PARALLEL":
+			return Olympics.ENGINE_MODE_PARALLEL;
+		case "ASYNC":
+			return Olympics.ENGINE_MODE_ASYNC;
+		default:
+			throw new IllegalArgumentException("Unknown engine " + engine);
+		}
+	}
+	
+	/**
+	 * Returns an array holding the ids 1 ... numOfTeams in a shuffled order, 
+	 * which is the same for every run
+	 * 
+	 * @param numOfTeams the number of teams 
+	 * @return int[] the shuffled team ids
+	 * */
+	
+	public static int[] shuffledTeams(int numOfTeams){
+		java.util.SplittableRandom random = new java.util.SplittableRandom(numOfTeams);
+		int[] teams = new int[numOfTeams];
+		for(int i = 0; i < numOfTeams; i++){
+			teams[i] = i + 1;
+		}
+		for(int i = numOfTeams - 1; i > 0; i--){
+			int j = random.nextInt(i + 1);
+			int temp = teams[i];
+			teams[i] = teams[j];
+			teams[j] = temp;
+		}
+		return teams;
+	}
+}
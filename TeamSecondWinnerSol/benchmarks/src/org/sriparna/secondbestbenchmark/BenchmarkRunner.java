@@ -0,0 +1,30 @@
+package org.sriparna.secondbestbenchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Main class of the benchmarks jar. Accepts the usual JMH command line options and always 
+ * adds the gc profiler, so that the allocation rate is reported along with throughput and latency.
+ * 
+ * @author SriparnaChakraborty
+ * 
+ * */
+
+public class BenchmarkRunner {
+	
+	/**
+	 * @param args JMH command line options, for e.g. a regular expression selecting the benchmarks
+	 * */
+	
+	public static void main(String[] args) throws Exception{
+		Options options = new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,77 @@
+package org.sriparna.secondbestbenchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sriparna.secondbest.Match;
+import org.sriparna.secondbest.MatchFactory;
+
+/**
+ * Benchmark of a round of matches played one match at a time through @link Match#play, 
+ * @link Match#getWinner and @link Match#recycle, and with a single call to @link Match#playRound.
+ * Scores are per match.
+ * 
+ * @author SriparnaChakraborty
+ * 
+ * */
+
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchBenchmark {
+	
+	private static final int MATCHES_PER_ROUND = 1024;
+	
+	@Param({BenchmarkMatches.MATCH_DETERMINISTIC, BenchmarkMatches.MATCH_RANDOM, BenchmarkMatches.MATCH_SEEDED})
+	public String match;
+	
+	private Match mMatch;
+	private int[] mLeft;
+	private int[] mRight;
+	private int[] mWinners;
+	
+	@Setup
+	public void setUp(){
+		mMatch = BenchmarkMatches.newMatch(match, MatchFactory.SPORT_TYPE_HOCKEY);
+		int[] teams = BenchmarkMatches.shuffledTeams(2 * MATCHES_PER_ROUND);
+		mLeft = new int[MATCHES_PER_ROUND];
+		mRight = new int[MATCHES_PER_ROUND];
+		mWinners = new int[MATCHES_PER_ROUND];
+		for(int i = 0; i < MATCHES_PER_ROUND; i++){
+			mLeft[i] = teams[2 * i];
+			mRight[i] = teams[2 * i + 1];
+		}
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(MATCHES_PER_ROUND)
+	public int[] playOneAtATime(){
+		for(int i = 0; i < MATCHES_PER_ROUND; i++){
+			mMatch.play(mLeft[i], mRight[i], MatchFactory.SPORT_TYPE_HOCKEY);
+			mWinners[i] = mMatch.getWinner();
+			mMatch.recycle();
+		}
+		return mWinners;
+	}
+	
+	@Benchmark
+	@OperationsPerInvocation(MATCHES_PER_ROUND)
+	public int[] playRound(){
+		mMatch.playRound(mLeft, mRight, mWinners, 0, MATCHES_PER_ROUND, MatchFactory.SPORT_TYPE_HOCKEY);
+		return mWinners;
+	}
+}
@@ -0,0 +1,61 @@
+package org.sriparna.secondbestbenchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.Olympics;
+
+/**
+ * Benchmark of a whole series played by @link Olympics#play, for even and odd numbers of teams
+ * from 2 to 10^7, with every engine and kind of @link Match.
+ * 
+ * New engines are benchmarked by adding their name to the engine parameter, 
+ * check @link BenchmarkMatches#engineMode. ASYNC is left out by default since it is meant
+ * for slow matches, it can be added with -p engine=ASYNC
+ * 
+ * @author SriparnaChakraborty
+ * 
+ * */
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OlympicsBenchmark {
+	
+	@Param({"2", "3", "1000", "1001", "1000000", "1000001", "10000000", "10000001"})
+	public int numOfTeams;
+	
+	@Param({"QUEUE", "PRIMITIVE", "TREE", "PARALLEL"})
+	public String engine;
+	
+	@Param({BenchmarkMatches.MATCH_DETERMINISTIC, BenchmarkMatches.MATCH_RANDOM, BenchmarkMatches.MATCH_SEEDED})
+	public String match;
+	
+	private int[] mTeams;
+	private Olympics mOlympics;
+	
+	@Setup
+	public void setUp(){
+		mTeams = BenchmarkMatches.shuffledTeams(numOfTeams);
+		mOlympics = BenchmarkMatches.newOlympics(match, engine, MatchFactory.SPORT_TYPE_HOCKEY);
+	}
+	
+	@Benchmark
+	public Olympics.Result play(){
+		return mOlympics.play(mTeams, MatchFactory.SPORT_TYPE_HOCKEY);
+	}
+}
@@ -0,0 +1,78 @@
+package org.sriparna.secondbestbenchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.Olympics;
+
+/**
+ * Benchmark of a large number of small series of 8 to 64 teams, played in a single call with 
+ * @link Olympics#playAll compared to a new @link Olympics object and call to @link Olympics#play per series.
+ * 
+ * @author SriparnaChakraborty
+ * 
+ * */
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayAllBenchmark {
+	
+	@Param({"100000"})
+	public int numOfSeries;
+	
+	@Param({"PRIMITIVE", "PARALLEL"})
+	public String engine;
+	
+	@Param({BenchmarkMatches.MATCH_DETERMINISTIC, BenchmarkMatches.MATCH_RANDOM})
+	public String match;
+	
+	private int[] mTeams;
+	private int[] mOffsets;
+	private int[] mResults;
+	private Olympics mOlympics;
+	
+	@Setup
+	public void setUp(){
+		Random random = new Random(17);
+		mOffsets = new int[numOfSeries + 1];
+		for(int t = 0; t < numOfSeries; t++){
+			mOffsets[t + 1] = mOffsets[t] + 8 + random.nextInt(57);
+		}
+		mTeams = BenchmarkMatches.shuffledTeams(mOffsets[numOfSeries]);
+		mResults = new int[Olympics.RESULT_STRIDE * numOfSeries];
+		mOlympics = BenchmarkMatches.newOlympics(match, engine, MatchFactory.SPORT_TYPE_HOCKEY);
+	}
+	
+	@Benchmark
+	public int[] playAll(){
+		mOlympics.playAll(mTeams, mOffsets, numOfSeries, MatchFactory.SPORT_TYPE_HOCKEY, mResults);
+		return mResults;
+	}
+	
+	@Benchmark
+	public void playOneAtATime(Blackhole blackhole){
+		for(int t = 0; t < numOfSeries; t++){
+			int[] series = new int[mOffsets[t + 1] - mOffsets[t]];
+			System.arraycopy(mTeams, mOffsets[t], series, 0, series.length);
+			Olympics olympics = new Olympics(BenchmarkMatches.newMatch(match, MatchFactory.SPORT_TYPE_HOCKEY));
+			blackhole.consume(olympics.play(series, MatchFactory.SPORT_TYPE_HOCKEY));
+		}
+	}
+}
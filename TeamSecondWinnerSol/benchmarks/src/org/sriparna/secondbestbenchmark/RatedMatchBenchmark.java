@@ -0,0 +1,82 @@
+package org.sriparna.secondbestbenchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sriparna.secondbest.HockeyMatch;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.RatedMatch;
+import org.sriparna.secondbest.RatingTable;
+
+/**
+ * Benchmark of a round of matches decided from ratings, scored at once by @link RatedMatch#playRound
+ * compared to one call to @link RatedMatch#play per match. Reported per round, so the number of 
+ * matches per second is numOfMatches times the throughput.
+ * 
+ * @author SriparnaChakraborty
+ * 
+ * */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatedMatchBenchmark {
+	
+	@Param({"1024", "65536"})
+	public int numOfMatches;
+	
+	@Param({"1000", "1000000"})
+	public int numOfTeams;
+	
+	private int[] mLeft;
+	private int[] mRight;
+	private int[] mWinners;
+	private RatedMatch mMatch;
+	
+	@Setup
+	public void setUp(){
+		Random random = new Random(17);
+		RatingTable ratings = new RatingTable(RatingTable.DEFAULT_RATING, numOfTeams);
+		for(int team = 0; team < numOfTeams; team++){
+			ratings.setRating(team, 1000 + random.nextInt(1000));
+		}
+		mLeft = new int[numOfMatches];
+		mRight = new int[numOfMatches];
+		mWinners = new int[numOfMatches];
+		for(int i = 0; i < numOfMatches; i++){
+			mLeft[i] = random.nextInt(numOfTeams);
+			mRight[i] = random.nextInt(numOfTeams);
+		}
+		mMatch = new HockeyMatch(ratings);
+	}
+	
+	@Benchmark
+	public int[] playRound(){
+		mMatch.playRound(mLeft, mRight, mWinners, 0, numOfMatches, MatchFactory.SPORT_TYPE_HOCKEY);
+		return mWinners;
+	}
+	
+	@Benchmark
+	public int[] playOneAtATime(){
+		for(int i = 0; i < numOfMatches; i++){
+			mMatch.play(mLeft[i], mRight[i], MatchFactory.SPORT_TYPE_HOCKEY);
+			mWinners[i] = mMatch.getWinner();
+			mMatch.recycle();
+		}
+		return mWinners;
+	}
+}
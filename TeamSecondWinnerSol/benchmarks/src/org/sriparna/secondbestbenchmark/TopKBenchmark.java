@@ -0,0 +1,89 @@
+package org.sriparna.secondbestbenchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.Olympics;
+
+/**
+ * Benchmark of ranking the k best teams with @link Olympics#playTopK, compared to calling 
+ * @link Olympics#play repeatedly and removing the two winners from the teams after every series.
+ * 
+ * @author SriparnaChakraborty
+ * 
+ * */
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TopKBenchmark {
+	
+	@Param({"1000", "100000"})
+	public int numOfTeams;
+	
+	@Param({"10", "100", "300"})
+	public int k;
+	
+	private int[] mTeams;
+	private Olympics mOlympics;
+	
+	@Setup
+	public void setUp(){
+		mTeams = BenchmarkMatches.shuffledTeams(numOfTeams);
+		mOlympics = new Olympics(new BenchmarkMatches.HigherTeamWinsMatch());
+		mOlympics.setEngineMode(Olympics.ENGINE_MODE_PRIMITIVE);
+	}
+	
+	@Benchmark
+	public Olympics.RankedResult playTopK(){
+		return mOlympics.playTopK(mTeams, MatchFactory.SPORT_TYPE_HOCKEY, k);
+	}
+	
+	@Benchmark
+	public int[] playRepeatedly(){
+		int[] ranking = new int[k];
+		int[] teams = mTeams.clone();
+		int numOfTeams = teams.length;
+		int rank = 0;
+		
+		while(rank < k && numOfTeams >= 2){
+			Olympics.Result result = mOlympics.play(Arrays.copyOf(teams, numOfTeams), MatchFactory.SPORT_TYPE_HOCKEY);
+			ranking[rank++] = result.mResult.mFirstWinner;
+			if(rank < k){
+				ranking[rank++] = result.mResult.mSecondWinner;
+			}
+			numOfTeams = remove(teams, numOfTeams, result.mResult.mFirstWinner);
+			numOfTeams = remove(teams, numOfTeams, result.mResult.mSecondWinner);
+		}
+		return ranking;
+	}
+	
+	/*
+	 * Removes a team by moving the last team in its place, and returns the new number of teams
+	 * */
+	
+	private static int remove(int[] teams, int numOfTeams, int team){
+		for(int i = 0; i < numOfTeams; i++){
+			if(teams[i] == team){
+				teams[i] = teams[numOfTeams - 1];
+				return numOfTeams - 1;
+			}
+		}
+		return numOfTeams;
+	}
+}
@@ -0,0 +1,116 @@
+package org.sriparna.secondbestbenchmark;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.TournamentServer;
+
+/**
+ * Benchmark of @link TournamentServer over the loopback interface. Every invocation sends a batch of 
+ * series of 16 teams over a single connection, either pipelined or one request at a time waiting 
+ * for every response. Reported per batch, so the number of series per second is batchSize times 
+ * the throughput.
+ * 
+ * @author SriparnaChakraborty
+ * 
+ * */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TournamentServerBenchmark {
+	
+	private static final int NUM_OF_TEAMS = 16;
+	
+	@Param({"1000"})
+	public int batchSize;
+	
+	@Param({BenchmarkMatches.MATCH_DETERMINISTIC, BenchmarkMatches.MATCH_RANDOM})
+	public String match;
+	
+	private TournamentServer mServer;
+	private SocketChannel mClient;
+	private ByteBuffer mRequests;
+	private ByteBuffer mResponses;
+	
+	@Setup(Level.Trial)
+	public void setUp() throws IOException{
+		mServer = new TournamentServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 
+				BenchmarkMatches.newOlympics(match, "PRIMITIVE", MatchFactory.SPORT_TYPE_HOCKEY));
+		mServer.start();
+		mClient = SocketChannel.open(mServer.getAddress());
+		
+		int[] teams = BenchmarkMatches.shuffledTeams(NUM_OF_TEAMS);
+		mRequests = ByteBuffer.allocateDirect(batchSize * (TournamentServer.REQUEST_HEADER_SIZE + NUM_OF_TEAMS * Integer.BYTES))
+				.order(ByteOrder.LITTLE_ENDIAN);
+		for(int t = 0; t < batchSize; t++){
+			mRequests.putInt(MatchFactory.SPORT_TYPE_HOCKEY).putInt(NUM_OF_TEAMS);
+			for(int team : teams){
+				mRequests.putInt(team);
+			}
+		}
+		mResponses = ByteBuffer.allocateDirect(batchSize * TournamentServer.RESPONSE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException{
+		mClient.close();
+		mServer.close();
+	}
+	
+	/*
+	 * The whole batch fits in the socket buffers on loopback, so it can be written before reading
+	 * */
+	
+	@Benchmark
+	public ByteBuffer pipelined() throws IOException{
+		mRequests.clear();
+		mResponses.clear();
+		while(mRequests.hasRemaining()){
+			mClient.write(mRequests);
+		}
+		while(mResponses.hasRemaining()){
+			mClient.read(mResponses);
+		}
+		return mResponses;
+	}
+	
+	@Benchmark
+	public ByteBuffer oneAtATime() throws IOException{
+		int requestSize = mRequests.capacity() / batchSize;
+		mResponses.clear();
+		for(int t = 0; t < batchSize; t++){
+			mRequests.limit((t + 1) * requestSize).position(t * requestSize);
+			while(mRequests.hasRemaining()){
+				mClient.write(mRequests);
+			}
+			mResponses.limit((t + 1) * TournamentServer.RESPONSE_SIZE);
+			while(mResponses.hasRemaining()){
+				mClient.read(mResponses);
+			}
+		}
+		return mResponses;
+	}
+}
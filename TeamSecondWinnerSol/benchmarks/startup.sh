@@ -0,0 +1,40 @@
+#!/bin/bash
+#
+# Measures the time to the first result of Main run from the shell, which is dominated by the
+# startup of the JVM, without class data sharing, with the archive of the JDK classes only, and
+# with the archive of the application built by : mvn -P appcds package
+#
+# Every run plays a single series of 5 teams in batch mode and exits once the result is written,
+# so the time of a run is the time to its first result.
+#
+# Usage : benchmarks/startup.sh [number of runs per mode, 20 by default]
+
+RUNS="${1:-20}"
+DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+JAR="${SECOND_WINNER_JAR:-$DIR/target/second-winner.jar}"
+ARCHIVE="${JAR%.jar}.jsa"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+SERIES="1 5 3 9 2 7 4"
+
+if [ ! -f "$JAR" ] || [ ! -f "$ARCHIVE" ]; then
+	echo "build the jar and the archive first : mvn -P appcds package" >&2
+	exit 1
+fi
+
+# Runs Main RUNS times with the given JVM options and prints the mean time of a run in ms
+measure(){
+	local start end
+	start=$(date +%s%N)
+	for ((i = 0; i < RUNS; i++)); do
+		echo "$SERIES" | "$JAVA" "$@" -cp "$JAR" org.sriparna.secondbest.Main --batch > /dev/null 2>&1
+	done
+	end=$(date +%s%N)
+	echo $(( (end - start) / RUNS / 1000000 ))
+}
+
+# The first run warms the file cache
+measure -Xshare:auto > /dev/null
+
+echo "no class data sharing : $(measure -Xshare:off) ms"
+echo "JDK archive only      : $(measure -Xshare:auto) ms"
+echo "application archive   : $(measure -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto) ms"
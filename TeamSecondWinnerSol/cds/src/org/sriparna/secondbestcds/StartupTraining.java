@@ -0,0 +1,94 @@
+package org.sriparna.secondbestcds;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.sriparna.secondbest.Main;
+import org.sriparna.secondbest.Olympics;
+import org.sriparna.secondbest.SportRegistry;
+
+/**
+ * Training run of the class data sharing archive built by the appcds profile. Every class loaded 
+ * while it runs is stored in the archive, so it goes through the same code as the runs of @link Main 
+ * from the shell : the interactive mode, the batch mode for every sport, and @link Olympics#play 
+ * with every engine mode, including the descriptions of @link Olympics.Result.
+ * 
+ * Writes the results of the series it plays to the standard output, which is discarded by the build.
+ * 
+ * @author SriparnaChakraborty
+ * 
+ * */
+
+public class StartupTraining {
+	
+	/*
+	 * Answers to the prompts of the interactive mode : the sport, the number of teams and the teams
+	 * */
+	
+	private static final String INTERACTIVE_ANSWERS = "1\n5\n3 9 2 7 4\n";
+	
+	private static final int[] ENGINE_MODES = {Olympics.ENGINE_MODE_QUEUE, Olympics.ENGINE_MODE_PRIMITIVE, 
+			Olympics.ENGINE_MODE_TREE, Olympics.ENGINE_MODE_PARALLEL, Olympics.ENGINE_MODE_ASYNC};
+	
+	/*
+	 * More series per sport than a chunk of the parallel engine, so that both paths of 
+	 * Olympics#playAll are taken
+	 * */
+	
+	private static final int SERIES_PER_SPORT = 300;
+	
+	public static void main(String[] args) throws IOException{
+		InputStream stdin = System.in;
+		try{
+			System.setIn(new ByteArrayInputStream(INTERACTIVE_ANSWERS.getBytes(StandardCharsets.US_ASCII)));
+			Main.main(new String[0]);
+		}
+		finally{
+			System.setIn(stdin);
+		}
+		
+		Path series = Files.createTempFile("training-series", ".txt");
+		try{
+			writeSeries(series);
+			Main.main(new String[]{"--batch", series.toString()});
+		}
+		finally{
+			Files.deleteIfExists(series);
+		}
+		
+		int[] teams = {12, 5, 31, 8, 17, 2, 26, 14, 9};
+		for(int sport : SportRegistry.getSupportedSports()){
+			for(int engineMode : ENGINE_MODES){
+				Olympics olympics = new Olympics();
+				olympics.setEngineMode(engineMode);
+				System.out.println(olympics.play(teams, sport));
+				System.out.println(olympics.play(new int[]{teams[0]}, sport));
+				System.out.println(olympics.play(new int[0], sport));
+			}
+		}
+	}
+	
+	/*
+	 * Writes series of 0 to 19 teams of every sport in the format of the batch mode
+	 * */
+	
+	private static void writeSeries(Path file) throws IOException{
+		try(Writer writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)){
+			for(int sport : SportRegistry.getSupportedSports()){
+				for(int t = 0; t < SERIES_PER_SPORT; t++){
+					int numOfTeams = t % 20;
+					writer.write(sport + " " + numOfTeams);
+					for(int i = 0; i < numOfTeams; i++){
+						writer.write(" " + ((i * 7 + t) % 50));
+					}
+					writer.write("\n");
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package org.sriparna.secondbest;
+
+/**
+ * A @link Match of archery, decided from the ratings of the teams. Check @link RatedMatch.
+ * Scores vary little from one round to the next, so the better team is favoured more than in hockey.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class ArcheryMatch extends RatedMatch {
+
+	/**
+	 * The difference of ratings for which the better team wins 10 times out of 11
+	 * */
+
+	public static final float SCALE = 300f;
+
+	/**
+	 * Creates a match using the ratings of the sport held by @link MatchFactory
+	 * */
+
+	public ArcheryMatch(){
+		this(MatchFactory.getRatingTable(MatchFactory.SPORT_TYPE_ARCHERY));
+	}
+
+	/**
+	 * @param ratings the ratings of the teams
+	 * */
+
+	public ArcheryMatch(RatingTable ratings){
+		super(ratings, SCALE);
+	}
+}
@@ -0,0 +1,341 @@
+package org.sriparna.secondbest;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * An engine for sports where a match spends most of its time waiting, for e.g. on a remote
+ * scoring service. All the matches of a round are submitted to an @link ExecutorService at once,
+ * so a round takes as long as its slowest match instead of the sum of all its matches.
+ *
+ * The teams are paired exactly as in the queue based series of @link Olympics (check
+ * @link ParallelTournamentEngine for details), so the winners are the same as with the
+ * sequential engines whenever the outcome of a match depends only on the teams playing it.
+ *
+ * The number of matches in flight is capped, and a series can be abandoned by cancelling the
+ * future returned by @link playAsync, which interrupts the matches in flight and plays no more.
+ *
+ * By default matches run on virtual threads when the JVM supports them, otherwise on a
+ * shared pool of daemon threads. The thread coordinating a series started by @link playAsync,
+ * which waits for the matches of every round, always runs on this default executor rather than
+ * on the executor of the matches, so that a bounded executor cannot be filled with coordinators
+ * waiting for matches which never get a thread.
+ *
+ * An exception thrown by a @link Match is thrown again as is by @link play, and completes the
+ * future returned by @link playAsync.
+ *
+ * The rounds are recorded in the metrics of @link Olympics as a whole. Their time includes the time
+ * the matches waited for a thread or a permit, since the matches of a round overlap.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+class AsyncTournamentEngine extends TournamentEngine {
+
+	static final int DEFAULT_MAX_MATCHES_IN_FLIGHT = 256;
+
+	private final Olympics mOlympics;
+	private final ExecutorService mExecutor;
+	private final int mMaxMatchesInFlight;
+
+	AsyncTournamentEngine(Olympics olympics, ExecutorService executor, int maxMatchesInFlight){
+		mOlympics = olympics;
+		mExecutor = (executor != null) ? executor : DefaultExecutorHolder.EXECUTOR;
+		mMaxMatchesInFlight = maxMatchesInFlight;
+	}
+
+	@Override
+	void play(int[] teams, int offset, int length, Match match, int typeOfSport,
+			int[] winnersOut, int outOffset){
+
+		Tournament tournament = new Tournament(teams, offset, length, typeOfSport);
+		try{
+			tournament.run();
+		}
+		catch(InterruptedException e){
+			tournament.cancelMatchesInFlight();
+			Thread.currentThread().interrupt();
+			throw new CancellationException();
+		}
+		winnersOut[outOffset] = tournament.mFirstWinner;
+		winnersOut[outOffset + 1] = tournament.mSecondWinner;
+	}
+
+	/**
+	 * Starts a series amongst the given teams and returns immediately.
+	 *
+	 * @param teams set of teams to play in the series. Should hold at least 2 teams.
+	 * @param typeOfSport the type of sport to play
+	 * @return CompletableFuture the future result of the series. Cancelling it abandons the series.
+	 * */
+
+	CompletableFuture<Olympics.Result> playAsync(int[] teams, int typeOfSport){
+		final Tournament tournament = new Tournament(teams.clone(), 0, teams.length, typeOfSport);
+		final CompletableFuture<Olympics.Result> result = new CompletableFuture<>();
+
+		final Future<?> coordinator = DefaultExecutorHolder.EXECUTOR.submit(() -> {
+			try{
+				tournament.run();
+				Olympics.Result.Winners winners = new Olympics.Result.Winners(tournament.mFirstWinner,
+						tournament.mSecondWinner);
+				result.complete(new Olympics.Result(Olympics.Result.RESULT_OK, winners));
+			}
+			catch(InterruptedException e){
+				tournament.cancelMatchesInFlight();
+				result.cancel(false);
+			}
+			catch(Throwable e){
+				result.completeExceptionally(e);
+			}
+		});
+
+		result.whenComplete((value, error) -> {
+			if(result.isCancelled()){
+				coordinator.cancel(true);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * State of a single series. Unlike the other engines this is not reused, since several
+	 * series can be in flight at the same time.
+	 * */
+
+	private class Tournament {
+
+		private final int[] mTeams;
+		private final int mOffset;
+		private final int mLength;
+		private final int mTypeOfSport;
+
+		/*
+		 * Positions of the teams playing in the current round and in the next round.
+		 * Check @link ParallelTournamentEngine for details.
+		 * */
+
+		private int[] mCurrentRound;
+		private int[] mNextRound;
+
+		/*
+		 * Lists of defeated teams. Check @link PrimitiveTournamentEngine for details.
+		 * */
+
+		private final int[] mDefeatedHead;
+		private final int[] mDefeatedTail;
+		private final int[] mNextDefeated;
+
+		/*
+		 * Ids of the teams playing the matches of the current round, and the winners
+		 * */
+
+		private final int[] mLeftTeams;
+		private final int[] mRightTeams;
+		private final int[] mWinnerTeams;
+
+		private final Future<?>[] mMatchesInFlight;
+		private final Semaphore mPermits;
+		private volatile Throwable mError = null;
+
+		int mFirstWinner = Olympics.Result.Winners.INVALID_VALUE;
+		int mSecondWinner = Olympics.Result.Winners.INVALID_VALUE;
+
+		Tournament(int[] teams, int offset, int length, int typeOfSport){
+			mTeams = teams;
+			mOffset = offset;
+			mLength = length;
+			mTypeOfSport = typeOfSport;
+			mCurrentRound = new int[length];
+			mNextRound = new int[length];
+			mDefeatedHead = new int[length];
+			mDefeatedTail = new int[length];
+			mNextDefeated = new int[length];
+			mLeftTeams = new int[length / 2];
+			mRightTeams = new int[length / 2];
+			mWinnerTeams = new int[length / 2];
+			mMatchesInFlight = new Future<?>[length / 2];
+			mPermits = new Semaphore(mMaxMatchesInFlight);
+		}
+
+		void run() throws InterruptedException{
+			Arrays.fill(mDefeatedHead, INDEX_NONE);
+			Arrays.fill(mDefeatedTail, INDEX_NONE);
+			for(int i = 0; i < mLength; i++){
+				mCurrentRound[i] = i;
+			}
+
+			int overallWinner = playRounds(mLength, true);
+
+			int numOfCandidates = 0;
+			for(int defeated = mDefeatedHead[overallWinner]; defeated != INDEX_NONE;
+					defeated = mNextDefeated[defeated]){
+				mCurrentRound[numOfCandidates++] = defeated;
+			}
+
+			int secondWinner;
+			OlympicsMetrics metrics = mOlympics.getMetrics();
+			if(metrics == null){
+				secondWinner = playRounds(numOfCandidates, false);
+			}
+			else{
+				long start = System.nanoTime();
+				secondWinner = playRounds(numOfCandidates, false);
+				metrics.recordRunnerUp(numOfCandidates, System.nanoTime() - start);
+			}
+
+			mFirstWinner = mTeams[mOffset + overallWinner];
+			mSecondWinner = mTeams[mOffset + secondWinner];
+		}
+
+		/*
+		 * Plays rounds starting with the given number of teams in mCurrentRound till one team is left,
+		 * and returns the position of that team.
+		 * */
+
+		private int playRounds(int numOfTeams, boolean recordDefeated) throws InterruptedException{
+			OlympicsMetrics metrics = mOlympics.getMetrics();
+			while(numOfTeams > 1){
+				int numOfMatches = numOfTeams / 2;
+				int odd = numOfTeams % 2;
+				if(odd == 1){
+					mNextRound[0] = mCurrentRound[numOfTeams - 1];
+				}
+
+				long start = (metrics != null) ? System.nanoTime() : 0;
+				CountDownLatch roundPlayed = new CountDownLatch(numOfMatches);
+				for(int i = 0; i < numOfMatches; i++){
+					mLeftTeams[i] = mTeams[mOffset + mCurrentRound[2 * i]];
+					mRightTeams[i] = mTeams[mOffset + mCurrentRound[2 * i + 1]];
+					mPermits.acquire();
+					mMatchesInFlight[i] = mExecutor.submit(new MatchTask(i, roundPlayed));
+				}
+				roundPlayed.await();
+
+				Throwable error = mError;
+				if(error instanceof RuntimeException){
+					throw (RuntimeException) error;
+				}
+				if(error instanceof Error){
+					throw (Error) error;
+				}
+				if(error != null){
+					throw new CompletionException(error);
+				}
+				if(metrics != null){
+					metrics.recordRound(numOfMatches, numOfTeams, System.nanoTime() - start);
+				}
+
+				for(int i = 0; i < numOfMatches; i++){
+					int first = mCurrentRound[2 * i];
+					int second = mCurrentRound[2 * i + 1];
+					int winner = (mWinnerTeams[i] == mLeftTeams[i]) ? first : second;
+					if(recordDefeated){
+						addDefeated(winner, (winner == first) ? second : first);
+					}
+					mNextRound[odd + i] = winner;
+				}
+
+				int[] temp = mCurrentRound;
+				mCurrentRound = mNextRound;
+				mNextRound = temp;
+				numOfTeams = numOfMatches + odd;
+			}
+			return mCurrentRound[0];
+		}
+
+		private void addDefeated(int winner, int loser){
+			mNextDefeated[loser] = INDEX_NONE;
+			int tail = mDefeatedTail[winner];
+			if(tail == INDEX_NONE){
+				mDefeatedHead[winner] = loser;
+			}
+			else{
+				mNextDefeated[tail] = loser;
+			}
+			mDefeatedTail[winner] = loser;
+		}
+
+		void cancelMatchesInFlight(){
+			for(Future<?> match : mMatchesInFlight){
+				if(match != null){
+					match.cancel(true);
+				}
+			}
+		}
+
+		/**
+		 * Plays a single match of the current round
+		 * */
+
+		private class MatchTask implements Runnable {
+
+			private final int mIndex;
+			private final CountDownLatch mRoundPlayed;
+
+			MatchTask(int index, CountDownLatch roundPlayed){
+				mIndex = index;
+				mRoundPlayed = roundPlayed;
+			}
+
+			@Override
+			public void run(){
+				try{
+					Match match = mOlympics.acquireMatch(mTypeOfSport);
+					try{
+						synchronized(match){
+							match.play(mLeftTeams[mIndex], mRightTeams[mIndex], mTypeOfSport);
+							mWinnerTeams[mIndex] = match.getWinner();
+							match.recycle();
+						}
+					}
+					finally{
+						mOlympics.releaseMatch(mTypeOfSport, match);
+					}
+				}
+				catch(Throwable e){
+					mError = e;
+				}
+				finally{
+					mPermits.release();
+					mRoundPlayed.countDown();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Lazily creates the executor used when none is specified, and for the coordinators. Virtual threads are looked up
+	 * reflectively so that the application still runs on JVMs without them.
+	 * */
+
+	private static class DefaultExecutorHolder {
+
+		static final ExecutorService EXECUTOR = createExecutor();
+
+		private static ExecutorService createExecutor(){
+			try{
+				Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+				return (ExecutorService) method.invoke(null);
+			}
+			catch(ReflectiveOperationException e){
+				return Executors.newCachedThreadPool(new ThreadFactory(){
+					@Override
+					public Thread newThread(Runnable runnable){
+						Thread thread = new Thread(runnable, "olympics-match");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+			}
+		}
+	}
+}
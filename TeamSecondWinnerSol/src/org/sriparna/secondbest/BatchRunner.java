@@ -0,0 +1,327 @@
+package org.sriparna.secondbest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Plays many series read from a stream, without any prompt, and writes their results to another stream.
+ * Used by @link Main with the argument --batch.
+ *
+ * The input is made of integers separated by any whitespace. Every series is given by the type of
+ * sport, the number of teams n and the n teams, and series follow each other till the end of the input :
+ *  sport n team1 ... teamn sport n team1 ... teamn ...
+ * For every series a line is written with the error code, the first winner and the second winner,
+ * as in @link Olympics.Result, separated by spaces. A series of an unsupported sport gets the result
+ * RESULT_INVALID_DATA_PROVIDED.
+ *
+ * The input is parsed by hand from a byte buffer and the output formatted into another one, so that no
+ * object is created per number. Consecutive series of the same sport are collected in flat arrays and
+ * played in chunks of up to DEFAULT_SERIES_PER_CHUNK series by @link Olympics#playAll.
+ *
+ * In case the input is malformed or cut short, the results of all the series read completely
+ * before the error are still written, so that the lines of the output match the series of the input.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class BatchRunner {
+
+	/**
+	 * Maximum number of series, and of teams unless a single series has more, played by a call
+	 * to @link Olympics#playAll
+	 * */
+
+	public static final int DEFAULT_SERIES_PER_CHUNK = 4096;
+	public static final int DEFAULT_TEAMS_PER_CHUNK = 1 << 20;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/*
+	 * Largest array the JVM can allocate, which bounds the number of teams of a series
+	 * */
+
+	private static final int MAX_TEAMS_PER_SERIES = Integer.MAX_VALUE - 8;
+
+	private final Olympics mOlympics;
+
+	/*
+	 * The chunk of series being collected, check @link Olympics#playAll for the layout
+	 * */
+
+	private int[] mTeams = new int[1024];
+	private final int[] mOffsets = new int[DEFAULT_SERIES_PER_CHUNK + 1];
+	private final int[] mResults = new int[Olympics.RESULT_STRIDE * DEFAULT_SERIES_PER_CHUNK];
+	private int mNumOfSeries = 0;
+	private int mTypeOfSport = -1;
+
+	/*
+	 * Statistics of all the calls to @link run
+	 * */
+
+	private long mNumOfTournaments = 0;
+	private long mElapsedNanos = 0;
+
+	/**
+	 * @param olympics the object playing the series. Its engine mode applies, for e.g.
+	 * 			ENGINE_MODE_PARALLEL spreads the chunks over the cores.
+	 * */
+
+	public BatchRunner(Olympics olympics){
+		mOlympics = olympics;
+	}
+
+	/**
+	 * Plays all the series of the input and writes their results to the output, which is flushed
+	 * but not closed
+	 *
+	 * @param in the series to play
+	 * @param out the stream to which results are written
+	 * @return long the number of series played
+	 * @throws IOException In case the streams cannot be read or written, or the input is malformed
+	 * */
+
+	public long run(InputStream in, OutputStream out) throws IOException{
+		long start = System.nanoTime();
+		IntReader reader = new IntReader(in);
+		AsciiWriter writer = new AsciiWriter(out);
+		long numOfTournaments = 0;
+		try{
+			while(reader.hasNext()){
+				int typeOfSport = reader.nextInt();
+				int numOfTeams = reader.nextInt();
+				if(numOfTeams < 0 || numOfTeams > MAX_TEAMS_PER_SERIES){
+					throw new IOException(Constants.ERROR_MESSAGE_INVALID_BATCH_INPUT);
+				}
+
+				if(typeOfSport != mTypeOfSport || mNumOfSeries == DEFAULT_SERIES_PER_CHUNK
+						|| (mNumOfSeries > 0 && (long) mOffsets[mNumOfSeries] + numOfTeams > DEFAULT_TEAMS_PER_CHUNK)){
+					playChunk(writer);
+					mTypeOfSport = typeOfSport;
+				}
+
+				/*
+				 * The chunk is either empty or holds at most DEFAULT_TEAMS_PER_CHUNK teams with this series,
+				 * so the end of the series fits in an int. The teams array only grows as teams are read,
+				 * so a count larger than the input does not allocate room for teams which never come.
+				 * */
+
+				int offset = mOffsets[mNumOfSeries];
+				int end = offset + numOfTeams;
+				for(int i = offset; i < end; i++){
+					if(i == mTeams.length){
+						mTeams = Arrays.copyOf(mTeams, (int) Math.min(2L * i, end));
+					}
+					mTeams[i] = reader.nextInt();
+				}
+				mNumOfSeries++;
+				mOffsets[mNumOfSeries] = offset + numOfTeams;
+				numOfTournaments++;
+			}
+			playChunk(writer);
+		}
+		catch(IOException e){
+
+			/*
+			 * The series read completely before the error still get their results. Nothing is
+			 * played again if the error comes from writing, since the chunk is emptied first.
+			 * */
+
+			try{
+				playChunk(writer);
+			}
+			catch(IOException | RuntimeException suppressed){
+				e.addSuppressed(suppressed);
+			}
+			throw e;
+		}
+		finally{
+			mNumOfSeries = 0;
+			mTypeOfSport = -1;
+			writer.flush();
+			mNumOfTournaments += numOfTournaments;
+			mElapsedNanos += System.nanoTime() - start;
+		}
+		return numOfTournaments;
+	}
+
+	/**
+	 * @return long the number of series played by all the calls to @link run
+	 * */
+
+	public long getNumOfTournaments(){
+		return mNumOfTournaments;
+	}
+
+	/**
+	 * @return long the time spent in all the calls to @link run, including reading and writing
+	 * */
+
+	public long getElapsedNanos(){
+		return mElapsedNanos;
+	}
+
+	/**
+	 * @return double the number of series played per second by all the calls to @link run
+	 * */
+
+	public double getTournamentsPerSecond(){
+		return (mElapsedNanos > 0) ? mNumOfTournaments * 1e9 / mElapsedNanos : 0;
+	}
+
+	/*
+	 * Plays the series collected so far, writes their results and starts a new chunk
+	 * */
+
+	private void playChunk(AsciiWriter writer) throws IOException{
+		int numOfSeries = mNumOfSeries;
+		if(numOfSeries == 0){
+			return;
+		}
+		mNumOfSeries = 0;
+		if(SportRegistry.isSupported(mTypeOfSport)){
+			mOlympics.playAll(mTeams, mOffsets, numOfSeries, mTypeOfSport, mResults);
+		}
+		else{
+			for(int t = 0; t < numOfSeries; t++){
+				mResults[Olympics.RESULT_STRIDE * t] = Olympics.Result.RESULT_INVALID_DATA_PROVIDED;
+				mResults[Olympics.RESULT_STRIDE * t + 1] = Olympics.Result.Winners.INVALID_VALUE;
+				mResults[Olympics.RESULT_STRIDE * t + 2] = Olympics.Result.Winners.INVALID_VALUE;
+			}
+		}
+
+		for(int t = 0; t < numOfSeries; t++){
+			int out = Olympics.RESULT_STRIDE * t;
+			writer.writeInt(mResults[out]);
+			writer.writeByte(' ');
+			writer.writeInt(mResults[out + 1]);
+			writer.writeByte(' ');
+			writer.writeInt(mResults[out + 2]);
+			writer.writeByte('\n');
+		}
+	}
+
+	/*
+	 * Reads whitespace separated decimal ints from a stream through a byte buffer
+	 * */
+
+	private static class IntReader {
+
+		private final InputStream mIn;
+		private final byte[] mBuffer = new byte[BUFFER_SIZE];
+		private int mPosition = 0;
+		private int mLimit = 0;
+
+		IntReader(InputStream in){
+			mIn = in;
+		}
+
+		/*
+		 * Skips whitespace and returns true unless the end of the stream has been reached
+		 * */
+
+		boolean hasNext() throws IOException{
+			while(true){
+				if(mPosition == mLimit && !fill()){
+					return false;
+				}
+				if(mBuffer[mPosition] > ' '){
+					return true;
+				}
+				mPosition++;
+			}
+		}
+
+		int nextInt() throws IOException{
+			if(!hasNext()){
+				throw new IOException(Constants.ERROR_MESSAGE_INVALID_BATCH_INPUT);
+			}
+			boolean negative = false;
+			if(mBuffer[mPosition] == '-'){
+				negative = true;
+				mPosition++;
+			}
+
+			long value = 0;
+			int numOfDigits = 0;
+			while(mPosition < mLimit || fill()){
+				int digit = mBuffer[mPosition] - '0';
+				if(digit < 0 || digit > 9){
+					break;
+				}
+				value = 10 * value + digit;
+				if(value > Integer.MAX_VALUE + 1L){
+					throw new IOException(Constants.ERROR_MESSAGE_INVALID_BATCH_INPUT);
+				}
+				numOfDigits++;
+				mPosition++;
+			}
+
+			if(numOfDigits == 0 || (mPosition < mLimit && mBuffer[mPosition] > ' ')
+					|| (!negative && value > Integer.MAX_VALUE)){
+				throw new IOException(Constants.ERROR_MESSAGE_INVALID_BATCH_INPUT);
+			}
+			return (int) (negative ? -value : value);
+		}
+
+		private boolean fill() throws IOException{
+			int read = mIn.read(mBuffer, 0, mBuffer.length);
+			mPosition = 0;
+			mLimit = Math.max(0, read);
+			return read > 0;
+		}
+	}
+
+	/*
+	 * Formats ints as decimal text into a byte buffer written to a stream when full
+	 * */
+
+	private static class AsciiWriter {
+
+		private final OutputStream mOut;
+		private final byte[] mBuffer = new byte[BUFFER_SIZE];
+		private final byte[] mDigits = new byte[11];
+		private int mPosition = 0;
+
+		AsciiWriter(OutputStream out){
+			mOut = out;
+		}
+
+		void writeByte(int value) throws IOException{
+			if(mPosition == mBuffer.length){
+				flushBuffer();
+			}
+			mBuffer[mPosition++] = (byte) value;
+		}
+
+		void writeInt(int value) throws IOException{
+			if(mBuffer.length - mPosition < mDigits.length){
+				flushBuffer();
+			}
+			long remaining = value;
+			if(remaining < 0){
+				mBuffer[mPosition++] = '-';
+				remaining = -remaining;
+			}
+			int numOfDigits = 0;
+			do{
+				mDigits[numOfDigits++] = (byte) ('0' + remaining % 10);
+				remaining /= 10;
+			}while(remaining > 0);
+			while(numOfDigits > 0){
+				mBuffer[mPosition++] = mDigits[--numOfDigits];
+			}
+		}
+
+		void flush() throws IOException{
+			flushBuffer();
+			mOut.flush();
+		}
+
+		private void flushBuffer() throws IOException{
+			mOut.write(mBuffer, 0, mPosition);
+			mPosition = 0;
+		}
+	}
+}
@@ -0,0 +1,422 @@
+package org.sriparna.secondbest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A series kept after it has been played, so that it can be updated without replaying every match.
+ * Obtained from @link Olympics#playBracket.
+ *
+ * The series is stored as an implicit binary tree like in @link TreeTournamentEngine, but the
+ * number of leaves is a power of 2 and a leaf may be empty. A team whose opponent is empty goes
+ * through without playing. Every internal node holds the slot of the winner of its match, or
+ * EMPTY if both its subtrees are empty. The slot of a team is found through a map from team ids
+ * to slots, so team ids must be distinct.
+ *
+ * When the result of a match changes, only the matches on the path from it to the root are
+ * replayed, and the replay stops as soon as a node keeps its winner. The second winner is then
+ * found again amongst the teams defeated by the overall winner, which lie along its own path.
+ * So an update plays O(log2(n)) matches, and the first and second winners are always known.
+ *
+ * Teams can join or withdraw after the series is played. A team joins in an empty leaf, and if
+ * there is none the tree is doubled : the current tree becomes the left subtree of a new root
+ * and the right subtree is empty, so no match is replayed. A team withdraws by emptying its leaf.
+ * Either way only the matches on the path from the leaf to the root are replayed.
+ *
+ * An object of this class should not be used by several threads at the same time.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class Bracket {
+
+	/*
+	 * Slot value of an empty leaf, or of a node whose subtrees are empty
+	 * */
+
+	private static final int EMPTY = -1;
+
+	private final Olympics mOlympics;
+	private final int mTypeOfSport;
+
+	/*
+	 * Number of leaves, always a power of 2, and the implicit tree holding slots.
+	 * The leaf of slot s is the node mCapacity - 1 + s.
+	 * */
+
+	private int mCapacity;
+	private int[] mTree;
+
+	/*
+	 * Id of the team in every slot, and the slot of every team
+	 * */
+
+	private int[] mTeams;
+	private final IntIntMap mSlots;
+
+	/*
+	 * Stack of the empty slots
+	 * */
+
+	private int[] mFreeSlots;
+	private int mNumOfFreeSlots = 0;
+
+	private int mFirstWinner = Olympics.Result.Winners.INVALID_VALUE;
+	private int mSecondWinner = Olympics.Result.Winners.INVALID_VALUE;
+
+	/*
+	 * Winners of the matches whose result was overturned, keyed by the pair of teams.
+	 * Corrections are rare, so a map of boxed values is good enough and it is only looked up
+	 * when not empty.
+	 * */
+
+	private final Map<Long, Integer> mCorrections = new HashMap<>();
+
+	/*
+	 * Holds the teams defeated by the overall winner. A path in the tree has at most 31 edges.
+	 * */
+
+	private final int[] mCandidates = new int[32];
+
+	/*
+	 * The @link Match object used by the update in progress
+	 * */
+
+	private Match mMatch = null;
+
+	Bracket(Olympics olympics, int typeOfSport, int[] teams) throws IllegalArgumentException{
+		mOlympics = olympics;
+		mTypeOfSport = typeOfSport;
+
+		int numOfTeams = (teams != null) ? teams.length : 0;
+		mCapacity = Integer.highestOneBit(Math.max(1, 2 * numOfTeams - 1));
+		mTree = new int[2 * mCapacity - 1];
+		mTeams = new int[mCapacity];
+		mSlots = new IntIntMap(numOfTeams);
+		mFreeSlots = new int[mCapacity];
+		for(int slot = mCapacity - 1; slot >= numOfTeams; slot--){
+			mFreeSlots[mNumOfFreeSlots++] = slot;
+		}
+
+		for(int slot = 0; slot < mCapacity; slot++){
+			if(slot < numOfTeams){
+				if(mSlots.get(teams[slot]) != IntIntMap.NO_VALUE){
+					throw new IllegalArgumentException(Constants.ERROR_MESSAGE_DUPLICATE_TEAM);
+				}
+				mSlots.put(teams[slot], slot);
+				mTeams[slot] = teams[slot];
+				mTree[mCapacity - 1 + slot] = slot;
+			}
+			else{
+				mTree[mCapacity - 1 + slot] = EMPTY;
+			}
+		}
+
+		mMatch = mOlympics.acquireMatch(mTypeOfSport);
+		try{
+			for(int node = mCapacity - 2; node >= 0; node--){
+				mTree[node] = playNode(node);
+			}
+			updateWinners();
+		}
+		finally{
+			releaseMatch();
+		}
+	}
+
+	/**
+	 * @return Olympics.Result The current result of the series, with the same error codes as @link Olympics#play
+	 * */
+
+	public Olympics.Result getResult(){
+		int errorCode = Olympics.Result.RESULT_OK;
+		if(mSlots.size() == 0){
+			errorCode = Olympics.Result.RESULT_INVALID_DATA_PROVIDED;
+		}
+		else if(mSlots.size() == 1){
+			errorCode = Olympics.Result.RESULT_INADEQUATE_DATA_PROVIDED;
+		}
+		return new Olympics.Result(errorCode, new Olympics.Result.Winners(mFirstWinner, mSecondWinner));
+	}
+
+	/**
+	 * @return int the current overall winner, or INVALID_VALUE if there is no team
+	 * */
+
+	public int getFirstWinner(){
+		return mFirstWinner;
+	}
+
+	/**
+	 * @return int the current second winner, or INVALID_VALUE if there are fewer than 2 teams
+	 * */
+
+	public int getSecondWinner(){
+		return mSecondWinner;
+	}
+
+	/**
+	 * @return int the number of teams in the series
+	 * */
+
+	public int getNumOfTeams(){
+		return mSlots.size();
+	}
+
+	/**
+	 * Reverses the result of the match played between two teams, for e.g. when the winner is
+	 * disqualified. The matches which depend on it are replayed and the corrected result is kept
+	 * if the two teams play each other again.
+	 *
+	 * @param teamA one of the teams of the match
+	 * @param teamB the other team of the match
+	 * @return nothing
+	 * @throws IllegalArgumentException In case the two teams did not play each other
+	 * */
+
+	public void overturn(int teamA, int teamB) throws IllegalArgumentException{
+		int slotA = mSlots.get(teamA);
+		int slotB = mSlots.get(teamB);
+		if(slotA == IntIntMap.NO_VALUE || slotB == IntIntMap.NO_VALUE || slotA == slotB){
+			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_NO_SUCH_MATCH);
+		}
+
+		/*
+		 * The teams met at the lowest common ancestor of their leaves, if both won their way up to it
+		 * */
+
+		int nodeA = mCapacity - 1 + slotA;
+		int nodeB = mCapacity - 1 + slotB;
+		while(nodeA != nodeB){
+			nodeA = (nodeA - 1) / 2;
+			nodeB = (nodeB - 1) / 2;
+		}
+		int node = nodeA;
+		int left = mTree[2 * node + 1];
+		int right = mTree[2 * node + 2];
+		if(!((left == slotA && right == slotB) || (left == slotB && right == slotA))){
+			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_NO_SUCH_MATCH);
+		}
+
+		int loser = (mTree[node] == slotA) ? slotB : slotA;
+		mCorrections.put(pair(mTeams[left], mTeams[right]), mTeams[loser]);
+		mTree[node] = loser;
+
+		mMatch = mOlympics.acquireMatch(mTypeOfSport);
+		try{
+			replayPath(node);
+			updateWinners();
+		}
+		finally{
+			releaseMatch();
+		}
+	}
+
+	/**
+	 * Adds a team to the series. The team plays the matches on its way to the root, so the first
+	 * and second winners are updated.
+	 *
+	 * @param team the team to add
+	 * @return nothing
+	 * @throws IllegalArgumentException In case the team is already in the series
+	 * */
+
+	public void addTeam(int team) throws IllegalArgumentException{
+		if(mSlots.get(team) != IntIntMap.NO_VALUE){
+			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_DUPLICATE_TEAM);
+		}
+		if(mNumOfFreeSlots == 0){
+			grow();
+		}
+
+		int slot = mFreeSlots[--mNumOfFreeSlots];
+		mSlots.put(team, slot);
+		mTeams[slot] = team;
+		int leaf = mCapacity - 1 + slot;
+		mTree[leaf] = slot;
+
+		mMatch = mOlympics.acquireMatch(mTypeOfSport);
+		try{
+			replayPath(leaf);
+			updateWinners();
+		}
+		finally{
+			releaseMatch();
+		}
+	}
+
+	/**
+	 * Withdraws a team from the series. The matches it won are replayed without it, so the first
+	 * and second winners are updated.
+	 *
+	 * @param team the team to withdraw
+	 * @return nothing
+	 * @throws IllegalArgumentException In case the team is not in the series
+	 * */
+
+	public void removeTeam(int team) throws IllegalArgumentException{
+		int slot = mSlots.remove(team);
+		if(slot == IntIntMap.NO_VALUE){
+			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_NO_SUCH_TEAM);
+		}
+		int leaf = mCapacity - 1 + slot;
+		mTree[leaf] = EMPTY;
+		mFreeSlots[mNumOfFreeSlots++] = slot;
+
+		mMatch = mOlympics.acquireMatch(mTypeOfSport);
+		try{
+			replayPath(leaf);
+			updateWinners();
+		}
+		finally{
+			releaseMatch();
+		}
+	}
+
+	/**
+	 * Writes the whole bracket in the binary format described in @link ResultWriter#BRACKET_MAGIC,
+	 * for e.g. to a FileChannel. The nodes hold team ids rather than slots, so the bracket can be
+	 * read without this object.
+	 *
+	 * @param channel the channel to write to
+	 * @return nothing
+	 * @throws IOException In case the channel cannot be written
+	 * */
+
+	public void writeTo(WritableByteChannel channel) throws IOException{
+		int numOfInts = ResultWriter.HEADER_INTS + 2 + mTree.length;
+		ByteBuffer buffer = ByteBuffer.allocate(numOfInts * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(ResultWriter.BRACKET_MAGIC).putInt(ResultWriter.VERSION).putInt(mCapacity).putInt(mSlots.size());
+		buffer.putInt(mFirstWinner).putInt(mSecondWinner);
+		for(int node = 0; node < mTree.length; node++){
+			buffer.putInt(teamOf(mTree[node]));
+		}
+		buffer.flip();
+		ResultWriter.writeFully(channel, buffer);
+	}
+
+	private int teamOf(int slot){
+		return (slot == EMPTY) ? Olympics.Result.Winners.INVALID_VALUE : mTeams[slot];
+	}
+
+	/*
+	 * Doubles the number of leaves. Every level of the current tree is copied to the left half
+	 * of the next level of the new tree, and the new leaves are empty.
+	 * */
+
+	private void grow(){
+		int capacity = 2 * mCapacity;
+		int[] tree = new int[2 * capacity - 1];
+		tree[0] = mTree[0];
+		for(int levelSize = 1; levelSize <= mCapacity; levelSize *= 2){
+			System.arraycopy(mTree, levelSize - 1, tree, 2 * levelSize - 1, levelSize);
+			Arrays.fill(tree, 3 * levelSize - 1, 4 * levelSize - 1, EMPTY);
+		}
+
+		mTeams = Arrays.copyOf(mTeams, capacity);
+		mFreeSlots = Arrays.copyOf(mFreeSlots, capacity);
+		for(int slot = capacity - 1; slot >= mCapacity; slot--){
+			mFreeSlots[mNumOfFreeSlots++] = slot;
+		}
+		mTree = tree;
+		mCapacity = capacity;
+	}
+
+	/*
+	 * Replays the matches of the ancestors of the given node, till one of them keeps its winner
+	 * */
+
+	private void replayPath(int node){
+		while(node > 0){
+			node = (node - 1) / 2;
+			int winner = playNode(node);
+			if(winner == mTree[node]){
+				break;
+			}
+			mTree[node] = winner;
+		}
+	}
+
+	/*
+	 * Plays the match of an internal node between the winners of its children and returns the slot of the winner
+	 * */
+
+	private int playNode(int node){
+		int left = mTree[2 * node + 1];
+		int right = mTree[2 * node + 2];
+		if(left == EMPTY){
+			return right;
+		}
+		if(right == EMPTY){
+			return left;
+		}
+		return (playMatch(mTeams[left], mTeams[right]) == mTeams[left]) ? left : right;
+	}
+
+	/*
+	 * Finds the first winner at the root, and the second winner amongst the teams it defeated,
+	 * in the order they were defeated
+	 * */
+
+	private void updateWinners(){
+		int winner = mTree[0];
+		if(winner == EMPTY){
+			mFirstWinner = Olympics.Result.Winners.INVALID_VALUE;
+			mSecondWinner = Olympics.Result.Winners.INVALID_VALUE;
+			return;
+		}
+
+		int numOfCandidates = 0;
+		for(int node = mCapacity - 1 + winner; node > 0; node = (node - 1) / 2){
+			int sibling = ((node & 1) == 1) ? node + 1 : node - 1;
+			if(mTree[sibling] != EMPTY){
+				mCandidates[numOfCandidates++] = mTeams[mTree[sibling]];
+			}
+		}
+
+		int secondWinner = Olympics.Result.Winners.INVALID_VALUE;
+		if(numOfCandidates > 0){
+			secondWinner = mCandidates[0];
+			for(int i = 1; i < numOfCandidates; i++){
+				secondWinner = playMatch(secondWinner, mCandidates[i]);
+			}
+		}
+		mFirstWinner = mTeams[winner];
+		mSecondWinner = secondWinner;
+	}
+
+	private int playMatch(int team1, int team2){
+		if(!mCorrections.isEmpty()){
+			Integer winner = mCorrections.get(pair(team1, team2));
+			if(winner != null){
+				return winner;
+			}
+		}
+		mMatch.play(team1, team2, mTypeOfSport);
+		int winner = mMatch.getWinner();
+		mMatch.recycle();
+		return winner;
+	}
+
+	private void releaseMatch(){
+		if(mMatch != null){
+			mOlympics.releaseMatch(mTypeOfSport, mMatch);
+			mMatch = null;
+		}
+	}
+
+	/*
+	 * Key of a pair of teams, independent of their order
+	 * */
+
+	private static long pair(int team1, int team2){
+		int low = Math.min(team1, team2);
+		int high = Math.max(team1, team2);
+		return ((long) low << 32) | (high & 0xFFFFFFFFL);
+	}
+}
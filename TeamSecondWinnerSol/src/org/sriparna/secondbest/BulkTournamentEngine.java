@@ -0,0 +1,165 @@
+package org.sriparna.secondbest;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Plays many independent series, stored one after the other in a single array of teams, and writes
+ * their results in a single array of ints. Used by @link Olympics#playAll.
+ *
+ * Series t is made of the teams teams[offsets[t]] ... teams[offsets[t + 1] - 1], and its result is
+ * written at resultsOut[RESULT_STRIDE * t] as : error code, first winner, second winner. The error
+ * codes are the same as those of @link Olympics#play.
+ *
+ * Series are played back to back by a @link TournamentEngine whose scratch buffers are reused,
+ * with a single @link Match object, so nothing is allocated per series. Series can also be spread
+ * over the cores of a @link ForkJoinPool, in which case every worker thread has its own engine
+ * and every task its own @link Match object.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+class BulkTournamentEngine {
+
+	/*
+	 * Number of ints of a result in resultsOut
+	 * */
+
+	static final int RESULT_STRIDE = 3;
+
+	/*
+	 * Sets of series with fewer series than this are not split any further
+	 * */
+
+	static final int DEFAULT_SERIES_PER_TASK = 256;
+
+	private final Olympics mOlympics;
+
+	/*
+	 * Engines of the worker threads, used when series are spread over the cores
+	 * */
+
+	private final ThreadLocal<PrimitiveTournamentEngine> mWorkerEngines =
+			ThreadLocal.withInitial(PrimitiveTournamentEngine::new);
+
+	BulkTournamentEngine(Olympics olympics){
+		mOlympics = olympics;
+	}
+
+	/**
+	 * Checks that the offsets describe series within the array of teams, and that there is room
+	 * for all the results
+	 *
+	 * @throws IllegalArgumentException In case the layout is not valid
+	 * */
+
+	static void checkLayout(int[] teams, int[] offsets, int numOfSeries, int[] resultsOut) throws IllegalArgumentException{
+		if(numOfSeries < 0 || offsets == null || offsets.length < numOfSeries + 1
+				|| resultsOut == null || resultsOut.length / RESULT_STRIDE < numOfSeries){
+			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_INVALID_LAYOUT);
+		}
+		int numOfTeams = (teams != null) ? teams.length : 0;
+		if(offsets[0] < 0 || offsets[numOfSeries] > numOfTeams){
+			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_INVALID_LAYOUT);
+		}
+		for(int t = 0; t < numOfSeries; t++){
+			if(offsets[t + 1] < offsets[t]){
+				throw new IllegalArgumentException(Constants.ERROR_MESSAGE_INVALID_LAYOUT);
+			}
+		}
+	}
+
+	/**
+	 * Plays the series from ... to - 1 one after the other on the calling thread
+	 *
+	 * @return nothing
+	 * */
+
+	static void playSeries(TournamentEngine engine, Match match, int[] teams, int[] offsets, int from, int to,
+			int typeOfSport, int[] resultsOut){
+
+		for(int t = from; t < to; t++){
+			int offset = offsets[t];
+			int length = offsets[t + 1] - offset;
+			int out = RESULT_STRIDE * t;
+
+			if(length == 0){
+				resultsOut[out] = Olympics.Result.RESULT_INVALID_DATA_PROVIDED;
+				resultsOut[out + 1] = Olympics.Result.Winners.INVALID_VALUE;
+				resultsOut[out + 2] = Olympics.Result.Winners.INVALID_VALUE;
+			}
+			else if(length == 1){
+				resultsOut[out] = Olympics.Result.RESULT_INADEQUATE_DATA_PROVIDED;
+				resultsOut[out + 1] = teams[offset];
+				resultsOut[out + 2] = Olympics.Result.Winners.INVALID_VALUE;
+			}
+			else{
+				engine.play(teams, offset, length, match, typeOfSport, resultsOut, out + 1);
+				resultsOut[out] = Olympics.Result.RESULT_OK;
+			}
+		}
+	}
+
+	/**
+	 * Plays all the series, spreading them over the cores of the given pool
+	 *
+	 * @return nothing
+	 * */
+
+	void playParallel(ForkJoinPool pool, int[] teams, int[] offsets, int numOfSeries, int typeOfSport,
+			int[] resultsOut){
+		pool.invoke(new SeriesTask(teams, offsets, 0, numOfSeries, typeOfSport, resultsOut));
+	}
+
+	/**
+	 * Task playing the consecutive series from ... to - 1
+	 * */
+
+	private class SeriesTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] mTeams;
+		private final int[] mOffsets;
+		private final int mFrom;
+		private final int mTo;
+		private final int mTypeOfSport;
+		private final int[] mResultsOut;
+
+		SeriesTask(int[] teams, int[] offsets, int from, int to, int typeOfSport, int[] resultsOut){
+			mTeams = teams;
+			mOffsets = offsets;
+			mFrom = from;
+			mTo = to;
+			mTypeOfSport = typeOfSport;
+			mResultsOut = resultsOut;
+		}
+
+		@Override
+		protected void compute(){
+			if(mTo - mFrom <= DEFAULT_SERIES_PER_TASK){
+				PrimitiveTournamentEngine engine = mWorkerEngines.get();
+				engine.setMetrics(mOlympics.getMetrics());
+				Match match = mOlympics.acquireMatch(mTypeOfSport);
+				try{
+
+					/**
+					 * Only contended if a @link Match provided by the user is shared by all the tasks
+					 * */
+
+					synchronized(match){
+						playSeries(engine, match, mTeams, mOffsets, mFrom, mTo, mTypeOfSport, mResultsOut);
+					}
+				}
+				finally{
+					mOlympics.releaseMatch(mTypeOfSport, match);
+				}
+				return;
+			}
+
+			int middle = (mFrom + mTo) >>> 1;
+			invokeAll(new SeriesTask(mTeams, mOffsets, mFrom, middle, mTypeOfSport, mResultsOut),
+					new SeriesTask(mTeams, mOffsets, middle, mTo, mTypeOfSport, mResultsOut));
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package org.sriparna.secondbest;
+
+/**
+ * A @link Match which reuses the results of matches already played, held in a @link MatchResultCache,
+ * and only gets the other matches played by the @link Match it wraps.
+ *
+ * Results are only looked up and stored if the wrapped @link Match is deterministic,
+ * otherwise every match is played.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class CachingMatch extends Match {
+
+	private Match mDelegate;
+	private final MatchResultCache mCache;
+
+	/*
+	 * Scratch buffers holding the matches of a round which are not in the cache
+	 * */
+
+	private int[] mMissIndexes = new int[0];
+	private int[] mMissLeft = new int[0];
+	private int[] mMissRight = new int[0];
+	private int[] mMissWinners = new int[0];
+
+	/**
+	 * @param delegate the @link Match used to play the matches which are not in the cache
+	 * @param cache the cache holding the results
+	 * */
+
+	public CachingMatch(Match delegate, MatchResultCache cache){
+		mDelegate = delegate;
+		mCache = cache;
+	}
+
+	@Override
+	public void play(int team1, int team2, int matchType){
+		int winner;
+		if(!mDelegate.isDeterministic()){
+			winner = playDelegate(team1, team2, matchType);
+		}
+		else{
+			int outcome = mCache.lookup(matchType, team1, team2);
+			if(outcome == MatchResultCache.OUTCOME_UNKNOWN){
+				winner = playDelegate(team1, team2, matchType);
+				mCache.put(matchType, team1, team2, winner);
+			}
+			else{
+				winner = (outcome == MatchResultCache.OUTCOME_TEAM1_WON) ? team1 : team2;
+			}
+		}
+		setPlayed(team1, team2, matchType, winner);
+	}
+
+	/**
+	 * Plays the matches which are not in the cache with a single call to @link Match#playRound
+	 * of the wrapped @link Match
+	 * */
+
+	@Override
+	public void playRound(int[] left, int[] right, int[] winnersOut, int offset, int count, int matchType){
+		if(!mDelegate.isDeterministic()){
+			mDelegate.playRound(left, right, winnersOut, offset, count, matchType);
+			return;
+		}
+
+		ensureCapacity(count);
+		int numOfMisses = 0;
+		for(int i = offset; i < offset + count; i++){
+			int outcome = mCache.lookup(matchType, left[i], right[i]);
+			if(outcome == MatchResultCache.OUTCOME_UNKNOWN){
+				mMissIndexes[numOfMisses] = i;
+				mMissLeft[numOfMisses] = left[i];
+				mMissRight[numOfMisses] = right[i];
+				numOfMisses++;
+			}
+			else{
+				winnersOut[i] = (outcome == MatchResultCache.OUTCOME_TEAM1_WON) ? left[i] : right[i];
+			}
+		}
+
+		if(numOfMisses > 0){
+			mDelegate.playRound(mMissLeft, mMissRight, mMissWinners, 0, numOfMisses, matchType);
+			for(int i = 0; i < numOfMisses; i++){
+				winnersOut[mMissIndexes[i]] = mMissWinners[i];
+				mCache.put(matchType, mMissLeft[i], mMissRight[i], mMissWinners[i]);
+			}
+		}
+	}
+
+	@Override
+	public boolean isDeterministic(){
+		return mDelegate.isDeterministic();
+	}
+
+	/**
+	 * @return Match the @link Match used to play the matches which are not in the cache
+	 * */
+
+	public Match getDelegate(){
+		return mDelegate;
+	}
+
+	/*
+	 * Wraps another @link Match, so that @link Olympics can reuse its decorators across series
+	 * */
+
+	void setDelegate(Match delegate){
+		mDelegate = delegate;
+	}
+
+	/**
+	 * @return MatchResultCache the cache holding the results
+	 * */
+
+	public MatchResultCache getCache(){
+		return mCache;
+	}
+
+	private int playDelegate(int team1, int team2, int matchType){
+		mDelegate.play(team1, team2, matchType);
+		int winner = mDelegate.getWinner();
+		mDelegate.recycle();
+		return winner;
+	}
+
+	private void ensureCapacity(int count){
+		if(mMissIndexes.length < count){
+			mMissIndexes = new int[count];
+			mMissLeft = new int[count];
+			mMissRight = new int[count];
+			mMissWinners = new int[count];
+		}
+	}
+}
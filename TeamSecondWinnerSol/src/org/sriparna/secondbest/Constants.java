@@ -15,6 +15,108 @@ public class Constants {
 	
 	public static final String ERROR_MESSAGE_UNSUPPORTED_SPORT = "This sport is not currently supported";
 	
+	/**
+	 * Constant to be used while throwing exception in case an unsupported engine mode is passed as argument
+	 * */
+	
+	public static final String ERROR_MESSAGE_UNSUPPORTED_ENGINE = "This engine mode is not currently supported";
+	
+	/**
+	 * Constant to be used while throwing exception in case the maximum number of matches in flight is not positive
+	 * */
+	
+	public static final String ERROR_MESSAGE_INVALID_MATCHES_IN_FLIGHT = "At least one match should be allowed in flight";
+	
+	/**
+	 * Constant to be used while throwing exception in case the number of teams to rank is not positive
+	 * */
+	
+	public static final String ERROR_MESSAGE_INVALID_RANK = "At least one team should be ranked";
+	
+	/**
+	 * Constant to be used while throwing exception in case a service is created without workers or queue
+	 * */
+	
+	public static final String ERROR_MESSAGE_INVALID_CAPACITY = "At least one worker and one queued series should be allowed";
+	
+	/**
+	 * Constant to be used while throwing exception in case an unsupported backpressure mode is passed as argument
+	 * */
+	
+	public static final String ERROR_MESSAGE_UNSUPPORTED_BACKPRESSURE = "This backpressure mode is not currently supported";
+	
+	/**
+	 * Constant to be used while rejecting a series in case the queue of a service is full
+	 * */
+	
+	public static final String ERROR_MESSAGE_SERVICE_BUSY = "Too many series are waiting to be played";
+	
+	/**
+	 * Constant to be used while rejecting a series in case the service has been closed
+	 * */
+	
+	public static final String ERROR_MESSAGE_SERVICE_CLOSED = "The service has been closed";
+	
+	/**
+	 * Constant to be used while throwing exception in case a team appears more than once in a bracket
+	 * */
+	
+	public static final String ERROR_MESSAGE_DUPLICATE_TEAM = "A team can only appear once in a bracket";
+	
+	/**
+	 * Constant to be used while throwing exception in case a team to be withdrawn is not in a bracket
+	 * */
+	
+	public static final String ERROR_MESSAGE_NO_SUCH_TEAM = "This team is not in the bracket";
+	
+	/**
+	 * Constant to be used while throwing exception in case a match to be overturned was not played
+	 * */
+	
+	public static final String ERROR_MESSAGE_NO_SUCH_MATCH = "These teams did not play each other";
+	
+	/**
+	 * Constant to be used while throwing exception in case a file does not hold results written by ResultWriter
+	 * */
+	
+	public static final String ERROR_MESSAGE_INVALID_ARCHIVE = "This file does not hold results";
+	
+	/**
+	 * Constant to be used while throwing exception in case the offsets of a set of series do not match its teams
+	 * */
+	
+	public static final String ERROR_MESSAGE_INVALID_LAYOUT = "The offsets do not describe series within the teams provided";
+	
+	/**
+	 * Constant to be used while throwing exception in case a rating is set for a team with a negative id
+	 * */
+	
+	public static final String ERROR_MESSAGE_INVALID_TEAM_ID = "Ratings can only be set for teams with non negative ids";
+	
+	/**
+	 * Constant to be used while throwing exception in case the input of a batch is not made of complete series
+	 * */
+	
+	public static final String ERROR_MESSAGE_INVALID_BATCH_INPUT = "The input should be made of a sport, a number of teams and the teams for every series";
+	
+	/**
+	 * Constant to be used while closing a connection in case a request sent to TournamentServer is not valid
+	 * */
+	
+	public static final String ERROR_MESSAGE_INVALID_REQUEST = "A request should hold a sport, a number of teams which is not negative and the teams";
+	
+	/**
+	 * Constant to be used while throwing exception in case a file opened as a MatchJournal is not a journal
+	 * */
+	
+	public static final String ERROR_MESSAGE_INVALID_JOURNAL = "The file is not a match journal of a supported version";
+	
+	/**
+	 * Constant to be used while throwing exception in case a MatchProvider with an invalid or already registered type of sport is registered
+	 * */
+	
+	public static final String ERROR_MESSAGE_INVALID_SPORT_PROVIDER = "The type of sport should be positive, not too large and not registered yet";
+	
 	/**
 	 * Constant to be used describing the error in case no teams have been specified for playing
 	 * */
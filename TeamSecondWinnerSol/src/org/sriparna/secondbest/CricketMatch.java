@@ -0,0 +1,33 @@
+package org.sriparna.secondbest;
+
+/**
+ * A @link Match of cricket, decided from the ratings of the teams. Check @link RatedMatch.
+ * A single innings can turn a match, so upsets are more common than in the other sports.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class CricketMatch extends RatedMatch {
+
+	/**
+	 * The difference of ratings for which the better team wins 10 times out of 11
+	 * */
+
+	public static final float SCALE = 600f;
+
+	/**
+	 * Creates a match using the ratings of the sport held by @link MatchFactory
+	 * */
+
+	public CricketMatch(){
+		this(MatchFactory.getRatingTable(MatchFactory.SPORT_TYPE_CRICKET));
+	}
+
+	/**
+	 * @param ratings the ratings of the teams
+	 * */
+
+	public CricketMatch(RatingTable ratings){
+		super(ratings, SCALE);
+	}
+}
@@ -0,0 +1,33 @@
+package org.sriparna.secondbest;
+
+/**
+ * A @link Match of football, decided from the ratings of the teams. Check @link RatedMatch.
+ * Few goals are scored, so upsets are more common than in hockey.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class FootballMatch extends RatedMatch {
+
+	/**
+	 * The difference of ratings for which the better team wins 10 times out of 11
+	 * */
+
+	public static final float SCALE = 500f;
+
+	/**
+	 * Creates a match using the ratings of the sport held by @link MatchFactory
+	 * */
+
+	public FootballMatch(){
+		this(MatchFactory.getRatingTable(MatchFactory.SPORT_TYPE_FOOTBALL));
+	}
+
+	/**
+	 * @param ratings the ratings of the teams
+	 * */
+
+	public FootballMatch(RatingTable ratings){
+		super(ratings, SCALE);
+	}
+}
@@ -0,0 +1,33 @@
+package org.sriparna.secondbest;
+
+/**
+ * A @link Match of hockey, decided from the ratings of the teams. Check @link RatedMatch.
+ * Uses the scale of chess Elo ratings.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class HockeyMatch extends RatedMatch {
+
+	/**
+	 * The difference of ratings for which the better team wins 10 times out of 11
+	 * */
+
+	public static final float SCALE = 400f;
+
+	/**
+	 * Creates a match using the ratings of the sport held by @link MatchFactory
+	 * */
+
+	public HockeyMatch(){
+		this(MatchFactory.getRatingTable(MatchFactory.SPORT_TYPE_HOCKEY));
+	}
+
+	/**
+	 * @param ratings the ratings of the teams
+	 * */
+
+	public HockeyMatch(RatingTable ratings){
+		super(ratings, SCALE);
+	}
+}
@@ -0,0 +1,140 @@
+package org.sriparna.secondbest;
+
+/**
+ * A map from int keys to int values held in primitive arrays, so that no object is
+ * allocated per entry. Uses open addressing with linear probing. Removed entries are filled
+ * by shifting back the entries which follow them, so lookups never have to skip deleted entries.
+ *
+ * Any int can be a key. An object of this class should not be used by several threads at the same time.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+final class IntIntMap {
+
+	/*
+	 * Value returned by @link get for a key which is not in the map
+	 * */
+
+	static final int NO_VALUE = -1;
+
+	private int[] mKeys;
+	private int[] mValues;
+	private boolean[] mUsed;
+	private int mMask;
+	private int mSize = 0;
+
+	/**
+	 * @param expectedSize the number of entries the map can hold without growing
+	 * */
+
+	IntIntMap(int expectedSize){
+		int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+		allocate(capacity);
+	}
+
+	int size(){
+		return mSize;
+	}
+
+	/**
+	 * @param key the key to look up
+	 * @return int the value of the key, or NO_VALUE if the key is not in the map
+	 * */
+
+	int get(int key){
+		for(int i = hash(key) & mMask; mUsed[i]; i = (i + 1) & mMask){
+			if(mKeys[i] == key){
+				return mValues[i];
+			}
+		}
+		return NO_VALUE;
+	}
+
+	/**
+	 * Adds a key or replaces its value
+	 *
+	 * @param key the key
+	 * @param value the value of the key
+	 * @return nothing
+	 * */
+
+	void put(int key, int value){
+		if(2 * (mSize + 1) > mKeys.length){
+			grow();
+		}
+		int i = hash(key) & mMask;
+		while(mUsed[i]){
+			if(mKeys[i] == key){
+				mValues[i] = value;
+				return;
+			}
+			i = (i + 1) & mMask;
+		}
+		mUsed[i] = true;
+		mKeys[i] = key;
+		mValues[i] = value;
+		mSize++;
+	}
+
+	/**
+	 * Removes a key
+	 *
+	 * @param key the key to remove
+	 * @return int the value the key had, or NO_VALUE if the key was not in the map
+	 * */
+
+	int remove(int key){
+		int i = hash(key) & mMask;
+		while(mUsed[i] && mKeys[i] != key){
+			i = (i + 1) & mMask;
+		}
+		if(!mUsed[i]){
+			return NO_VALUE;
+		}
+		int value = mValues[i];
+
+		/*
+		 * Move back every following entry of the run which would not be found anymore
+		 * once entry i is empty, i.e. whose home slot is not between i and its slot
+		 * */
+
+		int empty = i;
+		for(int j = (i + 1) & mMask; mUsed[j]; j = (j + 1) & mMask){
+			int home = hash(mKeys[j]) & mMask;
+			if(((j - home) & mMask) >= ((j - empty) & mMask)){
+				mKeys[empty] = mKeys[j];
+				mValues[empty] = mValues[j];
+				empty = j;
+			}
+		}
+		mUsed[empty] = false;
+		mSize--;
+		return value;
+	}
+
+	private void grow(){
+		int[] keys = mKeys;
+		int[] values = mValues;
+		boolean[] used = mUsed;
+		allocate(keys.length * 2);
+		mSize = 0;
+		for(int i = 0; i < keys.length; i++){
+			if(used[i]){
+				put(keys[i], values[i]);
+			}
+		}
+	}
+
+	private void allocate(int capacity){
+		mKeys = new int[capacity];
+		mValues = new int[capacity];
+		mUsed = new boolean[capacity];
+		mMask = capacity - 1;
+	}
+
+	private static int hash(int key){
+		int hash = key * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -0,0 +1,130 @@
+package org.sriparna.secondbest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A @link Match which takes the winner of every match already in a @link MatchJournal from it,
+ * and gets the other matches played by the @link Match it wraps and appended to the journal.
+ * Check @link Olympics#setMatchJournal.
+ *
+ * An IOException of the journal is thrown again as an UncheckedIOException, since @link Match#play
+ * cannot throw checked exceptions.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class JournalingMatch extends Match {
+
+	private Match mDelegate;
+	private final MatchJournal mJournal;
+
+	/*
+	 * Scratch buffers holding the matches of a round which are not in the journal
+	 * */
+
+	private int[] mMissIndexes = new int[0];
+	private int[] mMissLeft = new int[0];
+	private int[] mMissRight = new int[0];
+	private int[] mMissWinners = new int[0];
+
+	/**
+	 * @param delegate the @link Match used to play the matches which are not in the journal
+	 * @param journal the journal in which the matches are recorded
+	 * */
+
+	public JournalingMatch(Match delegate, MatchJournal journal){
+		mDelegate = delegate;
+		mJournal = journal;
+	}
+
+	@Override
+	public void play(int team1, int team2, int matchType){
+		int winner = mJournal.getRecordedWinner(matchType, team1, team2);
+		if(winner == MatchJournal.NO_WINNER){
+			mDelegate.play(team1, team2, matchType);
+			winner = mDelegate.getWinner();
+			mDelegate.recycle();
+			append(team1, team2, matchType, winner);
+		}
+		setPlayed(team1, team2, matchType, winner);
+	}
+
+	/**
+	 * Plays the matches which are not in the journal with a single call to @link Match#playRound
+	 * of the wrapped @link Match
+	 * */
+
+	@Override
+	public void playRound(int[] left, int[] right, int[] winnersOut, int offset, int count, int matchType){
+		ensureCapacity(count);
+		int numOfMisses = 0;
+		for(int i = offset; i < offset + count; i++){
+			int winner = mJournal.getRecordedWinner(matchType, left[i], right[i]);
+			if(winner == MatchJournal.NO_WINNER){
+				mMissIndexes[numOfMisses] = i;
+				mMissLeft[numOfMisses] = left[i];
+				mMissRight[numOfMisses] = right[i];
+				numOfMisses++;
+			}
+			else{
+				winnersOut[i] = winner;
+			}
+		}
+
+		if(numOfMisses > 0){
+			mDelegate.playRound(mMissLeft, mMissRight, mMissWinners, 0, numOfMisses, matchType);
+			for(int i = 0; i < numOfMisses; i++){
+				winnersOut[mMissIndexes[i]] = mMissWinners[i];
+				append(mMissLeft[i], mMissRight[i], matchType, mMissWinners[i]);
+			}
+		}
+	}
+
+	@Override
+	public boolean isDeterministic(){
+		return mDelegate.isDeterministic();
+	}
+
+	/**
+	 * @return Match the @link Match used to play the matches which are not in the journal
+	 * */
+
+	public Match getDelegate(){
+		return mDelegate;
+	}
+
+	/*
+	 * Wraps another @link Match, so that @link Olympics can reuse its decorators across series
+	 * */
+
+	void setDelegate(Match delegate){
+		mDelegate = delegate;
+	}
+
+	/**
+	 * @return MatchJournal the journal in which the matches are recorded
+	 * */
+
+	public MatchJournal getJournal(){
+		return mJournal;
+	}
+
+	private void append(int team1, int team2, int matchType, int winner){
+		try{
+			mJournal.append(team1, team2, matchType, winner);
+		}
+		catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void ensureCapacity(int count){
+		if(mMissIndexes.length < count){
+			mMissIndexes = new int[count];
+			mMissLeft = new int[count];
+			mMissRight = new int[count];
+			mMissWinners = new int[count];
+		}
+	}
+}
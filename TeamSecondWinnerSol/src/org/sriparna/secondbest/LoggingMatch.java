@@ -0,0 +1,73 @@
+package org.sriparna.secondbest;
+
+/**
+ * A @link Match which gets every match played by the @link Match it wraps and records it
+ * in a @link MatchLog. Check @link Olympics#setMatchLog.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class LoggingMatch extends Match {
+
+	private Match mDelegate;
+	private final MatchLog mLog;
+
+	/**
+	 * @param delegate the @link Match used to play the matches
+	 * @param log the log in which the matches are recorded
+	 * */
+
+	public LoggingMatch(Match delegate, MatchLog log){
+		mDelegate = delegate;
+		mLog = log;
+	}
+
+	@Override
+	public void play(int team1, int team2, int matchType){
+		mDelegate.play(team1, team2, matchType);
+		int winner = mDelegate.getWinner();
+		mDelegate.recycle();
+		mLog.add(team1, team2, winner);
+		setPlayed(team1, team2, matchType, winner);
+	}
+
+	/**
+	 * Plays the round with a single call to @link Match#playRound of the wrapped @link Match
+	 * and records all its matches at once
+	 * */
+
+	@Override
+	public void playRound(int[] left, int[] right, int[] winnersOut, int offset, int count, int matchType){
+		mDelegate.playRound(left, right, winnersOut, offset, count, matchType);
+		mLog.addRound(left, right, winnersOut, offset, count);
+	}
+
+	@Override
+	public boolean isDeterministic(){
+		return mDelegate.isDeterministic();
+	}
+
+	/**
+	 * @return Match the @link Match used to play the matches
+	 * */
+
+	public Match getDelegate(){
+		return mDelegate;
+	}
+
+	/*
+	 * Wraps another @link Match, so that @link Olympics can reuse its decorators across series
+	 * */
+
+	void setDelegate(Match delegate){
+		mDelegate = delegate;
+	}
+
+	/**
+	 * @return MatchLog the log in which the matches are recorded
+	 * */
+
+	public MatchLog getLog(){
+		return mLog;
+	}
+}
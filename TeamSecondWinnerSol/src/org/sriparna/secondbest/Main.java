@@ -1,5 +1,13 @@
 package org.sriparna.secondbest;
 
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 import org.sriparna.secondbest.Olympics.Result;
@@ -9,21 +17,44 @@ import org.sriparna.secondbest.Olympics.Result;
  * */
 
 public class Main {
+	
+	private static final String OPTION_FILE = "--file";
+	private static final String OPTION_BATCH = "--batch";
 
 	/**
 	 * main method. This takes the list of the teams which should play
 	 * and the type of sport to play from the user as input 
 	 * and outputs the second best team
 	 * 
-	 * @param args unused
+	 * Alternatively, with the arguments : --file <path> <sport>
+	 * the teams are read from a file of 4 byte little endian team ids, 
+	 * which can be larger than the heap. Check @link Olympics#play(java.nio.file.Path, int)
+	 * 
+	 * Or, with the arguments : --batch [<path> ...]
+	 * many series are read from the given files, or from the standard input if there is none, 
+	 * without any prompt, and one line of result per series is written to the standard output. 
+	 * The number of series played per second is reported on the standard error. 
+	 * Check @link BatchRunner for the format
+	 * 
+	 * @param args unused, the file of teams and the type of sport, or the files of series
 	 * */
 	
 	public static void main(String[] args){
 		
+		if(args.length == 3 && OPTION_FILE.equals(args[0])){
+			playFromFile(args[1], Integer.parseInt(args[2]));
+			return;
+		}
+		
+		if(args.length > 0 && OPTION_BATCH.equals(args[0])){
+			playBatch(args);
+			return;
+		}
+		
 		Scanner scanner = new Scanner(System.in);
 		
 		System.out.println("Enter the number type of sport which should be one of  : ");
-		for(int sport : MatchFactory.LIST_OF_SUPPORTED_SPORTS){
+		for(int sport : SportRegistry.getSupportedSports()){
 			String nameOfSport = MatchFactory.getReadableNameForSport(sport);
 			System.out.println(sport + ".  "+nameOfSport);
 		}
@@ -35,24 +66,32 @@ public class Main {
 		 * */
 		
 		int sportType = scanner.nextInt();
+		if(!SportRegistry.isSupported(sportType)){
+			System.out.println(Constants.ERROR_MESSAGE_UNSUPPORTED_SPORT);
+			return;
+		}
 		
 		System.out.println("Enter the number of participating teams :");
 		int numOfTeams = scanner.nextInt();
 		
-		int[] participatingTeams = new int[numOfTeams]; 
-		
-		for(int i = 0; i < numOfTeams; i++){
-			participatingTeams[i] = scanner.nextInt();
-		}
-		
 		Olympics.Result result = null;
 		
 		Olympics olympics = new Olympics();
 		try{
-			result = olympics.play(participatingTeams, sportType);			
+			/**
+			 * Matches are played while the teams are being read, so the teams 
+			 * are never held in memory all at once
+			 * */
+			
+			TournamentSession session = olympics.newSession(sportType);
+			for(int i = 0; i < numOfTeams; i++){
+				session.offer(scanner.nextInt());
+			}
+			result = session.finish();
 		}
 		catch(IllegalArgumentException e){
 			System.out.println("please specify at least 1 team ");
+			return;
 		}
 		
 		switch(result.mErrorCode){
@@ -72,4 +111,60 @@ public class Main {
 		}		
 		
 	}
+	
+	/*
+	 * Plays a series amongst the teams in the given file and outputs the winners
+	 * */
+	
+	private static void playFromFile(String path, int sportType){
+		Olympics olympics = new Olympics();
+		try{
+			Result result = olympics.play(Paths.get(path), sportType);
+			if(result.mErrorCode == Result.RESULT_OK){
+				System.out.println("The winner is team : "+result.mResult.mFirstWinner);
+				System.out.println("The second winner is team : "+result.mResult.mSecondWinner);
+			}
+			else{
+				System.out.println(result.toString());
+			}
+		}
+		catch(IOException e){
+			System.out.println("could not read the teams from "+path+" : "+e.getMessage());
+		}
+	}
+	
+	/*
+	 * Plays the series of the files given after the option, or of the standard input, 
+	 * and reports the throughput on the standard error
+	 * */
+	
+	private static void playBatch(String[] args){
+		Olympics olympics = new Olympics();
+		olympics.setEngineMode(Olympics.ENGINE_MODE_PARALLEL);
+		BatchRunner runner = new BatchRunner(olympics);
+		
+		/*
+		 * System.out flushes on every line, so the standard output is written directly
+		 * */
+		
+		OutputStream out = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16);
+		String source = "standard input";
+		try{
+			if(args.length == 1){
+				runner.run(System.in, out);
+			}
+			for(int i = 1; i < args.length; i++){
+				source = args[i];
+				try(InputStream in = Files.newInputStream(Paths.get(args[i]))){
+					runner.run(in, out);
+				}
+			}
+		}
+		catch(IOException e){
+			System.err.println("could not play the series of "+source+" : "+e.getMessage());
+		}
+		
+		System.err.println(String.format("%d tournaments in %.3f s : %.0f tournaments per second", 
+				runner.getNumOfTournaments(), runner.getElapsedNanos() / 1e9, runner.getTournamentsPerSecond()));
+	}
 }
@@ -0,0 +1,184 @@
+package org.sriparna.secondbest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * An engine for series too large for the heap. The teams are read from a file mapped into memory
+ * and the state of the series is held in temporary files mapped into memory, check @link OffHeapIntArray.
+ *
+ * The series is played round by round exactly as the queue based series of @link Olympics (check
+ * @link ParallelTournamentEngine for details), so the winners are the same. Instead of a list of
+ * defeated teams per team, the loser of every match is appended to a single array along with the
+ * side the winner played on. Knowing the number of teams in every round, the matches played by the
+ * overall winner can then be found by walking back from the last round to the first one. Only
+ * those O(log2(n)) teams are brought onto the heap to compete for the second position.
+ *
+ * Matches are played in batches of BATCH_SIZE with @link Match#playRound, so the heap used does not
+ * depend on the number of teams.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+class MappedTournamentEngine {
+
+	private static final int BATCH_SIZE = 4096;
+
+	/*
+	 * A series of 2^63 teams has fewer rounds than this
+	 * */
+
+	private static final int MAX_ROUNDS = 128;
+
+	private final Path mTemporaryDirectory;
+
+	/*
+	 * Ids of the teams playing the matches of the current batch, and the winners
+	 * */
+
+	private final int[] mLeftTeams = new int[BATCH_SIZE];
+	private final int[] mRightTeams = new int[BATCH_SIZE];
+	private final int[] mWinnerTeams = new int[BATCH_SIZE];
+
+	/*
+	 * For every round, the number of teams and the index of its first match
+	 * */
+
+	private final long[] mRoundSizes = new long[MAX_ROUNDS];
+	private final long[] mRoundFirstMatches = new long[MAX_ROUNDS];
+
+	/**
+	 * @param temporaryDirectory directory in which the state of the series is held, or null for the default one
+	 * */
+
+	MappedTournamentEngine(Path temporaryDirectory){
+		mTemporaryDirectory = temporaryDirectory;
+	}
+
+	/**
+	 * method to get a series played amongst the teams in the given array
+	 *
+	 * @param teams the teams to play in the series. Should hold at least 2 teams.
+	 * @param match the @link Match object to be used to play the matches
+	 * @param typeOfSport the type of sport to play
+	 * @param winnersOut array in which the first and the second winner are written
+	 *
+	 * @return nothing
+	 * @throws IOException In case the temporary files cannot be created
+	 * */
+
+	void play(OffHeapIntArray teams, Match match, int typeOfSport, int[] winnersOut) throws IOException{
+		long numOfTeams = teams.length();
+		long numOfMatches = numOfTeams - 1;
+
+		try(OffHeapIntArray losers = OffHeapIntArray.allocate(numOfMatches, mTemporaryDirectory);
+				OffHeapIntArray sides = OffHeapIntArray.allocate((numOfMatches + 31) / 32, mTemporaryDirectory);
+				OffHeapIntArray round1 = OffHeapIntArray.allocate(numOfTeams / 2 + 1, mTemporaryDirectory);
+				OffHeapIntArray round2 = OffHeapIntArray.allocate(numOfTeams / 2 + 1, mTemporaryDirectory)){
+
+			OffHeapIntArray currentRound = teams;
+			OffHeapIntArray nextRound = round1;
+			long size = numOfTeams;
+			long firstMatch = 0;
+			int numOfRounds = 0;
+
+			while(size > 1){
+				mRoundSizes[numOfRounds] = size;
+				mRoundFirstMatches[numOfRounds] = firstMatch;
+				numOfRounds++;
+
+				long numOfMatchesInRound = size / 2;
+				int odd = (int) (size % 2);
+				if(odd == 1){
+					nextRound.set(0, currentRound.get(size - 1));
+				}
+
+				for(long batch = 0; batch < numOfMatchesInRound; batch += BATCH_SIZE){
+					int count = (int) Math.min(BATCH_SIZE, numOfMatchesInRound - batch);
+					for(int i = 0; i < count; i++){
+						mLeftTeams[i] = currentRound.get(2 * (batch + i));
+						mRightTeams[i] = currentRound.get(2 * (batch + i) + 1);
+					}
+
+					match.playRound(mLeftTeams, mRightTeams, mWinnerTeams, 0, count, typeOfSport);
+
+					for(int i = 0; i < count; i++){
+						long matchIndex = firstMatch + batch + i;
+						boolean leftWon = mWinnerTeams[i] == mLeftTeams[i];
+						losers.set(matchIndex, leftWon ? mRightTeams[i] : mLeftTeams[i]);
+						if(!leftWon){
+							long word = matchIndex >>> 5;
+							sides.set(word, sides.get(word) | (1 << (int) (matchIndex & 31)));
+						}
+						nextRound.set(odd + batch + i, mWinnerTeams[i]);
+					}
+				}
+
+				firstMatch += numOfMatchesInRound;
+				size = numOfMatchesInRound + odd;
+				currentRound = nextRound;
+				nextRound = (nextRound == round1) ? round2 : round1;
+			}
+
+			int overallWinner = currentRound.get(0);
+
+			/*
+			 * Walk back from the last round and collect the teams defeated by the overall winner.
+			 * position is the position of the overall winner in the round after the current one.
+			 * */
+
+			int[] candidates = new int[numOfRounds];
+			int numOfCandidates = 0;
+			long position = 0;
+			for(int round = numOfRounds - 1; round >= 0; round--){
+				long roundSize = mRoundSizes[round];
+				int odd = (int) (roundSize % 2);
+				if(odd == 1 && position == 0){
+					position = roundSize - 1;
+					continue;
+				}
+				long matchIndex = mRoundFirstMatches[round] + position - odd;
+				boolean leftWon = (sides.get(matchIndex >>> 5) & (1 << (int) (matchIndex & 31))) == 0;
+				candidates[numOfCandidates++] = losers.get(matchIndex);
+				position = 2 * (position - odd) + (leftWon ? 0 : 1);
+			}
+
+			/*
+			 * The candidates were collected from the last round to the first one. The queue based
+			 * series has them in the order they were defeated.
+			 * */
+
+			for(int i = 0, j = numOfCandidates - 1; i < j; i++, j--){
+				int temp = candidates[i];
+				candidates[i] = candidates[j];
+				candidates[j] = temp;
+			}
+
+			winnersOut[0] = overallWinner;
+			winnersOut[1] = playOff(candidates, numOfCandidates, match, typeOfSport);
+		}
+	}
+
+	/*
+	 * Plays rounds amongst the given teams on the heap till one team is left and returns it
+	 * */
+
+	private int playOff(int[] teams, int numOfTeams, Match match, int typeOfSport){
+		while(numOfTeams > 1){
+			int numOfMatches = numOfTeams / 2;
+			int odd = numOfTeams % 2;
+			for(int i = 0; i < numOfMatches; i++){
+				mLeftTeams[i] = teams[2 * i];
+				mRightTeams[i] = teams[2 * i + 1];
+			}
+			match.playRound(mLeftTeams, mRightTeams, mWinnerTeams, 0, numOfMatches, typeOfSport);
+
+			if(odd == 1){
+				teams[0] = teams[numOfTeams - 1];
+			}
+			System.arraycopy(mWinnerTeams, 0, teams, odd, numOfMatches);
+			numOfTeams = numOfMatches + odd;
+		}
+		return teams[0];
+	}
+}
@@ -29,6 +29,12 @@ public class Match {
 	 * */
 	private boolean mHasPlayed = false;
 	
+	/*
+	 * Decides the winner of the matches played by this object, or null for the dummy implementation
+	 * */
+	
+	private MatchOutcomeStrategy mOutcomeStrategy = null;
+	
 	private static final String ERROR_STRING_PLAY_NOT_CALLED = "Please call play before a call to getWinner";
 	
 	/*
@@ -59,6 +65,16 @@ public class Match {
 		
 		mHasPlayed = true;
 		
+		/**
+		 * The winner is decided by the outcome strategy, if one has been set.
+		 * */
+		
+		MatchOutcomeStrategy outcomeStrategy = mOutcomeStrategy;
+		if(outcomeStrategy != null){
+			mWinner = outcomeStrategy.decideWinner(team1, team2, matchType);
+			return;
+		}
+		
 		/**
 		 * Stores the winner of the current match. Currently this has a dummy implementation
 		 * which gives the winner based on a random number.
@@ -72,6 +88,62 @@ public class Match {
 		mWinner = (randomNumber % 2 == 0)? team1 : team2;		
 	}	
 	
+	/**
+	 * Specify how the winner of the matches played by this object is decided, 
+	 * instead of the dummy implementation of @link play. Check @link MatchOutcomeStrategy
+	 * 
+	 * @param outcomeStrategy the strategy to be used, or null for the dummy implementation
+	 * @return nothing
+	 * */
+	
+	public void setOutcomeStrategy(MatchOutcomeStrategy outcomeStrategy){
+		mOutcomeStrategy = outcomeStrategy;
+	}
+	
+	/**
+	 * @return MatchOutcomeStrategy the strategy deciding the winner, or null for the dummy implementation
+	 * */
+	
+	public MatchOutcomeStrategy getOutcomeStrategy(){
+		return mOutcomeStrategy;
+	}
+	
+	/*
+	 * Updates the state of the object as if a match had been played between team1 and team2
+	 * and won by winner. Meant for subclasses which decide the winner without calling @link play
+	 * of this class, for e.g. by looking up the result of an earlier match.
+	 * 
+	 * @param team1 the first team
+	 * @param team2 the second team
+	 * @param matchType the type of match
+	 * @param winner the winner of the match
+	 * */
+	
+	protected void setPlayed(int team1, int team2, int matchType, int winner){
+		mTeam1 = team1;
+		mTeam2 = team2;
+		mTypeOfMatchBeingPlayed = matchType;
+		mWinner = winner;
+		mHasPlayed = true;
+	}
+	
+	/**
+	 * Specifies whether the winner of a match depends only on the teams playing it and the 
+	 * type of match, so that the same match always has the same winner. Results of deterministic
+	 * matches can be reused, check @link MatchResultCache.
+	 * 
+	 * The dummy implementation of this class decides the winner using a random number, 
+	 * so it returns false unless a deterministic @link MatchOutcomeStrategy has been set. 
+	 * Subclasses should override this accordingly.
+	 * 
+	 * @return boolean true if the winner of a match never changes
+	 * */
+	
+	public boolean isDeterministic(){
+		MatchOutcomeStrategy outcomeStrategy = mOutcomeStrategy;
+		return (outcomeStrategy != null) && outcomeStrategy.isDeterministic();
+	}
+	
 	
 	/*
 	 * This method returns the winner amongst the two teams after 
@@ -99,6 +171,35 @@ public class Match {
 		return mWinner;		
 	}
 	
+	/**
+	 * This method gets a whole round of matches played. The team left[i] plays against 
+	 * the team right[i] and the winner is stored in winnersOut[i], for every i from offset
+	 * to offset + count - 1. 
+	 * 
+	 * The matches of a round are independent of each other, so subclasses can override this
+	 * to score all of them at once. By default every match is played using @link play, 
+	 * @link getWinner and @link recycle. Once this method returns the object is in the same 
+	 * state as after a call to @link recycle.
+	 * 
+	 * @param left the first team of every match
+	 * @param right the second team of every match
+	 * @param winnersOut array in which the winner of every match is stored
+	 * @param offset index of the first match in the arrays
+	 * @param count the number of matches to play
+	 * @param matchType the type of match to play
+	 * 
+	 * @return nothing
+	 * */
+	
+	public void playRound(int[] left, int[] right, int[] winnersOut, int offset, int count, int matchType){
+		int end = offset + count;
+		for(int i = offset; i < end; i++){
+			play(left[i], right[i], matchType);
+			winnersOut[i] = getWinner();
+			recycle();
+		}
+	}
+	
 	/**
 	 * This is equivalent to a factory reset being performed on the object
 	 * so that any state is flushed and the same object can be reused again.
@@ -1,6 +1,7 @@
 package org.sriparna.secondbest;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -24,20 +25,22 @@ public class MatchFactory {
 	public static final int SPORT_TYPE_SWIMMING = 4;
 	public static final int SPORT_TYPE_ARCHERY =  5;
 	
-	/*
-	 * List of supported sports
+	/**
+	 * List of the sports above. Sports registered later with @link SportRegistry are not in it.
+	 * 
+	 * @deprecated Use @link SportRegistry#getSupportedSports and @link SportRegistry#isSupported, 
+	 * 			which also cover the sports registered later
 	 * */
 	
-	public static final List<Integer> LIST_OF_SUPPORTED_SPORTS ;
+	@Deprecated
+	public static final List<Integer> LIST_OF_SUPPORTED_SPORTS = Collections.unmodifiableList(Arrays.asList(
+			SPORT_TYPE_HOCKEY, SPORT_TYPE_CRICKET, SPORT_TYPE_FOOTBALL, SPORT_TYPE_SWIMMING, SPORT_TYPE_ARCHERY));
 	
-	static{
-		LIST_OF_SUPPORTED_SPORTS = new ArrayList<Integer>();
-		LIST_OF_SUPPORTED_SPORTS.add(SPORT_TYPE_HOCKEY);
-		LIST_OF_SUPPORTED_SPORTS.add(SPORT_TYPE_CRICKET);
-		LIST_OF_SUPPORTED_SPORTS.add(SPORT_TYPE_FOOTBALL);
-		LIST_OF_SUPPORTED_SPORTS.add(SPORT_TYPE_SWIMMING);
-		LIST_OF_SUPPORTED_SPORTS.add(SPORT_TYPE_ARCHERY);
-	}
+	/*
+	 * Metrics recording the @link Match objects created, or null if not collected
+	 * */
+	
+	private static volatile OlympicsMetrics sMetrics = null;
 	
 	/**
 	 * provides a human readable name for each supported sport or invalid if it is 
@@ -45,69 +48,147 @@ public class MatchFactory {
 	 * 
 	 * @param sportId the id of the sport as specified by the constants above
 	 * @return String a human readable name for the sport or "invalid" if an unsupported sport is 
-	 * 			provided as input. Currently unsupported sport is any sport not present in the list
-	 * 			@link LIST_OF_SUPPORTED_SPORTS
+	 * 			provided as input. Currently unsupported sport is any sport not registered in 
+	 * 			@link SportRegistry
 	 * 
 	 */
 	
 	public static String getReadableNameForSport(int sportId){
-		String name = "";
-		
-		switch(sportId){
-		case SPORT_TYPE_HOCKEY:
-			name = "hockey";
-			break;
-			
-		case SPORT_TYPE_CRICKET:
-			name = "cricket";
-			break;
-			
-		case SPORT_TYPE_FOOTBALL:
-			name = "football";
-			break;
-			
-		case SPORT_TYPE_SWIMMING:
-			name= "swimming";
-			break;
-			
-		case SPORT_TYPE_ARCHERY:
-			name = "archery";
-			break;
-			
-		default:
-			name = "invalid";
-		}
-		
-		return name;
+		MatchProvider provider = SportRegistry.getProvider(sportId);
+		return (provider != null) ? provider.getReadableName() : "invalid";
 	}
 	
 	/*
 	 *Returns the appropriate @link Match object (an object of type @link Match 
 	 * or any of its subclasses) based on the type of match to be played.
 	 * 
-	 *  Currently it always returns a @link Match object
-	 *  
-	 *  TODO: create appropriate classes which extend @link Match
-	 *  to handle different types of sports
-	 *  
+	 *  The object is created by the @link MatchProvider of the sport, check @link SportRegistry. 
+	 *  Every sport above has its own subclass of @link RatedMatch, which decides 
+	 *  the winners from the ratings of the sport, check @link getRatingTable. 
+	 *  A @link Match object is returned for any unsupported type.
 	 *  
 	 *  @param type The type of match to be played
 	 *  @return Match the @link Match object to handle the sport
 	 **/
 	
 	public static Match getMatchInstance(int type){
-		Match match = null;
-		switch(type){
-		case SPORT_TYPE_ARCHERY:
-		case SPORT_TYPE_CRICKET:
-		case SPORT_TYPE_FOOTBALL:
-		case SPORT_TYPE_HOCKEY:
-		case SPORT_TYPE_SWIMMING:
-			default: 
-				match = new Match();
+		SportRegistry.Sport sport = SportRegistry.getSport(type);
+		Match match = (sport != null) ? sport.mProvider.newMatch(sport.mRatings) : new Match();
+		
+		match.setOutcomeStrategy(getOutcomeStrategy(type));
+		
+		OlympicsMetrics metrics = sMetrics;
+		if(metrics != null){
+			metrics.recordMatchInstanceCreated();
+		}
+		return match;
+	}
+	
+	/**
+	 * Specify how the winners of the matches of a sport are decided, for the @link Match objects 
+	 * handed out from now on by @link getMatchInstance and @link borrowMatchInstance. 
+	 * For e.g. a seeded strategy makes load tests reproducible. Check @link MatchOutcomeStrategy
+	 * 
+	 * @param type The type of sport
+	 * @param outcomeStrategy the strategy to be used, or null for the dummy implementation of @link Match
+	 * @return nothing
+	 * @throws IllegalArgumentException In case an unsupported sport is provided
+	 * */
+	
+	public static void setOutcomeStrategy(int type, MatchOutcomeStrategy outcomeStrategy) throws IllegalArgumentException{
+		SportRegistry.checkSupported(type);
+		SportRegistry.getSport(type).mOutcomeStrategy = outcomeStrategy;
+	}
+	
+	/**
+	 * @param type The type of sport
+	 * @return MatchOutcomeStrategy the strategy deciding the winners of the sport, or null 
+	 * 			for the dummy implementation of @link Match
+	 * */
+	
+	public static MatchOutcomeStrategy getOutcomeStrategy(int type){
+		SportRegistry.Sport sport = SportRegistry.getSport(type);
+		return (sport != null) ? sport.mOutcomeStrategy : null;
+	}
+	
+	/**
+	 * Returns the ratings of the teams of a sport, used by the @link Match objects handed out 
+	 * by @link getMatchInstance and @link borrowMatchInstance. Ratings set here apply to the 
+	 * series played from now on.
+	 * 
+	 * @param type The type of sport
+	 * @return RatingTable the ratings of the sport or null in case of an unsupported sport
+	 * */
+	
+	public static RatingTable getRatingTable(int type){
+		SportRegistry.Sport sport = SportRegistry.getSport(type);
+		return (sport != null) ? sport.mRatings : null;
+	}
+	
+	/**
+	 * Specify the metrics in which the @link Match objects created by @link getMatchInstance 
+	 * are counted, for e.g. to check that the pools are large enough.
+	 * 
+	 * @param metrics the metrics to be used, or null to stop collecting them
+	 * @return nothing
+	 * */
+	
+	public static void setMetrics(OlympicsMetrics metrics){
+		sMetrics = metrics;
+	}
+	
+	/**
+	 * Returns a @link Match object for the given type of sport which can be used exclusively 
+	 * by the caller till it is handed back via @link returnMatchInstance. 
+	 * Objects are reused, so unlike @link getMatchInstance this does not create an object 
+	 * for every call.
+	 * 
+	 * @param type The type of match to be played
+	 * @return Match the @link Match object to handle the sport
+	 * */
+	
+	public static Match borrowMatchInstance(int type){
+		MatchPool pool = getMatchPool(type);
+		if(pool == null){
+			return getMatchInstance(type);
 		}
 		
+		/**
+		 * The strategy may have changed since the object was created
+		 * */
+		
+		Match match = pool.borrowMatch();
+		match.setOutcomeStrategy(getOutcomeStrategy(type));
 		return match;
 	}
+	
+	/**
+	 * Hands back a @link Match object obtained from @link borrowMatchInstance. 
+	 * The object is recycled and must not be used by the caller anymore.
+	 * 
+	 * @param type The type of match the object was borrowed for
+	 * @param match the object to be returned
+	 * @return nothing
+	 * */
+	
+	public static void returnMatchInstance(int type, Match match){
+		MatchPool pool = getMatchPool(type);
+		if(pool != null){
+			pool.returnMatch(match);
+		}
+	}
+	
+	/**
+	 * Returns the pool of @link Match objects for the given type of sport. 
+	 * Mostly relevant to read the statistics of the pool.
+	 * 
+	 * @param type The type of sport
+	 * @return MatchPool the pool for the sport or null in case of an unsupported sport
+	 * */
+	
+	public static MatchPool getMatchPool(int type){
+		SportRegistry.Sport sport = SportRegistry.getSport(type);
+		return (sport != null) ? sport.mPool : null;
+	}
 
 }
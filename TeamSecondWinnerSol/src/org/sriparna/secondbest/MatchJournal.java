@@ -0,0 +1,387 @@
+package org.sriparna.secondbest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An append only file of the matches played, so that a series interrupted for e.g. by the death of
+ * the JVM can be resumed without playing again the matches already decided. Check @link JournalingMatch
+ * and @link Olympics#playWithJournal.
+ *
+ * All values are 4 byte little endian ints, as in @link ResultWriter. The file starts with a header of
+ * HEADER_INTS ints :
+ *  magic (JOURNAL_MAGIC), version (VERSION), record size in bytes (RECORD_SIZE), reserved (0)
+ * followed by one record of RECORD_SIZE bytes per match :
+ *  first team, second team, type of sport, winner
+ *
+ * Records are collected in a buffer and written through a FileChannel once recordsPerCommit records have
+ * been collected, or on @link sync and @link close. Every write is followed by a call to FileChannel#force,
+ * which is shared by all the threads waiting for it : a thread which finds its records already forced by
+ * another thread does not force them again. A crash can lose the records which were not forced yet, whose
+ * matches are then simply played again.
+ *
+ * When an existing file is opened, its records are read back into a map from the match to its winner,
+ * which @link getRecordedWinner looks up. A record cut short by a crash is dropped, and so is a header
+ * cut short, in which case the file is started again. The map is not changed
+ * by the records appended afterwards, so it can be read by any number of threads without locking.
+ * A match is identified by the type of sport and the two teams, in any order, so a journal should hold
+ * the matches of a single series : if the same teams met twice, only the first winner is kept.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class MatchJournal implements Closeable {
+
+	/**
+	 * Constants describing the format of a journal
+	 * */
+
+	public static final int JOURNAL_MAGIC = 0x4A52594F;
+	public static final int VERSION = 1;
+	public static final int HEADER_INTS = 4;
+	public static final int RECORD_INTS = 4;
+	public static final int RECORD_SIZE = RECORD_INTS * Integer.BYTES;
+
+	/**
+	 * Number of records written at once, unless specified otherwise
+	 * */
+
+	public static final int DEFAULT_RECORDS_PER_COMMIT = 256;
+
+	/**
+	 * Value returned by @link getRecordedWinner for a match which is not in the journal
+	 * */
+
+	public static final int NO_WINNER = Olympics.Result.Winners.INVALID_VALUE;
+
+	private static final int HEADER_SIZE = HEADER_INTS * Integer.BYTES;
+
+	private final FileChannel mChannel;
+	private final ByteBuffer mBuffer;
+
+	/*
+	 * The matches recorded when the journal was opened
+	 * */
+
+	private final RecoveredMatches mRecovered;
+
+	/*
+	 * Guards the buffer and the writes to the channel, so that records are written in order
+	 * */
+
+	private final Object mAppendLock = new Object();
+
+	/*
+	 * Guards the calls to force, so that a single thread forces the records of all the waiting threads
+	 * */
+
+	private final Object mForceLock = new Object();
+
+	private long mNumOfRecords;
+	private volatile long mNumOfWrittenRecords;
+	private long mNumOfForcedRecords;
+
+	private MatchJournal(FileChannel channel, RecoveredMatches recovered, long numOfRecords, int recordsPerCommit){
+		mChannel = channel;
+		mRecovered = recovered;
+		mNumOfRecords = numOfRecords;
+		mNumOfWrittenRecords = numOfRecords;
+		mNumOfForcedRecords = numOfRecords;
+		mBuffer = ByteBuffer.allocateDirect(Math.max(1, recordsPerCommit) * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * Opens a journal writing DEFAULT_RECORDS_PER_COMMIT records at once
+	 *
+	 * @param file the journal, created if it does not exist
+	 * @return MatchJournal the journal, holding the matches already in the file
+	 * @throws IOException In case the file cannot be read or written, or is not a journal
+	 * */
+
+	public static MatchJournal open(Path file) throws IOException{
+		return open(file, DEFAULT_RECORDS_PER_COMMIT);
+	}
+
+	/**
+	 * Opens a journal, reading back the matches already in the file
+	 *
+	 * @param file the journal, created if it does not exist
+	 * @param recordsPerCommit the number of records written and forced at once. Larger values give a
+	 * 			higher throughput, but more matches to play again after a crash.
+	 * @return MatchJournal the journal, holding the matches already in the file
+	 * @throws IOException In case the file cannot be read or written, or is not a journal
+	 * */
+
+	public static MatchJournal open(Path file, int recordsPerCommit) throws IOException{
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		try{
+			/*
+			 * A file shorter than the header was cut short by a crash while it was being created,
+			 * so it holds no match and is started again
+			 * */
+
+			long size = channel.size();
+			if(size < HEADER_SIZE){
+				channel.truncate(0);
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+				header.putInt(JOURNAL_MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0).flip();
+				ResultWriter.writeFully(channel, header);
+				channel.force(true);
+				return new MatchJournal(channel, new RecoveredMatches(0), 0, recordsPerCommit);
+			}
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			readFully(channel, header, 0);
+			if(header.getInt(0) != JOURNAL_MAGIC
+					|| header.getInt(Integer.BYTES) != VERSION || header.getInt(2 * Integer.BYTES) != RECORD_SIZE){
+				throw new IOException(Constants.ERROR_MESSAGE_INVALID_JOURNAL);
+			}
+
+			long numOfRecords = (size - HEADER_SIZE) / RECORD_SIZE;
+			long end = HEADER_SIZE + numOfRecords * RECORD_SIZE;
+			if(end < size){
+				channel.truncate(end);
+			}
+			RecoveredMatches recovered = new RecoveredMatches((int) Math.min(numOfRecords, Integer.MAX_VALUE >> 2));
+			readRecords(channel, end, recovered);
+			channel.position(end);
+			return new MatchJournal(channel, recovered, numOfRecords, recordsPerCommit);
+		}
+		catch(IOException | RuntimeException e){
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Appends a match to the journal. Thread safe.
+	 *
+	 * @param team1 the first team
+	 * @param team2 the second team
+	 * @param typeOfSport the type of sport
+	 * @param winner the winner of the match
+	 * @return nothing
+	 * @throws IOException In case the file cannot be written
+	 * */
+
+	public void append(int team1, int team2, int typeOfSport, int winner) throws IOException{
+		long numOfRecordsToForce;
+		synchronized(mAppendLock){
+			mBuffer.putInt(team1).putInt(team2).putInt(typeOfSport).putInt(winner);
+			mNumOfRecords++;
+			if(mBuffer.hasRemaining()){
+				return;
+			}
+			writeBuffer();
+			numOfRecordsToForce = mNumOfRecords;
+		}
+		force(numOfRecordsToForce);
+	}
+
+	/**
+	 * Writes and forces all the records appended so far
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * @throws IOException In case the file cannot be written
+	 * */
+
+	public void sync() throws IOException{
+		long numOfRecordsToForce;
+		synchronized(mAppendLock){
+			writeBuffer();
+			numOfRecordsToForce = mNumOfRecords;
+		}
+		force(numOfRecordsToForce);
+	}
+
+	/**
+	 * Returns the winner of a match which was in the journal when it was opened
+	 *
+	 * @param typeOfSport the type of sport
+	 * @param team1 one of the teams
+	 * @param team2 the other team
+	 * @return int the winner, or NO_WINNER if the match is not in the journal
+	 * */
+
+	public int getRecordedWinner(int typeOfSport, int team1, int team2){
+		return mRecovered.get(typeOfSport, team1, team2);
+	}
+
+	/**
+	 * @return int the number of different matches read back when the journal was opened
+	 * */
+
+	public int getNumOfRecoveredMatches(){
+		return mRecovered.size();
+	}
+
+	/**
+	 * @return long the number of records in the journal, including the ones not written yet
+	 * */
+
+	public long getNumOfRecords(){
+		synchronized(mAppendLock){
+			return mNumOfRecords;
+		}
+	}
+
+	@Override
+	public void close() throws IOException{
+		try{
+			sync();
+		}
+		finally{
+			mChannel.close();
+		}
+	}
+
+	/*
+	 * Writes the records of the buffer. Called with the append lock held.
+	 * */
+
+	private void writeBuffer() throws IOException{
+		mBuffer.flip();
+		ResultWriter.writeFully(mChannel, mBuffer);
+		mBuffer.clear();
+		mNumOfWrittenRecords = mNumOfRecords;
+	}
+
+	/*
+	 * Forces the records written so far, unless another thread already forced the first numOfRecords records
+	 * */
+
+	private void force(long numOfRecords) throws IOException{
+		synchronized(mForceLock){
+			if(mNumOfForcedRecords >= numOfRecords){
+				return;
+			}
+			long numOfWrittenRecords = mNumOfWrittenRecords;
+			mChannel.force(false);
+			mNumOfForcedRecords = numOfWrittenRecords;
+		}
+	}
+
+	private static void readRecords(FileChannel channel, long end, RecoveredMatches recovered) throws IOException{
+		ByteBuffer buffer = ByteBuffer.allocateDirect(DEFAULT_RECORDS_PER_COMMIT * 16 * RECORD_SIZE)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		long position = HEADER_SIZE;
+		while(position < end){
+			buffer.clear();
+			buffer.limit((int) Math.min(buffer.capacity(), end - position));
+			readFully(channel, buffer, position);
+			while(buffer.hasRemaining()){
+				int team1 = buffer.getInt();
+				int team2 = buffer.getInt();
+				int typeOfSport = buffer.getInt();
+				int winner = buffer.getInt();
+				recovered.putIfAbsent(typeOfSport, team1, team2, winner);
+			}
+			position += buffer.limit();
+		}
+	}
+
+	/*
+	 * Fills the buffer with the bytes of the file starting at the given position and flips it
+	 * */
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException{
+		while(buffer.hasRemaining()){
+			if(channel.read(buffer, position + buffer.position()) < 0){
+				throw new IOException(Constants.ERROR_MESSAGE_INVALID_JOURNAL);
+			}
+		}
+		buffer.flip();
+	}
+
+	/*
+	 * Map from a match to its winner, held in primitive arrays with open addressing. A match is keyed by
+	 * the type of sport and the pair of teams, the lower team in the high 32 bits of the pair.
+	 * */
+
+	private static class RecoveredMatches {
+
+		private long[] mPairs;
+		private int[] mSports;
+		private int[] mWinners;
+		private boolean[] mUsed;
+		private int mMask;
+		private int mSize = 0;
+
+		RecoveredMatches(int expectedSize){
+			allocate(Integer.highestOneBit(Math.max(8, expectedSize * 2 - 1)) << 1);
+		}
+
+		int size(){
+			return mSize;
+		}
+
+		int get(int typeOfSport, int team1, int team2){
+			long pair = pair(team1, team2);
+			for(int i = hash(typeOfSport, pair) & mMask; mUsed[i]; i = (i + 1) & mMask){
+				if(mPairs[i] == pair && mSports[i] == typeOfSport){
+					return mWinners[i];
+				}
+			}
+			return NO_WINNER;
+		}
+
+		void putIfAbsent(int typeOfSport, int team1, int team2, int winner){
+			long pair = pair(team1, team2);
+			int i = hash(typeOfSport, pair) & mMask;
+			for(; mUsed[i]; i = (i + 1) & mMask){
+				if(mPairs[i] == pair && mSports[i] == typeOfSport){
+					return;
+				}
+			}
+			mUsed[i] = true;
+			mPairs[i] = pair;
+			mSports[i] = typeOfSport;
+			mWinners[i] = winner;
+			mSize++;
+			if(2 * mSize > mUsed.length){
+				grow();
+			}
+		}
+
+		private void grow(){
+			long[] pairs = mPairs;
+			int[] sports = mSports;
+			int[] winners = mWinners;
+			boolean[] used = mUsed;
+			allocate(2 * used.length);
+			mSize = 0;
+			for(int i = 0; i < used.length; i++){
+				if(used[i]){
+					int team1 = (int) (pairs[i] >> 32);
+					int team2 = (int) pairs[i];
+					putIfAbsent(sports[i], team1, team2, winners[i]);
+				}
+			}
+		}
+
+		private void allocate(int capacity){
+			mPairs = new long[capacity];
+			mSports = new int[capacity];
+			mWinners = new int[capacity];
+			mUsed = new boolean[capacity];
+			mMask = capacity - 1;
+		}
+
+		private static long pair(int team1, int team2){
+			int low = Math.min(team1, team2);
+			int high = Math.max(team1, team2);
+			return ((long) low << 32) | (high & 0xFFFFFFFFL);
+		}
+
+		private static int hash(int typeOfSport, long pair){
+			return (int) PairHashOutcomeStrategy.mix(pair ^ ((long) typeOfSport << 56) ^ typeOfSport);
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package org.sriparna.secondbest;
+
+import java.util.Arrays;
+
+/**
+ * The matches played by @link Olympics, recorded as (first team, second team, winner) triples in the
+ * order in which they were played. Check @link Olympics#setMatchLog. A log is typically consumed once
+ * the series are over, for e.g. by @link RatingUpdater, without playing the series again.
+ *
+ * Triples are held in three int arrays which grow as matches are recorded, so no object is created
+ * per match. Recording is thread safe, since the matches of a series can be played on several threads,
+ * but the log should not be read while matches are still being recorded. A log should only hold matches
+ * of a single sport.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class MatchLog {
+
+	private static final int DEFAULT_CAPACITY = 64;
+
+	private int[] mTeam1;
+	private int[] mTeam2;
+	private int[] mWinners;
+	private int mSize = 0;
+
+	public MatchLog(){
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity the number of matches the log can hold without growing
+	 * */
+
+	public MatchLog(int capacity){
+		capacity = Math.max(1, capacity);
+		mTeam1 = new int[capacity];
+		mTeam2 = new int[capacity];
+		mWinners = new int[capacity];
+	}
+
+	/**
+	 * Records a match
+	 *
+	 * @param team1 the first team
+	 * @param team2 the second team
+	 * @param winner the winner of the match
+	 * @return nothing
+	 * */
+
+	public synchronized void add(int team1, int team2, int winner){
+		ensureCapacity(mSize + 1);
+		mTeam1[mSize] = team1;
+		mTeam2[mSize] = team2;
+		mWinners[mSize] = winner;
+		mSize++;
+	}
+
+	/**
+	 * Records the matches of a round, as played by @link Match#playRound
+	 *
+	 * @param left the first team of every match
+	 * @param right the second team of every match
+	 * @param winners the winner of every match
+	 * @param offset index of the first match in the arrays
+	 * @param count the number of matches to record
+	 * @return nothing
+	 * */
+
+	public synchronized void addRound(int[] left, int[] right, int[] winners, int offset, int count){
+		ensureCapacity(mSize + count);
+		System.arraycopy(left, offset, mTeam1, mSize, count);
+		System.arraycopy(right, offset, mTeam2, mSize, count);
+		System.arraycopy(winners, offset, mWinners, mSize, count);
+		mSize += count;
+	}
+
+	/**
+	 * @return int the number of matches recorded
+	 * */
+
+	public synchronized int size(){
+		return mSize;
+	}
+
+	/**
+	 * @param index the index of the match, from 0 to @link size - 1
+	 * @return int the first team of the match
+	 * */
+
+	public synchronized int getTeam1(int index){
+		checkIndex(index);
+		return mTeam1[index];
+	}
+
+	/**
+	 * @param index the index of the match, from 0 to @link size - 1
+	 * @return int the second team of the match
+	 * */
+
+	public synchronized int getTeam2(int index){
+		checkIndex(index);
+		return mTeam2[index];
+	}
+
+	/**
+	 * @param index the index of the match, from 0 to @link size - 1
+	 * @return int the winner of the match
+	 * */
+
+	public synchronized int getWinner(int index){
+		checkIndex(index);
+		return mWinners[index];
+	}
+
+	/**
+	 * Forgets all the matches recorded, keeping the arrays for the next ones
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	public synchronized void clear(){
+		mSize = 0;
+	}
+
+	/*
+	 * The arrays of the log, for passes over all the matches. Only the first @link size entries
+	 * are valid, and the arrays are replaced when the log grows.
+	 * */
+
+	synchronized int[] team1Array(){
+		return mTeam1;
+	}
+
+	synchronized int[] team2Array(){
+		return mTeam2;
+	}
+
+	synchronized int[] winnerArray(){
+		return mWinners;
+	}
+
+	private void checkIndex(int index){
+		if(index < 0 || index >= mSize){
+			throw new IndexOutOfBoundsException(String.valueOf(index));
+		}
+	}
+
+	private void ensureCapacity(int capacity){
+		if(capacity > mTeam1.length){
+			int grown = Math.max(capacity, 2 * mTeam1.length);
+			mTeam1 = Arrays.copyOf(mTeam1, grown);
+			mTeam2 = Arrays.copyOf(mTeam2, grown);
+			mWinners = Arrays.copyOf(mWinners, grown);
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package org.sriparna.secondbest;
+
+/**
+ * Decides the winner of a match played by a @link Match object. Set on a @link Match with
+ * @link Match#setOutcomeStrategy, or for all the @link Match objects of a sport handed out by
+ * @link MatchFactory with @link MatchFactory#setOutcomeStrategy.
+ *
+ * A strategy is shared by all the @link Match objects it is set on, which may be used by several
+ * threads at the same time, so implementations must be thread safe.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public interface MatchOutcomeStrategy {
+
+	/**
+	 * Decides the winner of a match
+	 *
+	 * @param team1 the first team to play
+	 * @param team2 the second team to play
+	 * @param matchType the type of match to play
+	 * @return int the winner, either team1 or team2
+	 * */
+
+	int decideWinner(int team1, int team2, int matchType);
+
+	/**
+	 * @return boolean true if the winner only depends on the teams playing and the type of match.
+	 * 			Check @link Match#isDeterministic
+	 * */
+
+	boolean isDeterministic();
+}
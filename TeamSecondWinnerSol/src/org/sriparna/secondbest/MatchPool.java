@@ -0,0 +1,153 @@
+package org.sriparna.secondbest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, lock free pool of @link Match objects for a single type of sport.
+ *
+ * A @link Match holds the state of the match being played, so it can only be used by one
+ * thread at a time. Borrowing gives the caller exclusive use of an object till it is returned.
+ * Returning an object calls @link Match#recycle so the next borrower gets a clean object.
+ *
+ * The pool is a fixed array of slots. A borrow takes the first filled slot and a return fills
+ * the first empty slot, both using atomic operations only. If all slots are empty a new object is
+ * created, if all slots are filled the returned object is dropped and left for garbage collection.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class MatchPool {
+
+	private final int mTypeOfSport;
+	private final AtomicReferenceArray<Match> mSlots;
+	private final Supplier<? extends Match> mFactory;
+
+	/*
+	 * Statistics of the pool. Hits are borrows served from the pool, misses are borrows
+	 * which required a new object to be created.
+	 * */
+
+	private final LongAdder mHits = new LongAdder();
+	private final LongAdder mMisses = new LongAdder();
+	private final AtomicInteger mBorrowed = new AtomicInteger();
+	private final AtomicInteger mHighWaterMark = new AtomicInteger();
+
+	/**
+	 * @param typeOfSport the type of sport of the objects held by the pool
+	 * @param capacity the maximum number of objects held by the pool
+	 * */
+
+	public MatchPool(int typeOfSport, int capacity){
+		this(typeOfSport, capacity, null);
+	}
+	
+	/**
+	 * Creates a pool of custom @link Match objects, for e.g. subclasses of @link Match
+	 * which call out to a scoring service. 
+	 * 
+	 * @param typeOfSport the type of sport of the objects held by the pool
+	 * @param capacity the maximum number of objects held by the pool
+	 * @param factory creates the objects when the pool is empty. When null objects are 
+	 * 			created using @link MatchFactory
+	 * */
+
+	public MatchPool(int typeOfSport, int capacity, Supplier<? extends Match> factory){
+		mTypeOfSport = typeOfSport;
+		mSlots = new AtomicReferenceArray<Match>(capacity);
+		mFactory = factory;
+	}
+
+	/**
+	 * Returns a @link Match object which is not used by anyone else, creating one
+	 * if the pool is empty.
+	 *
+	 * Should be paired with a call to @link returnMatch once the caller is done.
+	 *
+	 * @return Match a @link Match object for the sport of the pool
+	 * */
+
+	public Match borrowMatch(){
+		int borrowed = mBorrowed.incrementAndGet();
+		int highWaterMark = mHighWaterMark.get();
+		while(borrowed > highWaterMark && !mHighWaterMark.compareAndSet(highWaterMark, borrowed)){
+			highWaterMark = mHighWaterMark.get();
+		}
+
+		int capacity = mSlots.length();
+		for(int i = 0; i < capacity; i++){
+			if(mSlots.get(i) != null){
+				Match match = mSlots.getAndSet(i, null);
+				if(match != null){
+					mHits.increment();
+					return match;
+				}
+			}
+		}
+
+		mMisses.increment();
+		return (mFactory != null) ? mFactory.get() : MatchFactory.getMatchInstance(mTypeOfSport);
+	}
+
+	/**
+	 * Hands back a @link Match object obtained from @link borrowMatch. The object is
+	 * recycled and must not be used by the caller anymore.
+	 *
+	 * @param match the object to be returned
+	 * @return nothing
+	 * */
+
+	public void returnMatch(Match match){
+		mBorrowed.decrementAndGet();
+		match.recycle();
+
+		int capacity = mSlots.length();
+		for(int i = 0; i < capacity; i++){
+			if(mSlots.get(i) == null && mSlots.compareAndSet(i, null, match)){
+				return;
+			}
+		}
+	}
+
+	/**
+	 * @return long the number of borrows served by an object held by the pool
+	 * */
+
+	public long getHitCount(){
+		return mHits.sum();
+	}
+
+	/**
+	 * @return long the number of borrows for which a new object had to be created
+	 * */
+
+	public long getMissCount(){
+		return mMisses.sum();
+	}
+
+	/**
+	 * @return int the highest number of objects which have been borrowed at the same time
+	 * */
+
+	public int getHighWaterMark(){
+		return mHighWaterMark.get();
+	}
+
+	/**
+	 * @return int the maximum number of objects held by the pool
+	 * */
+
+	public int getCapacity(){
+		return mSlots.length();
+	}
+
+	/**
+	 * @return int the type of sport of the objects held by the pool
+	 * */
+
+	public int getTypeOfSport(){
+		return mTypeOfSport;
+	}
+}
@@ -0,0 +1,40 @@
+package org.sriparna.secondbest;
+
+/**
+ * Provides the @link Match objects of a sport, so that sports can be added without changing
+ * @link MatchFactory. Check @link SportRegistry.
+ *
+ * Providers are either registered with @link SportRegistry#register, or discovered with
+ * java.util.ServiceLoader by listing the implementing class in a file named
+ * META-INF/services/org.sriparna.secondbest.MatchProvider on the class path, in which case
+ * the class needs a public constructor without arguments.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public interface MatchProvider {
+
+	/**
+	 * @return int the type of sport of the matches, which should be positive and not greater
+	 * 			than @link SportRegistry#MAX_TYPE_OF_SPORT
+	 * */
+
+	int getTypeOfSport();
+
+	/**
+	 * @return String a human readable name for the sport, check @link MatchFactory#getReadableNameForSport
+	 * */
+
+	String getReadableName();
+
+	/**
+	 * Creates a @link Match object for the sport. Called by @link MatchFactory#getMatchInstance,
+	 * mostly when the pool of the sport is empty, from any thread.
+	 *
+	 * @param ratings the ratings of the teams of the sport, check @link MatchFactory#getRatingTable.
+	 * 			Providers of matches which are not decided from ratings can ignore it.
+	 * @return Match a new @link Match object
+	 * */
+
+	Match newMatch(RatingTable ratings);
+}
@@ -0,0 +1,197 @@
+package org.sriparna.secondbest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache of the winners of matches which have already been played, so that matches
+ * of deterministic sports are not played again. Check @link Match#isDeterministic and @link CachingMatch.
+ *
+ * A match is identified by the type of sport and the ordered pair of teams. The pair is packed in a
+ * long, with the first team in the high 32 bits. Entries are held in primitive arrays organized as
+ * sets of WAYS entries. A match can only be stored in the set given by its hash. When the set is full,
+ * the entry to be evicted is chosen with the CLOCK algorithm : entries which were used since the clock
+ * hand last passed them get a second chance.
+ *
+ * The cache can be shared between threads. Every set is guarded by one of a fixed number of locks.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class MatchResultCache {
+
+	/**
+	 * Values returned by @link lookup
+	 * */
+
+	public static final int OUTCOME_UNKNOWN = 0;
+	public static final int OUTCOME_TEAM1_WON = 1;
+	public static final int OUTCOME_TEAM2_WON = 2;
+
+	/*
+	 * Number of entries in a set
+	 * */
+
+	private static final int WAYS = 4;
+
+	private static final int NUM_OF_LOCKS = 64;
+
+	private final int mSetMask;
+
+	/*
+	 * The entries. mOutcomes holds OUTCOME_UNKNOWN for an empty entry.
+	 * */
+
+	private final long[] mKeys;
+	private final int[] mSports;
+	private final byte[] mOutcomes;
+	private final boolean[] mReferenced;
+
+	/*
+	 * Clock hand of every set
+	 * */
+
+	private final byte[] mHands;
+
+	private final Object[] mLocks = new Object[NUM_OF_LOCKS];
+
+	private final LongAdder mHits = new LongAdder();
+	private final LongAdder mMisses = new LongAdder();
+	private final LongAdder mEvictions = new LongAdder();
+
+	/**
+	 * @param capacity the maximum number of matches held. Rounded up to a power of 2 of at least WAYS.
+	 * */
+
+	public MatchResultCache(int capacity){
+		int numOfSets = Integer.highestOneBit(Math.max(1, (capacity + WAYS - 1) / WAYS));
+		if(numOfSets * WAYS < capacity){
+			numOfSets <<= 1;
+		}
+		mSetMask = numOfSets - 1;
+		mKeys = new long[numOfSets * WAYS];
+		mSports = new int[numOfSets * WAYS];
+		mOutcomes = new byte[numOfSets * WAYS];
+		mReferenced = new boolean[numOfSets * WAYS];
+		mHands = new byte[numOfSets];
+		for(int i = 0; i < NUM_OF_LOCKS; i++){
+			mLocks[i] = new Object();
+		}
+	}
+
+	/**
+	 * Looks up the result of a match
+	 *
+	 * @param typeOfSport the type of sport
+	 * @param team1 the first team of the match
+	 * @param team2 the second team of the match
+	 * @return int one of the OUTCOME_* constants
+	 * */
+
+	public int lookup(int typeOfSport, int team1, int team2){
+		long key = key(team1, team2);
+		int set = set(typeOfSport, key);
+		int first = set * WAYS;
+
+		synchronized(mLocks[set & (NUM_OF_LOCKS - 1)]){
+			for(int i = first; i < first + WAYS; i++){
+				if(mOutcomes[i] != OUTCOME_UNKNOWN && mKeys[i] == key && mSports[i] == typeOfSport){
+					mReferenced[i] = true;
+					mHits.increment();
+					return mOutcomes[i];
+				}
+			}
+		}
+		mMisses.increment();
+		return OUTCOME_UNKNOWN;
+	}
+
+	/**
+	 * Stores the result of a match, evicting another match if required
+	 *
+	 * @param typeOfSport the type of sport
+	 * @param team1 the first team of the match
+	 * @param team2 the second team of the match
+	 * @param winner the winner of the match
+	 * @return nothing
+	 * */
+
+	public void put(int typeOfSport, int team1, int team2, int winner){
+		long key = key(team1, team2);
+		int set = set(typeOfSport, key);
+		int first = set * WAYS;
+		byte outcome = (byte) ((winner == team1) ? OUTCOME_TEAM1_WON : OUTCOME_TEAM2_WON);
+
+		synchronized(mLocks[set & (NUM_OF_LOCKS - 1)]){
+			int entry = -1;
+			for(int i = first; i < first + WAYS; i++){
+				if(mOutcomes[i] == OUTCOME_UNKNOWN || (mKeys[i] == key && mSports[i] == typeOfSport)){
+					entry = i;
+					break;
+				}
+			}
+
+			/*
+			 * The set is full. Move the clock hand, clearing the referenced entries it passes,
+			 * till it reaches an entry which was not referenced.
+			 * */
+
+			if(entry == -1){
+				int hand = mHands[set];
+				while(mReferenced[first + hand]){
+					mReferenced[first + hand] = false;
+					hand = (hand + 1) % WAYS;
+				}
+				entry = first + hand;
+				mHands[set] = (byte) ((hand + 1) % WAYS);
+				mEvictions.increment();
+			}
+
+			mKeys[entry] = key;
+			mSports[entry] = typeOfSport;
+			mOutcomes[entry] = outcome;
+			mReferenced[entry] = false;
+		}
+	}
+
+	/**
+	 * @return long the number of lookups which found the result of the match
+	 * */
+
+	public long getHitCount(){
+		return mHits.sum();
+	}
+
+	/**
+	 * @return long the number of lookups which did not find the result of the match
+	 * */
+
+	public long getMissCount(){
+		return mMisses.sum();
+	}
+
+	/**
+	 * @return long the number of matches evicted to make room for others
+	 * */
+
+	public long getEvictionCount(){
+		return mEvictions.sum();
+	}
+
+	/**
+	 * @return int the maximum number of matches held
+	 * */
+
+	public int getCapacity(){
+		return mKeys.length;
+	}
+
+	private static long key(int team1, int team2){
+		return ((long) team1 << 32) | (team2 & 0xFFFFFFFFL);
+	}
+
+	private int set(int typeOfSport, long key){
+		long hash = (key ^ (typeOfSport * 0x9E3779B97F4A7C15L)) * 0xBF58476D1CE4E5B9L;
+		hash ^= hash >>> 31;
+		return (int) hash & mSetMask;
+	}
+}
@@ -0,0 +1,113 @@
+package org.sriparna.secondbest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An array of ints held outside the heap, in a file mapped into memory. It is indexed by a long,
+ * so it can hold more than 2^31 ints. A single mapping is limited to 2 GB, so the file is mapped
+ * in chunks of CHUNK_SIZE ints. Ints are stored in little endian order.
+ *
+ * An array either maps an existing file, for e.g. a file of team ids, or a temporary file which
+ * is deleted when the array is closed.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+final class OffHeapIntArray implements Closeable {
+
+	private static final int CHUNK_SHIFT = 28;
+	private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+	private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+	private final FileChannel mChannel;
+	private final Path mTemporaryFile;
+	private final IntBuffer[] mChunks;
+	private final long mLength;
+
+	private OffHeapIntArray(FileChannel channel, Path temporaryFile, long length, boolean readOnly) throws IOException{
+		mChannel = channel;
+		mTemporaryFile = temporaryFile;
+		mLength = length;
+
+		int numOfChunks = (int) ((length + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+		mChunks = new IntBuffer[numOfChunks];
+		FileChannel.MapMode mode = readOnly ? FileChannel.MapMode.READ_ONLY : FileChannel.MapMode.READ_WRITE;
+		for(int i = 0; i < numOfChunks; i++){
+			long first = (long) i << CHUNK_SHIFT;
+			long size = Math.min(CHUNK_SIZE, length - first);
+			MappedByteBuffer buffer = channel.map(mode, first * Integer.BYTES, size * Integer.BYTES);
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+			mChunks[i] = buffer.asIntBuffer();
+		}
+	}
+
+	/**
+	 * Maps an existing file of little endian ints for reading
+	 *
+	 * @param file the file to map
+	 * @return OffHeapIntArray the array of all the complete ints in the file
+	 * @throws IOException In case the file cannot be mapped
+	 * */
+
+	static OffHeapIntArray map(Path file) throws IOException{
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+		try{
+			return new OffHeapIntArray(channel, null, channel.size() / Integer.BYTES, true);
+		}
+		catch(IOException e){
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Creates an array backed by a temporary file
+	 *
+	 * @param length the number of ints in the array
+	 * @param directory the directory of the temporary file, or null for the default one
+	 * @return OffHeapIntArray the array
+	 * @throws IOException In case the file cannot be created or mapped
+	 * */
+
+	static OffHeapIntArray allocate(long length, Path directory) throws IOException{
+		Path file = (directory != null) ? Files.createTempFile(directory, "olympics", ".bin")
+				: Files.createTempFile("olympics", ".bin");
+		FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try{
+			return new OffHeapIntArray(channel, file, Math.max(length, 1), false);
+		}
+		catch(IOException e){
+			channel.close();
+			Files.deleteIfExists(file);
+			throw e;
+		}
+	}
+
+	long length(){
+		return mLength;
+	}
+
+	int get(long index){
+		return mChunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+	}
+
+	void set(long index, int value){
+		mChunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), value);
+	}
+
+	@Override
+	public void close() throws IOException{
+		mChannel.close();
+		if(mTemporaryFile != null){
+			Files.deleteIfExists(mTemporaryFile);
+		}
+	}
+}
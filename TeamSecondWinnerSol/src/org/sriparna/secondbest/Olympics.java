@@ -1,10 +1,17 @@
 package org.sriparna.secondbest;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 /**
  * Class which is responsible to get a set of teams to play a particular match
@@ -19,24 +26,137 @@ public class Olympics {
 	
 	
 	/**
-	 * We store a map of @link Match objects with keys as the type of match.
-	 * This is to ensure that we reuse @link Match objects if subsequent requests
-	 * come for the same match type so as to reduce the number of objects 
-	 * required to be garbage collected resulting in more memory available
-	 * to the application at any time
+	 * The exact match object to be used for conducting matches, if specified by the user.
+	 * Otherwise @link Match objects are borrowed from the pools in @link MatchFactory
+	 * so that they are reused across series and threads.
 	 **/
 	
-	private Map<Integer, Match> mMatches = null;
 	private Match mMatch = null;
 	
+	/**
+	 * The pool from which @link Match objects are borrowed, if specified by the user. 
+	 * Unlike a single @link Match object, this lets custom matches be played concurrently.
+	 **/
+	
+	private MatchPool mMatchPool = null;
+	
+	/**
+	 * Cache of the results of matches already played, if specified by the user. 
+	 * Check @link MatchResultCache for more details.
+	 **/
+	
+	private MatchResultCache mResultCache = null;
+	
+	/**
+	 * Log in which every match played is recorded, if specified by the user. 
+	 * Check @link MatchLog for more details.
+	 **/
+	
+	private MatchLog mMatchLog = null;
+	
+	/**
+	 * Journal in which every match played is persisted, if specified by the user. 
+	 * Check @link MatchJournal for more details.
+	 **/
+	
+	private MatchJournal mMatchJournal = null;
+	
+	/*
+	 * Pools of the decorators which @link acquireMatch wraps around the @link Match objects 
+	 * for the cache, the journal and the log, so that they and their buffers are reused by 
+	 * all the series. Replaced whenever the cache, the journal or the log is changed.
+	 * */
+	
+	private MatchPool mCachingMatches = null;
+	private MatchPool mJournalingMatches = null;
+	private MatchPool mLoggingMatches = null;
+	
+	/*
+	 * When a @link Match has been specified by the user, it is always wrapped by the same 
+	 * decorators, so that the engines playing on several threads all lock the same object. 
+	 * Rebuilt whenever the cache, the journal or the log is changed.
+	 * */
+	
+	private Match mSharedMatch = null;
+	
+	/**
+	 * Constants specifying the engine used to get a series played :
+	 * 
+	 *  1. ENGINE_MODE_QUEUE : the default engine which keeps the teams to play in a queue of 
+	 *  	boxed team ids and the defeated teams in a map
+	 *  2. ENGINE_MODE_PRIMITIVE : plays the same matches as ENGINE_MODE_QUEUE but keeps all its 
+	 *  	state in reusable int arrays, so no object is allocated per match. 
+	 *  	Check @link PrimitiveTournamentEngine for more details
+	 *  3. ENGINE_MODE_TREE : stores the series as a tournament tree and finds the second winner
+	 *  	in the minimum of n + ceil(log2(n)) - 2 matches. Useful when every match is expensive.
+	 *  	Check @link TreeTournamentEngine for more details
+	 *  4. ENGINE_MODE_PARALLEL : plays the same matches as ENGINE_MODE_QUEUE, but the matches of a 
+	 *  	round are played concurrently in the common @link ForkJoinPool. 
+	 *  	Check @link ParallelTournamentEngine for more details
+	 *  5. ENGINE_MODE_ASYNC : plays the same matches as ENGINE_MODE_QUEUE, but all the matches of 
+	 *  	a round are in flight at the same time on an @link ExecutorService. Meant for matches 
+	 *  	which spend their time waiting, for e.g. on a scoring service. Also used by @link playAsync.
+	 *  	Check @link AsyncTournamentEngine for more details
+	 * */
+	
+	public static final int ENGINE_MODE_QUEUE = 0;
+	public static final int ENGINE_MODE_PRIMITIVE = 1;
+	public static final int ENGINE_MODE_TREE = 2;
+	public static final int ENGINE_MODE_PARALLEL = 3;
+	public static final int ENGINE_MODE_ASYNC = 4;
+	
+	private int mEngineMode = ENGINE_MODE_QUEUE;
+	
+	/*
+	 * Engines are created when first required and reused for subsequent series
+	 * */
+	
+	private PrimitiveTournamentEngine mPrimitiveEngine = null;
+	private TreeTournamentEngine mTreeEngine = null;
+	private ParallelTournamentEngine mParallelEngine = null;
+	private AsyncTournamentEngine mAsyncEngine = null;
+	private BulkTournamentEngine mBulkEngine = null;
+	
+	/**
+	 * Number of ints of every result written by @link playAll(int[], int[], int, int, int[]) : 
+	 * the error code, the first winner and the second winner
+	 * */
+	
+	public static final int RESULT_STRIDE = BulkTournamentEngine.RESULT_STRIDE;
+	
+	/*
+	 * Options of ENGINE_MODE_ASYNC. A null executor means the default one is used.
+	 * */
+	
+	private ExecutorService mAsyncExecutor = null;
+	private int mMaxMatchesInFlight = AsyncTournamentEngine.DEFAULT_MAX_MATCHES_IN_FLIGHT;
+	
+	/*
+	 * Directory holding the state of series played from a file. A null directory means 
+	 * the default directory for temporary files is used.
+	 * */
+	
+	private Path mOffHeapDirectory = null;
+	
+	/*
+	 * Scratch buffer in which the engines write the first and the second winner
+	 * */
+	
+	private final int[] mWinners = new int[2];
+	
+	/*
+	 * Metrics of the series played, or null if not collected
+	 * */
+	
+	private OlympicsMetrics mMetrics = null;
+	
 	
 	public Olympics(){
-		mMatches = new HashMap<Integer, Match>();
 	}	
 	
 	/**
 	 * Specify the exact match object to be used for conducting matches.
-	 * When set it is given  preference over @link mMatches.
+	 * When set it is given  preference over the pools in @link MatchFactory.
 	 * 
 	 * Should be flushed (set to null ) when no longer required.
 	 * 
@@ -46,6 +166,447 @@ public class Olympics {
 	
 	public Olympics(Match match){
 		mMatch = match;
+		mSharedMatch = match;
+	}
+	
+	/**
+	 * Specify the pool from which @link Match objects are borrowed for conducting matches.
+	 * When set it is given preference over the pools in @link MatchFactory.
+	 * 
+	 * Relevant for customizing matches with engines which play several matches at the 
+	 * same time, since every thread gets its own object from the pool.
+	 * */
+	
+	public Olympics(MatchPool matchPool){
+		mMatchPool = matchPool;
+	}
+	
+	/**
+	 * Specify the engine to be used for subsequent series. 
+	 * 
+	 * @param engineMode one of the ENGINE_MODE_* constants
+	 * @return nothing
+	 * @throws IllegalArgumentException In case an unsupported engine is provided
+	 * */
+	
+	public void setEngineMode(int engineMode) throws IllegalArgumentException{
+		switch(engineMode){
+		case ENGINE_MODE_QUEUE:
+		case ENGINE_MODE_PRIMITIVE:
+		case ENGINE_MODE_TREE:
+		case ENGINE_MODE_PARALLEL:
+		case ENGINE_MODE_ASYNC:
+			mEngineMode = engineMode;
+			break;
+			
+		default:
+			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_UNSUPPORTED_ENGINE);
+		}
+	}
+	
+	/**
+	 * @return int the engine currently used to get a series played
+	 * */
+	
+	public int getEngineMode(){
+		return mEngineMode;
+	}
+	
+	/**
+	 * Specify the executor on which matches are played by ENGINE_MODE_ASYNC and @link playAsync. 
+	 * The executor can be bounded : the series started by @link playAsync are coordinated on 
+	 * the default executor, so they never hold a thread of this one while waiting for matches.
+	 * 
+	 * @param executor the executor to be used, or null to use virtual threads where supported
+	 * @return nothing
+	 * */
+	
+	public void setAsyncExecutor(ExecutorService executor){
+		mAsyncExecutor = executor;
+		mAsyncEngine = null;
+	}
+	
+	/**
+	 * Specify the maximum number of matches in flight at any time for a series played by 
+	 * ENGINE_MODE_ASYNC or @link playAsync.
+	 * 
+	 * @param maxMatchesInFlight the maximum number of matches in flight. Should be at least 1
+	 * @return nothing
+	 * @throws IllegalArgumentException In case the maximum is less than 1
+	 * */
+	
+	public void setMaxMatchesInFlight(int maxMatchesInFlight) throws IllegalArgumentException{
+		if(maxMatchesInFlight < 1){
+			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_INVALID_MATCHES_IN_FLIGHT);
+		}
+		mMaxMatchesInFlight = maxMatchesInFlight;
+		mAsyncEngine = null;
+	}
+	
+	/**
+	 * method to get many independent series played in a single call, for e.g. a large number 
+	 * of small series. The series are stored one after the other in a single array :
+	 * series t is made of the teams teams[offsets[t]] ... teams[offsets[t + 1] - 1].
+	 * 
+	 * Series are played back to back reusing the same scratch buffers and @link Match object, 
+	 * so nothing is allocated per series. ENGINE_MODE_TREE plays them with the tree engine, 
+	 * ENGINE_MODE_PARALLEL spreads them over the cores of the common @link ForkJoinPool, 
+	 * and every other mode plays them with the primitive engine, which plays the same matches 
+	 * as ENGINE_MODE_QUEUE. Check @link BulkTournamentEngine for more details
+	 * 
+	 * @param teams the teams of all the series
+	 * @param offsets the index of the first team of every series, followed by the index after 
+	 * 			the last team of the last series. So it holds at least numOfSeries + 1 values
+	 * @param numOfSeries the number of series to play
+	 * @param typeOfSport the type of sport to play
+	 * @param resultsOut array in which the result of series t is written at index RESULT_STRIDE * t as : 
+	 * 			error code (same as the error codes of @link play), first winner, second winner
+	 * 
+	 * @return nothing
+	 * @throws IllegalArgumentException In case unsupported match type is provided or the offsets 
+	 * 			do not describe series within the teams
+	 * */
+	
+	public void playAll(int[] teams, int[] offsets, int numOfSeries, int typeOfSport, int[] resultsOut) 
+			throws IllegalArgumentException{
+		checkSupportedSport(typeOfSport);
+		BulkTournamentEngine.checkLayout(teams, offsets, numOfSeries, resultsOut);
+		
+		if(mEngineMode == ENGINE_MODE_PARALLEL && numOfSeries > BulkTournamentEngine.DEFAULT_SERIES_PER_TASK){
+			if(mBulkEngine == null){
+				mBulkEngine = new BulkTournamentEngine(this);
+			}
+			mBulkEngine.playParallel(ForkJoinPool.commonPool(), teams, offsets, numOfSeries, typeOfSport, resultsOut);
+			return;
+		}
+		
+		TournamentEngine engine = (mEngineMode == ENGINE_MODE_TREE) ? getEngine() : getPrimitiveEngine();
+		Match match = acquireMatch(typeOfSport);
+		try{
+			BulkTournamentEngine.playSeries(engine, match, teams, offsets, 0, numOfSeries, typeOfSport, resultsOut);
+		}
+		finally{
+			releaseMatch(typeOfSport, match);
+		}
+	}
+	
+	/**
+	 * method to get many independent series played in a single call. 
+	 * Same as @link playAll(int[], int[], int, int, int[]), but the series are held in 
+	 * separate arrays and a @link Result object is created for every series.
+	 * 
+	 * @param series the set of teams of every series
+	 * @param typeOfSport the type of sport to play
+	 * 
+	 * @return Result[] The result of every series
+	 * @throws IllegalArgumentException In case unsupported match type is provided
+	 * */
+	
+	public Result[] playAll(int[][] series, int typeOfSport) throws IllegalArgumentException{
+		int numOfSeries = series.length;
+		int[] offsets = new int[numOfSeries + 1];
+		for(int t = 0; t < numOfSeries; t++){
+			offsets[t + 1] = offsets[t] + ((series[t] != null) ? series[t].length : 0);
+		}
+		int[] teams = new int[offsets[numOfSeries]];
+		for(int t = 0; t < numOfSeries; t++){
+			if(series[t] != null){
+				System.arraycopy(series[t], 0, teams, offsets[t], series[t].length);
+			}
+		}
+		
+		int[] results = new int[RESULT_STRIDE * numOfSeries];
+		playAll(teams, offsets, numOfSeries, typeOfSport, results);
+		
+		Result[] resultsOut = new Result[numOfSeries];
+		for(int t = 0; t < numOfSeries; t++){
+			int out = RESULT_STRIDE * t;
+			resultsOut[t] = new Result(results[out], new Result.Winners(results[out + 1], results[out + 2]));
+		}
+		return resultsOut;
+	}
+	
+	/**
+	 * method to find the k best teams amongst a set of teams, best first. 
+	 * The teams play a tournament tree and the teams defeated by the ranked teams then compete 
+	 * for the next ranks, so about n + k * log2(n) matches are played rather than a series per rank. 
+	 * The ranking is only meaningful if the outcome of the matches is consistent with a ranking 
+	 * of the teams. Check @link TreeTournamentEngine#playTopK for more details
+	 * 
+	 * @param teams set of teams to play 
+	 * @param typeOfSport the type of sport to play
+	 * @param k the number of teams to rank. If there are fewer teams, all of them are ranked.
+	 * 
+	 * @return RankedResult The result of the series, with the same error codes as @link play
+	 * @throws IllegalArgumentException In case unsupported match type is provided or k is less than 1
+	 * */
+	
+	public RankedResult playTopK(int[] teams, int typeOfSport, int k) throws IllegalArgumentException{
+		checkSupportedSport(typeOfSport);
+		if(k < 1){
+			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_INVALID_RANK);
+		}
+		
+		RankedResult result = null;
+		if((teams == null) || teams.length == 0){
+			result = new RankedResult(Result.RESULT_INVALID_DATA_PROVIDED, new int[0]);
+		}
+		else if(teams.length == 1){
+			result = new RankedResult(Result.RESULT_INADEQUATE_DATA_PROVIDED, new int[]{teams[0]});
+		}
+		else{
+			if(mTreeEngine == null){
+				mTreeEngine = new TreeTournamentEngine();
+			}
+			int[] ranking = new int[Math.min(k, teams.length)];
+			Match match = acquireMatch(typeOfSport);
+			try{
+				mTreeEngine.playTopK(teams, 0, teams.length, match, typeOfSport, ranking, ranking.length);
+			}
+			finally{
+				releaseMatch(typeOfSport, match);
+			}
+			result = new RankedResult(Result.RESULT_OK, ranking);
+		}
+		return result;
+	}
+	
+	/**
+	 * method to get a series played amongst a set of teams and keep it, so that it can be updated 
+	 * later without replaying every match, for e.g. when the result of a match is overturned. 
+	 * The teams are paired as in a tournament tree, so the winners are the same as those of @link play 
+	 * whenever the outcome of the matches is consistent with a ranking of the teams. 
+	 * Check @link Bracket for more details
+	 * 
+	 * @param teams set of teams to play in the series. Every team should appear only once.
+	 * @param typeOfSport the type of sport to play
+	 * 
+	 * @return Bracket the series played. Its result is given by @link Bracket#getResult
+	 * @throws IllegalArgumentException In case unsupported match type is provided or a team appears more than once
+	 * */
+	
+	public Bracket playBracket(int[] teams, int typeOfSport) throws IllegalArgumentException{
+		checkSupportedSport(typeOfSport);
+		return new Bracket(this, typeOfSport, teams);
+	}
+	
+	/**
+	 * Specify the metrics in which subsequent series are recorded : the time taken by every series 
+	 * and, except for ENGINE_MODE_TREE, the matches played, the time spent inside @link Match and 
+	 * the phase in which the second winner is found. ENGINE_MODE_PRIMITIVE, ENGINE_MODE_PARALLEL and 
+	 * ENGINE_MODE_ASYNC play and record whole rounds, while ENGINE_MODE_QUEUE plays and records its 
+	 * matches one at a time, so it records no rounds. 
+	 * Check @link OlympicsMetrics for more details
+	 * 
+	 * @param metrics the metrics to be used, or null to stop collecting them
+	 * @return nothing
+	 * */
+	
+	public void setMetrics(OlympicsMetrics metrics){
+		mMetrics = metrics;
+		if(mPrimitiveEngine != null){
+			mPrimitiveEngine.setMetrics(metrics);
+		}
+	}
+	
+	/**
+	 * @return OlympicsMetrics the metrics in which series are recorded, or null if not collected
+	 * */
+	
+	public OlympicsMetrics getMetrics(){
+		return mMetrics;
+	}
+	
+	/**
+	 * Specify the directory in which the state of series played by @link play(Path, int) 
+	 * is held. It should have free space for about twice the size of the file of teams.
+	 * 
+	 * @param directory the directory to be used, or null to use the default directory for temporary files
+	 * @return nothing
+	 * */
+	
+	public void setOffHeapDirectory(Path directory){
+		mOffHeapDirectory = directory;
+	}
+	
+	/**
+	 * method to get a series played amongst the teams in a file, for series which are too large 
+	 * for the heap. The file holds the team ids as 4 byte little endian ints. 
+	 * The teams are paired exactly as by @link play(int[], int) with ENGINE_MODE_QUEUE.
+	 * Check @link MappedTournamentEngine for more details
+	 * 
+	 * @param teamsFile the file holding the set of teams to play in the series
+	 * @param typeOfSport the type of sport to play
+	 * 
+	 * @return Result The result of the match
+	 * @throws IllegalArgumentException In case unsupported match type is provided
+	 * @throws IOException In case the file cannot be read or the state of the series cannot be stored
+	 * */
+	
+	public Result play(Path teamsFile, int typeOfSport) throws IllegalArgumentException, IOException{
+		checkSupportedSport(typeOfSport);
+		
+		Result result = null;
+		try(OffHeapIntArray teams = OffHeapIntArray.map(teamsFile)){
+			if(teams.length() == 0){
+				Result.Winners winners = new Result.Winners(Result.Winners.INVALID_VALUE, Result.Winners.INVALID_VALUE);
+				result = new Result(Result.RESULT_INVALID_DATA_PROVIDED, winners);
+			}
+			else if(teams.length() == 1){
+				Result.Winners winners = new Result.Winners(teams.get(0), Result.Winners.INVALID_VALUE);			 
+				result =  new Result(Result.RESULT_INADEQUATE_DATA_PROVIDED, winners);
+			}
+			else{
+				Match match = acquireMatch(typeOfSport);
+				try{
+					new MappedTournamentEngine(mOffHeapDirectory).play(teams, match, typeOfSport, mWinners);
+				}
+				finally{
+					releaseMatch(typeOfSport, match);
+				}
+				Result.Winners winners = new Result.Winners(mWinners[0], mWinners[1]);
+				result = new Result(Result.RESULT_OK, winners);
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * Specify a cache of the results of matches, so that matches of deterministic sports 
+	 * which have already been played are not played again by subsequent series. 
+	 * The same cache can be shared by several @link Olympics objects.
+	 * Check @link MatchResultCache and @link Match#isDeterministic for more details.
+	 * 
+	 * @param cache the cache to be used, or null to play every match
+	 * @return nothing
+	 * */
+	
+	public void setResultCache(MatchResultCache cache){
+		if(cache != mResultCache){
+			mCachingMatches = (cache != null) ? newDecoratorPool(() -> new CachingMatch(null, cache)) : null;
+		}
+		mResultCache = cache;
+		updateSharedMatch();
+	}
+	
+	/**
+	 * Specify a log in which every match played from now on is recorded, including the matches 
+	 * whose results are reused from the cache. The log can then be consumed once the series 
+	 * are over, for e.g. by @link RatingUpdater. Check @link MatchLog for more details.
+	 * 
+	 * @param log the log to be used, or null to stop recording matches
+	 * @return nothing
+	 * */
+	
+	public void setMatchLog(MatchLog log){
+		if(log != mMatchLog){
+			mLoggingMatches = (log != null) ? newDecoratorPool(() -> new LoggingMatch(null, log)) : null;
+		}
+		mMatchLog = log;
+		updateSharedMatch();
+	}
+	
+	/**
+	 * @return MatchLog the log in which matches are recorded, or null if not recorded
+	 * */
+	
+	public MatchLog getMatchLog(){
+		return mMatchLog;
+	}
+	
+	/**
+	 * Specify a journal in which every match played from now on is persisted, and from which 
+	 * the winners of the matches it held when it was opened are taken instead of playing them again. 
+	 * Check @link MatchJournal and @link playWithJournal for more details.
+	 * 
+	 * @param journal the journal to be used, or null to stop persisting matches
+	 * @return nothing
+	 * */
+	
+	public void setMatchJournal(MatchJournal journal){
+		if(journal != mMatchJournal){
+			mJournalingMatches = (journal != null) ? newDecoratorPool(() -> new JournalingMatch(null, journal)) : null;
+		}
+		mMatchJournal = journal;
+		updateSharedMatch();
+	}
+	
+	/**
+	 * @return MatchJournal the journal in which matches are persisted, or null if not persisted
+	 * */
+	
+	public MatchJournal getMatchJournal(){
+		return mMatchJournal;
+	}
+	
+	/**
+	 * method to get a series played amongst a set of teams, persisting every match in a journal
+	 * so that the series can be resumed if it is interrupted, for e.g. by the death of the JVM. 
+	 * 
+	 * Calling this again with the same teams, sport and journal resumes the series : the bracket 
+	 * is paired again exactly as before, and the matches found in the journal get their recorded 
+	 * winner without being played, so only the matches which were not persisted yet are played. 
+	 * The journal should not be shared by different series. Check @link MatchJournal for more details.
+	 * 
+	 * @param teams set of teams to play in the series
+	 * @param typeOfSport the type of sport to play
+	 * @param journal the file of the journal, created if it does not exist
+	 * 
+	 * @return Result The result of the match
+	 * @throws IllegalArgumentException In case unsupported match type is provided
+	 * @throws IOException In case the journal cannot be read or written
+	 * */
+	
+	public Result playWithJournal(int[] teams, int typeOfSport, Path journal) throws IllegalArgumentException, IOException{
+		checkSupportedSport(typeOfSport);
+		
+		MatchJournal previousJournal = mMatchJournal;
+		try(MatchJournal matchJournal = MatchJournal.open(journal)){
+			setMatchJournal(matchJournal);
+			return play(teams, typeOfSport);
+		}
+		catch(UncheckedIOException e){
+			throw e.getCause();
+		}
+		finally{
+			setMatchJournal(previousJournal);
+		}
+	}
+	
+	/**
+	 * Starts a series in which teams are provided one at a time, and matches are played 
+	 * as soon as possible, instead of all the teams being provided in an array.
+	 * Check @link TournamentSession for more details
+	 * 
+	 * @param typeOfSport the type of sport to play
+	 * @return TournamentSession the session to which the teams should be offered
+	 * @throws IllegalArgumentException In case unsupported match type is provided
+	 * */
+	
+	public TournamentSession newSession(int typeOfSport) throws IllegalArgumentException{
+		checkSupportedSport(typeOfSport);
+		return new TournamentSession(this, typeOfSport);
+	}
+	
+	/**
+	 * method to get a series played amongst a set of teams without waiting for it to finish.
+	 * All the matches of a round are in flight at the same time. 
+	 * Check @link AsyncTournamentEngine for more details
+	 * 
+	 * @param teams set of teams to play in the series
+	 * @param typeOfSport the type of sport to play
+	 * 
+	 * @return CompletableFuture The future result of the series. Cancelling it abandons the series
+	 * 			and no more matches are played.
+	 * @throws IllegalArgumentException In case unsupported match type is provided
+	 * */
+	
+	public CompletableFuture<Result> playAsync(int[] teams, int typeOfSport) throws IllegalArgumentException{
+		if((teams == null) || teams.length < 2){
+			return CompletableFuture.completedFuture(play(teams, typeOfSport));
+		}
+		checkSupportedSport(typeOfSport);
+		return getAsyncEngine().playAsync(teams, typeOfSport);
 	}
 	
 	/**
@@ -59,11 +620,11 @@ public class Olympics {
 	 * */
 	
 	public Result play(int[] teams, int typeOfSport) throws IllegalArgumentException{
-		if(MatchFactory.LIST_OF_SUPPORTED_SPORTS.get(typeOfSport -1) == null){
-			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_UNSUPPORTED_SPORT);
-		}
+		checkSupportedSport(typeOfSport);
 		
 		Result result = null;
+		OlympicsMetrics metrics = mMetrics;
+		long seriesStart = (metrics != null) ? System.nanoTime() : 0;
 		
 		if((teams == null) || teams.length == 0){
 			
@@ -87,144 +648,213 @@ public class Olympics {
 			Result.Winners winners = new Result.Winners(teams[0],Result.Winners.INVALID_VALUE);			 
 			result =  new Result(Result.RESULT_INADEQUATE_DATA_PROVIDED, winners);
 		}
-		else{
+		else if(mEngineMode != ENGINE_MODE_QUEUE){
 			
 			/**
-			 * There are 2 or more participating teams
+			 * There are 2 or more participating teams and another engine has been selected
 			 * */
 			
-			int overallWinner = Result.Winners.INVALID_VALUE;
-			int secondBestTeam = Result.Winners.INVALID_VALUE;
+			TournamentEngine engine = getEngine();
 			
-			/**
-			 * Stores the teams which still have to play in a queue.
+			/*
+			 * The async engine acquires a @link Match for every match it plays
 			 * */
 			
-			ArrayDeque<Integer> teamsToPlay = new ArrayDeque<Integer>();
+			Match match = (mEngineMode == ENGINE_MODE_ASYNC) ? null : acquireMatch(typeOfSport);
+			try{
+				engine.play(teams, 0, teams.length, match, typeOfSport, mWinners, 0);
+			}
+			finally{
+				if(match != null){
+					releaseMatch(typeOfSport, match);
+				}
+			}
 			
-			/**
-			 * Map which stores the list of teams defeated by a given team.
-			 * So, key = team id 
-			 *     values = list of teams defeated by team provided in the key.
-			 * */
+			Result.Winners winners = new Result.Winners(mWinners[0], mWinners[1]);
+			result = new Result(Result.RESULT_OK, winners);
+		}
+		else{
 			
-			Map<Integer,List<Integer>> teamsDefeatedByGivenTeam = new HashMap<>();
-						
 			/**
-			 * Stores if a winner has been declared
+			 * There are 2 or more participating teams
 			 * */
 			
-			boolean winnerDeclared = false;
-			
-			/*
-			 * Initialize the dequeue with the original list of teams
-			 * */		
-			
-			for(int i = 0; i < teams.length; i++){
-				teamsToPlay.add(new Integer(teams[i]));
-			}	
+			int overallWinner = Result.Winners.INVALID_VALUE;
+			int secondBestTeam = Result.Winners.INVALID_VALUE;
 			
+			/**
+			 * The @link Match object used for all the matches of the series
+			 * */
 			
-			while(teamsToPlay.size() >= 0){
-				/**
-				 * Only one team is left in the list of teams to play. This should either be
-				 * the winner or the second winner. 
-				 * */
-				if(teamsToPlay.size() == 1){
-					/**
-					 * If the winner has not yet been declared, this is definitely the winner
-					 * */
-					
-					if(!winnerDeclared){
-						winnerDeclared = true;
-						/**
-						 * We have decided that the remaining element in the queue is the winner.
-						 * We assign variables accordingly. so, overallWinner now holds the id of 
-						 * the winning team which is extracted from the queue by @link pollFirst
-						 * */
-						overallWinner = teamsToPlay.pollFirst();
-						
-						/**
-						 * We get the list of all teams which have been defeated by the winning team
-						 * These teams must now compete for the second position.
-						 * So, we add all of them to the queue of teams to play.
-						 * */
-						
-						List<Integer> teamsToCompeteForSecondPosition = teamsDefeatedByGivenTeam.get(overallWinner);
-						teamsToPlay.addAll(teamsToCompeteForSecondPosition);
-					}
-					
-					/**
-					 * If the winner has already been declared, this is the second winner.
-					 * */
-					else{
-						
-						/**
-						 * extract the team which we have identified as the second winner and assign appropriate 
-						 * variable. We use @link pollFirst because we know that now that is the only item left in the 
-						 * queue.
-						 * 
-						 * We exit from the loop now because there are no other teams left to play.
-						 * */
-						secondBestTeam = teamsToPlay.pollFirst();
-						break;
-					}		
-				}
+			Match match = acquireMatch(typeOfSport);
+			try{
 				
 				/**
-				 * Extract the first two teams which should play. We now know that the number 
-				 * of teams remaining to play is atleast 2 because of the condition above.
+				 * Stores the teams which still have to play in a queue.
 				 * */
 				
-				int team1 = teamsToPlay.pollFirst();
-				int team2 = teamsToPlay.pollFirst();				
+				ArrayDeque<Integer> teamsToPlay = new ArrayDeque<Integer>();
 				
 				/**
-				 * play the match and evaluate the winner and the loser of the match
-				 * 
+				 * Map which stores the list of teams defeated by a given team.
+				 * So, key = team id 
+				 *     values = list of teams defeated by team provided in the key.
 				 * */
 				
-				int winner = play(team1, team2, typeOfSport);
-				int loser = (winner == team1)? team2: team1;
-				
+				Map<Integer,List<Integer>> teamsDefeatedByGivenTeam = new HashMap<>();
+							
 				/**
-				 * Add the loser team to the list of teams defeated by the winner.
-				 * In case this winner becomes the overall winner, these defeated teams 
-				 * must compete against each other to claim the second position.
-				 * 
+				 * Stores if a winner has been declared
 				 * */
 				
-				List<Integer> teamsDefeatedByWinner = teamsDefeatedByGivenTeam.get(winner);
+				boolean winnerDeclared = false;
 				
-				if(teamsDefeatedByWinner == null){
-					teamsDefeatedByWinner = new ArrayList<>();				
-				}
+				/*
+				 * Initialize the dequeue with the original list of teams
+				 * */		
 				
-				teamsDefeatedByWinner.add(loser);
-				teamsDefeatedByGivenTeam.put(winner, teamsDefeatedByWinner);
+				for(int i = 0; i < teams.length; i++){
+					teamsToPlay.add(new Integer(teams[i]));
+				}	
 				
-				/**
-				 * Add the winning team at the end of the queue. This is because it might have to 
-				 * compete again. 
-				 * Once the current sequence of teams have competed against each other,
-				 * these winners must again compete against each other. These winners 
-				 * will again be pushed in the queue so that they compete again.
-				 * 
-				 * This will continue till there will be one team standing which is then declared 
-				 * the winner (or the second winner in case the defeated teams are pushed)
-				 * 
-				 * Since we push at the end of the queue, and the queue is polled for teams in 
-				 * sequence from the beginning, we ensure that winners only compete with other 
-				 * winners at the same level (or one element in the immediate previous level which
-				 * has not played a match in that level because there were odd number of teams)
+				/*
+				 * Start of the phase in which the second winner is found, if metrics are collected.
+				 * Every match takes two teams out of the queue and puts one back, and the teams 
+				 * competing for the second position were in the queue before, so the queue is 
+				 * deepest now and its depth is recorded only once.
 				 * */
 				
+				long runnerUpStart = 0;
+				int numOfCandidates = 0;
+				if(metrics != null){
+					metrics.recordQueueDepth(teamsToPlay.size());
+				}
+				
 				
-				teamsToPlay.addLast(winner);
-			}		
+				while(teamsToPlay.size() >= 0){
+					/**
+					 * Only one team is left in the list of teams to play. This should either be
+					 * the winner or the second winner. 
+					 * */
+					if(teamsToPlay.size() == 1){
+						/**
+						 * If the winner has not yet been declared, this is definitely the winner
+						 * */
+						
+						if(!winnerDeclared){
+							winnerDeclared = true;
+							/**
+							 * We have decided that the remaining element in the queue is the winner.
+							 * We assign variables accordingly. so, overallWinner now holds the id of 
+							 * the winning team which is extracted from the queue by @link pollFirst
+							 * */
+							overallWinner = teamsToPlay.pollFirst();
+							
+							/**
+							 * We get the list of all teams which have been defeated by the winning team
+							 * These teams must now compete for the second position.
+							 * So, we add all of them to the queue of teams to play.
+							 * */
+							
+							List<Integer> teamsToCompeteForSecondPosition = teamsDefeatedByGivenTeam.get(overallWinner);
+							teamsToPlay.addAll(teamsToCompeteForSecondPosition);
+							
+							if(metrics != null){
+								runnerUpStart = System.nanoTime();
+								numOfCandidates = teamsToCompeteForSecondPosition.size();
+							}
+							
+							/**
+							 * Start over so that the case where the winner has defeated only 
+							 * one team is handled above as well.
+							 * */
+							
+							continue;
+						}
+						
+						/**
+						 * If the winner has already been declared, this is the second winner.
+						 * */
+						else{
+							
+							/**
+							 * extract the team which we have identified as the second winner and assign appropriate 
+							 * variable. We use @link pollFirst because we know that now that is the only item left in the 
+							 * queue.
+							 * 
+							 * We exit from the loop now because there are no other teams left to play.
+							 * */
+							secondBestTeam = teamsToPlay.pollFirst();
+							if(metrics != null){
+								metrics.recordRunnerUp(numOfCandidates, System.nanoTime() - runnerUpStart);
+							}
+							break;
+						}		
+					}
+					
+					/**
+					 * Extract the first two teams which should play. We now know that the number 
+					 * of teams remaining to play is atleast 2 because of the condition above.
+					 * */
+					
+					int team1 = teamsToPlay.pollFirst();
+					int team2 = teamsToPlay.pollFirst();				
+					
+					/**
+					 * play the match and evaluate the winner and the loser of the match
+					 * 
+					 * */
+					
+					int winner = play(match, team1, team2, typeOfSport);
+					int loser = (winner == team1)? team2: team1;
+					
+					/**
+					 * Add the loser team to the list of teams defeated by the winner.
+					 * In case this winner becomes the overall winner, these defeated teams 
+					 * must compete against each other to claim the second position.
+					 * 
+					 * */
+					
+					List<Integer> teamsDefeatedByWinner = teamsDefeatedByGivenTeam.get(winner);
+					
+					if(teamsDefeatedByWinner == null){
+						teamsDefeatedByWinner = new ArrayList<>();				
+					}
+					
+					teamsDefeatedByWinner.add(loser);
+					teamsDefeatedByGivenTeam.put(winner, teamsDefeatedByWinner);
+					
+					/**
+					 * Add the winning team at the end of the queue. This is because it might have to 
+					 * compete again. 
+					 * Once the current sequence of teams have competed against each other,
+					 * these winners must again compete against each other. These winners 
+					 * will again be pushed in the queue so that they compete again.
+					 * 
+					 * This will continue till there will be one team standing which is then declared 
+					 * the winner (or the second winner in case the defeated teams are pushed)
+					 * 
+					 * Since we push at the end of the queue, and the queue is polled for teams in 
+					 * sequence from the beginning, we ensure that winners only compete with other 
+					 * winners at the same level (or one element in the immediate previous level which
+					 * has not played a match in that level because there were odd number of teams)
+					 * */
+					
+					
+					teamsToPlay.addLast(winner);
+				}		
+			}
+			finally{
+				releaseMatch(typeOfSport, match);
+			}
+			
 			Result.Winners winners = new Result.Winners(overallWinner, secondBestTeam);
 			result = new Result(Result.RESULT_OK, winners);
 		}
+		
+		if(metrics != null){
+			metrics.recordSeries(System.nanoTime() - seriesStart);
+		}
 		return result;
 		
 	}
@@ -232,38 +862,198 @@ public class Olympics {
 	/**
 	 * method to get a match of a particular type to be played between two teams.
 	 * 
+	 * @param match the @link Match object used to play the match
 	 * @param team1 the first team to play
 	 * @param team2 the second team to play
-	 * @param team3 the third team to play
+	 * @param typeOfSport the type of sport to play
 	 * 
 	 * @return int the winner of the match
 	 * 
 	 * */
 	
 	
-	private int play(int team1, int team2, int typeOfSport){
+	private int play(Match match, int team1, int team2, int typeOfSport){
 		/**
-		 * if there already exists a @link Match instance use it, else create a new one and 
-		 * use it to play the match.
-		 * 
 		 * Check @link Match and @link MatchFactory for more details
 		 * */
-				
-		Match match = mMatch;
-		if(match == null){
-			mMatch =  mMatches.get(typeOfSport);
-		}				
-				
-		if(match == null){			
-			match = MatchFactory.getMatchInstance(typeOfSport);
-		}		
+		
+		OlympicsMetrics metrics = mMetrics;
+		long start = (metrics != null) ? System.nanoTime() : 0;
+		
 		match.play(team1, team2, typeOfSport);
 		int winner = match.getWinner();
 		match.recycle();
 		
+		if(metrics != null){
+			metrics.recordMatch(System.nanoTime() - start);
+		}
 		return winner;
 	}
 	
+	/*
+	 * Throws an IllegalArgumentException in case the sport is not supported
+	 * */
+	
+	private void checkSupportedSport(int typeOfSport) throws IllegalArgumentException{
+		SportRegistry.checkSupported(typeOfSport);
+	}
+	
+	/*
+	 * Returns the engine for the currently selected engine mode
+	 * */
+	
+	private TournamentEngine getEngine(){
+		TournamentEngine engine = null;
+		switch(mEngineMode){
+		case ENGINE_MODE_TREE:
+			if(mTreeEngine == null){
+				mTreeEngine = new TreeTournamentEngine();
+			}
+			engine = mTreeEngine;
+			break;
+			
+		case ENGINE_MODE_PARALLEL:
+			if(mParallelEngine == null){
+				mParallelEngine = new ParallelTournamentEngine(this, ForkJoinPool.commonPool(), 
+						ParallelTournamentEngine.DEFAULT_MATCHES_PER_TASK);
+			}
+			engine = mParallelEngine;
+			break;
+			
+		case ENGINE_MODE_ASYNC:
+			engine = getAsyncEngine();
+			break;
+			
+		case ENGINE_MODE_PRIMITIVE:
+		default:
+			engine = getPrimitiveEngine();
+		}
+		return engine;
+	}
+	
+	private PrimitiveTournamentEngine getPrimitiveEngine(){
+		if(mPrimitiveEngine == null){
+			mPrimitiveEngine = new PrimitiveTournamentEngine();
+			mPrimitiveEngine.setMetrics(mMetrics);
+		}
+		return mPrimitiveEngine;
+	}
+	
+	private AsyncTournamentEngine getAsyncEngine(){
+		if(mAsyncEngine == null){
+			mAsyncEngine = new AsyncTournamentEngine(this, mAsyncExecutor, mMaxMatchesInFlight);
+		}
+		return mAsyncEngine;
+	}
+	
+	/*
+	 * Returns a @link Match object to be used for playing matches of the given sport.
+	 * Engines which play on several threads call this once per thread, so unless a 
+	 * @link Match has been specified by the user, every call returns a different object. 
+	 * Otherwise every call returns the same object, on which the engines synchronize.
+	 * 
+	 * Should be paired with a call to @link releaseMatch once the matches have been played.
+	 * */
+	
+	Match acquireMatch(int typeOfSport){
+		if(mMatch != null){
+			return mSharedMatch;
+		}
+		
+		Match match = (mMatchPool != null) ? mMatchPool.borrowMatch() : MatchFactory.borrowMatchInstance(typeOfSport);
+		MatchPool cachingMatches = mCachingMatches;
+		if(cachingMatches != null){
+			CachingMatch caching = (CachingMatch) cachingMatches.borrowMatch();
+			caching.setDelegate(match);
+			match = caching;
+		}
+		
+		MatchPool journalingMatches = mJournalingMatches;
+		if(journalingMatches != null){
+			JournalingMatch journaling = (JournalingMatch) journalingMatches.borrowMatch();
+			journaling.setDelegate(match);
+			match = journaling;
+		}
+		
+		MatchPool loggingMatches = mLoggingMatches;
+		if(loggingMatches != null){
+			LoggingMatch logging = (LoggingMatch) loggingMatches.borrowMatch();
+			logging.setDelegate(match);
+			match = logging;
+		}
+		return match;
+	}
+	
+	/*
+	 * Hands back a @link Match object obtained from @link acquireMatch. The decorators are 
+	 * unwrapped in the reverse order of @link acquireMatch whether or not the cache, the journal 
+	 * or the log is still set, so that only the objects of the pools go back to the pools. 
+	 * A decorator is only reused if the cache, journal or log it wraps is still the current one. 
+	 * The decorators of a @link Match specified by the user are not pooled.
+	 * */
+	
+	void releaseMatch(int typeOfSport, Match match){
+		if(mMatch != null){
+			return;
+		}
+		if(match instanceof LoggingMatch){
+			LoggingMatch logging = (LoggingMatch) match;
+			match = logging.getDelegate();
+			logging.setDelegate(null);
+			releaseDecorator(mLoggingMatches, logging, logging.getLog() == mMatchLog);
+		}
+		if(match instanceof JournalingMatch){
+			JournalingMatch journaling = (JournalingMatch) match;
+			match = journaling.getDelegate();
+			journaling.setDelegate(null);
+			releaseDecorator(mJournalingMatches, journaling, journaling.getJournal() == mMatchJournal);
+		}
+		if(match instanceof CachingMatch){
+			CachingMatch caching = (CachingMatch) match;
+			match = caching.getDelegate();
+			caching.setDelegate(null);
+			releaseDecorator(mCachingMatches, caching, caching.getCache() == mResultCache);
+		}
+		if(mMatchPool != null){
+			mMatchPool.returnMatch(match);
+		}
+		else{
+			MatchFactory.returnMatchInstance(typeOfSport, match);
+		}
+	}
+	
+	/*
+	 * Wraps the @link Match specified by the user in the decorators of the current cache, 
+	 * journal and log, in the same order as @link acquireMatch
+	 * */
+	
+	private void updateSharedMatch(){
+		if(mMatch == null){
+			return;
+		}
+		Match match = mMatch;
+		if(mResultCache != null){
+			match = new CachingMatch(match, mResultCache);
+		}
+		if(mMatchJournal != null){
+			match = new JournalingMatch(match, mMatchJournal);
+		}
+		if(mMatchLog != null){
+			match = new LoggingMatch(match, mMatchLog);
+		}
+		mSharedMatch = match;
+	}
+	
+	private static void releaseDecorator(MatchPool pool, Match decorator, boolean current){
+		if(pool != null && current){
+			pool.returnMatch(decorator);
+		}
+	}
+	
+	private static MatchPool newDecoratorPool(Supplier<? extends Match> factory){
+		return new MatchPool(0, Math.max(4, 2 * Runtime.getRuntime().availableProcessors()), factory);
+	}
+	
 	/**
 	 * nested class holding the result of the current match series
 	 * 
@@ -333,7 +1123,7 @@ public class Olympics {
 				
 			case RESULT_OK:
 				desc = Constants.RESULT_OK_DESC;
-				desc.concat("  winner = "+mResult.mFirstWinner + "  second winner = "+mResult.mSecondWinner);
+				desc = desc.concat("  winner = "+mResult.mFirstWinner + "  second winner = "+mResult.mSecondWinner);
 				break;
 				
 			}			
@@ -382,5 +1172,30 @@ public class Olympics {
 			}
 		}
 	}	
+	
+	/**
+	 * nested class holding the result of @link playTopK. The first and second winners are 
+	 * the first two teams of the ranking, or INVALID_VALUE if there are not enough teams.
+	 * 
+	 * @author SriparnaChakraborty
+	 * */
+	
+	public static class RankedResult extends Result{
+		
+		/*
+		 * The best teams, best first. This array should not be modified.
+		 * 
+		 * public field because : accessing it does not lead to increase in function calls being made
+		 * */
+		
+		public final int[] mRanking;
+		
+		public RankedResult(int errorCode, int[] ranking){
+			super(errorCode, new Winners(
+					(ranking.length > 0) ? ranking[0] : Winners.INVALID_VALUE, 
+					(ranking.length > 1) ? ranking[1] : Winners.INVALID_VALUE));
+			mRanking = ranking;
+		}
+	}
 
 }
@@ -0,0 +1,320 @@
+package org.sriparna.secondbest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects counters and latency histograms describing how series are played, so that the time
+ * spent inside @link Match can be told apart from the time spent on bookkeeping.
+ *
+ * Metrics are only collected once an object of this class is handed to @link Olympics#setMetrics
+ * or @link MatchFactory#setMetrics. Until then the only cost is a null check per round or per match.
+ * The same object can be shared by several @link Olympics objects and threads : counters are
+ * LongAdder objects, which spread updates from different threads over several cells.
+ *
+ * Subclasses can override the record methods to forward the values elsewhere, for e.g. to a
+ * monitoring system. @link snapshot returns a copy which can be exported. Its counters are read
+ * one after the other, so they can be off by the series in progress. Check @link Snapshot.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class OlympicsMetrics {
+
+	private final LongAdder mSeriesPlayed = new LongAdder();
+	private final LongAdder mMatchesPlayed = new LongAdder();
+	private final LongAdder mRoundsPlayed = new LongAdder();
+	private final LongAdder mRunnerUpMatches = new LongAdder();
+	private final LongAdder mMatchInstancesCreated = new LongAdder();
+	private final LongAccumulator mMaxQueueDepth = new LongAccumulator(Math::max, 0);
+
+	/*
+	 * Total time spent in series and inside @link Match, in nano seconds
+	 * */
+
+	private final LongAdder mSeriesNanos = new LongAdder();
+	private final LongAdder mMatchNanos = new LongAdder();
+
+	private final Histogram mSeriesLatency = new Histogram();
+	private final Histogram mMatchLatency = new Histogram();
+	private final Histogram mRunnerUpLatency = new Histogram();
+	private final Histogram mDefeatedListSizes = new Histogram();
+
+	/**
+	 * Records a series played, from the validation of its input to its result
+	 *
+	 * @param nanos the time taken by the series in nano seconds
+	 * @return nothing
+	 * */
+
+	public void recordSeries(long nanos){
+		mSeriesPlayed.increment();
+		mSeriesNanos.add(nanos);
+		mSeriesLatency.record(nanos, 1);
+	}
+
+	/**
+	 * Records a single match played
+	 *
+	 * @param nanos the time spent inside @link Match in nano seconds
+	 * @return nothing
+	 * */
+
+	public void recordMatch(long nanos){
+		mMatchesPlayed.increment();
+		mMatchNanos.add(nanos);
+		mMatchLatency.record(nanos, 1);
+	}
+
+	/**
+	 * Records a round of matches played together, with @link Match#playRound or concurrently.
+	 * Every match is counted in the latency histogram with the average time of the round.
+	 *
+	 * @param numOfMatches the number of matches of the round
+	 * @param queueDepth the number of teams waiting to play when the round started
+	 * @param nanos the time spent inside @link Match in nano seconds
+	 * @return nothing
+	 * */
+
+	public void recordRound(int numOfMatches, int queueDepth, long nanos){
+		mRoundsPlayed.increment();
+		mMatchesPlayed.add(numOfMatches);
+		mMatchNanos.add(nanos);
+		mMatchLatency.record(nanos / numOfMatches, numOfMatches);
+		recordQueueDepth(queueDepth);
+	}
+
+	/**
+	 * Records the number of teams waiting to play
+	 *
+	 * @param queueDepth the number of teams waiting to play
+	 * @return nothing
+	 * */
+
+	public void recordQueueDepth(int queueDepth){
+		mMaxQueueDepth.accumulate(queueDepth);
+	}
+
+	/**
+	 * Records the phase in which the teams defeated by the overall winner compete for the second position
+	 *
+	 * @param numOfCandidates the number of teams defeated by the overall winner
+	 * @param nanos the time taken by the phase in nano seconds
+	 * @return nothing
+	 * */
+
+	public void recordRunnerUp(int numOfCandidates, long nanos){
+		mRunnerUpMatches.add(numOfCandidates - 1);
+		mRunnerUpLatency.record(nanos, 1);
+		mDefeatedListSizes.record(numOfCandidates, 1);
+	}
+
+	/**
+	 * Records a @link Match object created by @link MatchFactory
+	 *
+	 * @return nothing
+	 * */
+
+	public void recordMatchInstanceCreated(){
+		mMatchInstancesCreated.increment();
+	}
+
+	/**
+	 * @return Snapshot a copy of the metrics collected so far
+	 * */
+
+	public Snapshot snapshot(){
+		return new Snapshot(this);
+	}
+
+	/**
+	 * A histogram of non negative values with a bounded relative error, in the manner of HdrHistogram.
+	 * Values below 2^SUB_BUCKET_BITS have a bucket each. Every larger power of 2 is split into
+	 * 2^SUB_BUCKET_BITS buckets, so a value is known within about 3 percent.
+	 *
+	 * Buckets are updated atomically, so a histogram can be shared between threads.
+	 * */
+
+	public static class Histogram {
+
+		private static final int SUB_BUCKET_BITS = 5;
+		private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+		/*
+		 * The largest long has its highest bit at position 62
+		 * */
+
+		private static final int NUM_OF_BUCKETS = SUB_BUCKETS + (62 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+		private final AtomicLongArray mCounts = new AtomicLongArray(NUM_OF_BUCKETS);
+		private final LongAdder mCount = new LongAdder();
+		private final LongAccumulator mMax = new LongAccumulator(Math::max, 0);
+
+		/**
+		 * Records a value
+		 *
+		 * @param value the value to record. Negative values are recorded as 0.
+		 * @param count the number of times the value is recorded
+		 * @return nothing
+		 * */
+
+		public void record(long value, long count){
+			value = Math.max(value, 0);
+			mCounts.addAndGet(bucket(value), count);
+			mCount.add(count);
+			mMax.accumulate(value);
+		}
+
+		/**
+		 * @return HistogramSnapshot a copy of the values recorded so far
+		 * */
+
+		public HistogramSnapshot snapshot(){
+			long[] counts = new long[NUM_OF_BUCKETS];
+			long count = 0;
+			for(int i = 0; i < NUM_OF_BUCKETS; i++){
+				counts[i] = mCounts.get(i);
+				count += counts[i];
+			}
+			return new HistogramSnapshot(counts, count, mMax.get());
+		}
+
+		static int bucket(long value){
+			if(value < SUB_BUCKETS){
+				return (int) value;
+			}
+			int highestBit = 63 - Long.numberOfLeadingZeros(value);
+			int shift = highestBit - SUB_BUCKET_BITS;
+			int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+			return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+		}
+
+		static long lowestValue(int bucket){
+			if(bucket < SUB_BUCKETS){
+				return bucket;
+			}
+			int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+			int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+			return (long) (SUB_BUCKETS + subBucket) << shift;
+		}
+	}
+
+	/**
+	 * A copy of the values recorded by a @link Histogram
+	 * */
+
+	public static class HistogramSnapshot {
+
+		/*
+		 * public fields because : they are final, so cannot be modified and accessing them does not
+		 * lead to increase in function calls being made
+		 * */
+
+		public final long mCount;
+		public final long mMax;
+
+		private final long[] mCounts;
+
+		HistogramSnapshot(long[] counts, long count, long max){
+			mCounts = counts;
+			mCount = count;
+			mMax = max;
+		}
+
+		/**
+		 * @param percentile the percentile, from 0 to 100
+		 * @return long the lowest value of the bucket holding the given percentile, or 0 if nothing was recorded
+		 * */
+
+		public long getValueAtPercentile(double percentile){
+			long rank = (long) Math.ceil(Math.min(percentile, 100) / 100 * mCount);
+			long seen = 0;
+			for(int i = 0; i < mCounts.length; i++){
+				seen += mCounts[i];
+				if(seen >= Math.max(rank, 1)){
+					return Math.min(Histogram.lowestValue(i), mMax);
+				}
+			}
+			return 0;
+		}
+
+		@Override
+		public String toString(){
+			return "count=" + mCount + " p50=" + getValueAtPercentile(50) + " p90=" + getValueAtPercentile(90)
+					+ " p99=" + getValueAtPercentile(99) + " p99.9=" + getValueAtPercentile(99.9) + " max=" + mMax;
+		}
+	}
+
+	/**
+	 * nested class holding a copy of the metrics. Counters are read one after the other while series
+	 * may still be played, so they can be off by the series in progress.
+	 *
+	 * @author SriparnaChakraborty
+	 * */
+
+	public static class Snapshot {
+
+		/*
+		 * public fields because : they are final, so cannot be modified and accessing them does not
+		 * lead to increase in function calls being made
+		 * */
+
+		public final long mSeriesPlayed;
+		public final long mMatchesPlayed;
+		public final long mRoundsPlayed;
+		public final long mRunnerUpMatches;
+		public final long mMatchInstancesCreated;
+		public final long mMaxQueueDepth;
+
+		/*
+		 * Time spent in series, inside @link Match and on everything else, in nano seconds
+		 * */
+
+		public final long mSeriesNanos;
+		public final long mMatchNanos;
+		public final long mBookkeepingNanos;
+
+		public final HistogramSnapshot mSeriesLatency;
+		public final HistogramSnapshot mMatchLatency;
+		public final HistogramSnapshot mRunnerUpLatency;
+		public final HistogramSnapshot mDefeatedListSizes;
+
+		Snapshot(OlympicsMetrics metrics){
+			mSeriesPlayed = metrics.mSeriesPlayed.sum();
+			mMatchesPlayed = metrics.mMatchesPlayed.sum();
+			mRoundsPlayed = metrics.mRoundsPlayed.sum();
+			mRunnerUpMatches = metrics.mRunnerUpMatches.sum();
+			mMatchInstancesCreated = metrics.mMatchInstancesCreated.sum();
+			mMaxQueueDepth = metrics.mMaxQueueDepth.get();
+			mSeriesNanos = metrics.mSeriesNanos.sum();
+			mMatchNanos = metrics.mMatchNanos.sum();
+			mBookkeepingNanos = Math.max(0, mSeriesNanos - mMatchNanos);
+			mSeriesLatency = metrics.mSeriesLatency.snapshot();
+			mMatchLatency = metrics.mMatchLatency.snapshot();
+			mRunnerUpLatency = metrics.mRunnerUpLatency.snapshot();
+			mDefeatedListSizes = metrics.mDefeatedListSizes.snapshot();
+		}
+
+		/**
+		 * Describes the metrics with one name=value line per metric
+		 * */
+
+		@Override
+		public String toString(){
+			return "series.played=" + mSeriesPlayed
+					+ "\nmatches.played=" + mMatchesPlayed
+					+ "\nrounds.played=" + mRoundsPlayed
+					+ "\nrunnerup.matches=" + mRunnerUpMatches
+					+ "\nmatch.instances.created=" + mMatchInstancesCreated
+					+ "\nqueue.depth.max=" + mMaxQueueDepth
+					+ "\nseries.nanos=" + mSeriesNanos
+					+ "\nmatch.nanos=" + mMatchNanos
+					+ "\nbookkeeping.nanos=" + mBookkeepingNanos
+					+ "\nseries.latency.nanos=" + mSeriesLatency
+					+ "\nmatch.latency.nanos=" + mMatchLatency
+					+ "\nrunnerup.latency.nanos=" + mRunnerUpLatency
+					+ "\ndefeated.list.size=" + mDefeatedListSizes;
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package org.sriparna.secondbest;
+
+/**
+ * A strategy in which the winner is decided by a hash of the two teams, the type of match and a seed.
+ * The same two teams always give the same winner, whatever their order, but the outcomes are not
+ * consistent with any ranking of the teams, so series get a realistic variety of shapes.
+ * Every team wins about half of its matches. Runs with the same seed are reproducible.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class PairHashOutcomeStrategy implements MatchOutcomeStrategy {
+
+	private final long mSeed;
+
+	/**
+	 * @param seed the seed mixed in the hash. Different seeds give different outcomes.
+	 * */
+
+	public PairHashOutcomeStrategy(long seed){
+		mSeed = seed;
+	}
+
+	@Override
+	public int decideWinner(int team1, int team2, int matchType){
+		int low = Math.min(team1, team2);
+		int high = Math.max(team1, team2);
+		long hash = mix(mSeed ^ (((long) low << 32) | (high & 0xFFFFFFFFL)));
+		hash = mix(hash ^ matchType);
+		return (hash < 0) ? low : high;
+	}
+
+	@Override
+	public boolean isDeterministic(){
+		return true;
+	}
+
+	/*
+	 * Finalizer of SplitMix64, which spreads every bit of the input over the output
+	 * */
+
+	static long mix(long value){
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+		return value ^ (value >>> 31);
+	}
+}
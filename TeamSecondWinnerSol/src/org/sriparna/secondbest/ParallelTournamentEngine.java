@@ -0,0 +1,248 @@
+package org.sriparna.secondbest;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An engine which plays the matches of every round of the series concurrently in a @link ForkJoinPool.
+ *
+ * The queue based series of @link Olympics can be seen as a sequence of rounds. If a round starts with
+ * s teams in the queue, the first s / 2 pairs play against each other and, if s is odd, the last team
+ * waits and plays the winner of the first pair of the next round. The matches of a round are independent
+ * of each other, so a round is split into sub-brackets of consecutive pairs which are played in parallel.
+ * Since the teams are paired exactly as in the queue, the winners are the same as with the sequential
+ * engines whenever the outcome of a match depends only on the teams playing it.
+ *
+ * Every sub-bracket is played with a single call to @link Match#playRound. The rounds are recorded
+ * in the metrics of @link Olympics as a whole, with the time taken by all their sub-brackets.
+ *
+ * Every sub-bracket gets its own @link Match object from @link Olympics, since a @link Match holds state
+ * and is not safe to share between threads. A @link Match provided by the user via
+ * @link Olympics#Olympics(Match) is shared, together with the decorators @link Olympics wraps around it
+ * for the cache, the journal and the log, so its use is serialized.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+class ParallelTournamentEngine extends TournamentEngine {
+
+	/*
+	 * Rounds with fewer matches than this are not split any further
+	 * */
+
+	static final int DEFAULT_MATCHES_PER_TASK = 512;
+
+	private final Olympics mOlympics;
+	private final ForkJoinPool mPool;
+	private final int mMatchesPerTask;
+
+	/*
+	 * Positions of the teams playing in the current round and of the teams which play in the next round
+	 * */
+
+	private int[] mCurrentRound = new int[0];
+	private int[] mNextRound = new int[0];
+
+	/*
+	 * Lists of defeated teams. Check @link PrimitiveTournamentEngine for details.
+	 * In a round every team plays at most once, so the lists of different winners can be
+	 * updated concurrently.
+	 * */
+
+	private int[] mDefeatedHead = new int[0];
+	private int[] mDefeatedTail = new int[0];
+	private int[] mNextDefeated = new int[0];
+
+	/*
+	 * Ids of the teams playing the matches of the current round, and the winners.
+	 * Sub-brackets use disjoint ranges of these arrays.
+	 * */
+
+	private int[] mLeftTeams = new int[0];
+	private int[] mRightTeams = new int[0];
+	private int[] mWinnerTeams = new int[0];
+
+	ParallelTournamentEngine(Olympics olympics, ForkJoinPool pool, int matchesPerTask){
+		mOlympics = olympics;
+		mPool = pool;
+		mMatchesPerTask = matchesPerTask;
+	}
+
+	@Override
+	void play(int[] teams, int offset, int length, Match match, int typeOfSport,
+			int[] winnersOut, int outOffset){
+
+		ensureCapacity(length);
+		Arrays.fill(mDefeatedHead, 0, length, INDEX_NONE);
+		Arrays.fill(mDefeatedTail, 0, length, INDEX_NONE);
+
+		for(int i = 0; i < length; i++){
+			mCurrentRound[i] = i;
+		}
+
+		int overallWinner = playRounds(teams, offset, length, match, typeOfSport, true);
+
+		/*
+		 * The teams defeated by the overall winner compete for the second position
+		 * */
+
+		int numOfCandidates = 0;
+		for(int defeated = mDefeatedHead[overallWinner]; defeated != INDEX_NONE;
+				defeated = mNextDefeated[defeated]){
+			mCurrentRound[numOfCandidates++] = defeated;
+		}
+
+		int secondWinner;
+		OlympicsMetrics metrics = mOlympics.getMetrics();
+		if(metrics == null){
+			secondWinner = playRounds(teams, offset, numOfCandidates, match, typeOfSport, false);
+		}
+		else{
+			long start = System.nanoTime();
+			secondWinner = playRounds(teams, offset, numOfCandidates, match, typeOfSport, false);
+			metrics.recordRunnerUp(numOfCandidates, System.nanoTime() - start);
+		}
+
+		winnersOut[outOffset] = teams[offset + overallWinner];
+		winnersOut[outOffset + 1] = teams[offset + secondWinner];
+	}
+
+	/*
+	 * Plays rounds starting with the given number of teams in mCurrentRound till one team is left,
+	 * and returns the position of that team.
+	 * */
+
+	private int playRounds(int[] teams, int offset, int numOfTeams, Match match, int typeOfSport,
+			boolean recordDefeated){
+
+		OlympicsMetrics metrics = mOlympics.getMetrics();
+		while(numOfTeams > 1){
+			int numOfMatches = numOfTeams / 2;
+			int odd = numOfTeams % 2;
+
+			/*
+			 * The team which does not get to play in this round is the first to play in the next round.
+			 * */
+
+			if(odd == 1){
+				mNextRound[0] = mCurrentRound[numOfTeams - 1];
+			}
+
+			long start = (metrics != null) ? System.nanoTime() : 0;
+			if(numOfMatches <= mMatchesPerTask){
+				playMatches(teams, offset, 0, numOfMatches, odd, match, typeOfSport, recordDefeated);
+			}
+			else{
+				mPool.invoke(new RoundTask(teams, offset, 0, numOfMatches, odd, typeOfSport, recordDefeated));
+			}
+			if(metrics != null){
+				metrics.recordRound(numOfMatches, numOfTeams, System.nanoTime() - start);
+			}
+
+			int[] temp = mCurrentRound;
+			mCurrentRound = mNextRound;
+			mNextRound = temp;
+			numOfTeams = numOfMatches + odd;
+		}
+		return mCurrentRound[0];
+	}
+
+	/*
+	 * Plays the matches from ... to - 1 of the current round and stores the winners in the next round
+	 * */
+
+	private void playMatches(int[] teams, int offset, int from, int to, int odd, Match match,
+			int typeOfSport, boolean recordDefeated){
+
+		for(int i = from; i < to; i++){
+			mLeftTeams[i] = teams[offset + mCurrentRound[2 * i]];
+			mRightTeams[i] = teams[offset + mCurrentRound[2 * i + 1]];
+		}
+
+		synchronized(match){
+			match.playRound(mLeftTeams, mRightTeams, mWinnerTeams, from, to - from, typeOfSport);
+		}
+
+		for(int i = from; i < to; i++){
+			int first = mCurrentRound[2 * i];
+			int second = mCurrentRound[2 * i + 1];
+			int winner = (mWinnerTeams[i] == mLeftTeams[i]) ? first : second;
+
+			if(recordDefeated){
+				addDefeated(winner, (winner == first) ? second : first);
+			}
+			mNextRound[odd + i] = winner;
+		}
+	}
+
+	private void addDefeated(int winner, int loser){
+		mNextDefeated[loser] = INDEX_NONE;
+		int tail = mDefeatedTail[winner];
+		if(tail == INDEX_NONE){
+			mDefeatedHead[winner] = loser;
+		}
+		else{
+			mNextDefeated[tail] = loser;
+		}
+		mDefeatedTail[winner] = loser;
+	}
+
+	private void ensureCapacity(int length){
+		if(mCurrentRound.length < length){
+			mCurrentRound = new int[length];
+			mNextRound = new int[length];
+			mDefeatedHead = new int[length];
+			mDefeatedTail = new int[length];
+			mNextDefeated = new int[length];
+			mLeftTeams = new int[length / 2];
+			mRightTeams = new int[length / 2];
+			mWinnerTeams = new int[length / 2];
+		}
+	}
+
+	/**
+	 * Task playing a sub-bracket of consecutive matches of a round
+	 * */
+
+	private class RoundTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] mTeams;
+		private final int mOffset;
+		private final int mFrom;
+		private final int mTo;
+		private final int mOdd;
+		private final int mTypeOfSport;
+		private final boolean mRecordDefeated;
+
+		RoundTask(int[] teams, int offset, int from, int to, int odd, int typeOfSport, boolean recordDefeated){
+			mTeams = teams;
+			mOffset = offset;
+			mFrom = from;
+			mTo = to;
+			mOdd = odd;
+			mTypeOfSport = typeOfSport;
+			mRecordDefeated = recordDefeated;
+		}
+
+		@Override
+		protected void compute(){
+			if(mTo - mFrom <= mMatchesPerTask){
+				Match match = mOlympics.acquireMatch(mTypeOfSport);
+				try{
+					playMatches(mTeams, mOffset, mFrom, mTo, mOdd, match, mTypeOfSport, mRecordDefeated);
+				}
+				finally{
+					mOlympics.releaseMatch(mTypeOfSport, match);
+				}
+			}
+			else{
+				int middle = (mFrom + mTo) >>> 1;
+				invokeAll(new RoundTask(mTeams, mOffset, mFrom, middle, mOdd, mTypeOfSport, mRecordDefeated),
+						new RoundTask(mTeams, mOffset, middle, mTo, mOdd, mTypeOfSport, mRecordDefeated));
+			}
+		}
+	}
+}
@@ -0,0 +1,212 @@
+package org.sriparna.secondbest;
+
+import java.util.Arrays;
+
+/**
+ * An engine which plays exactly the same sequence of matches as the queue based
+ * implementation in @link Olympics, but keeps all its state in int arrays.
+ *
+ * Teams are referred to by their position in the input array rather than by their id, so
+ *  1. the queue of teams still to play is a ring buffer of positions
+ *  2. the list of teams defeated by a given team is a linked list threaded through
+ *     the arrays mDefeatedHead, mDefeatedTail and mNextDefeated. Every team is defeated
+ *     only once in the main series, so one "next" slot per team is enough.
+ *
+ * Matches are played a round at a time using @link Match#playRound. If the queue holds s teams,
+ * the first s / 2 pairs are independent of each other and are polled and played together. Their
+ * winners are added to the queue in order, so the teams are paired exactly as when playing one
+ * match at a time.
+ *
+ * The arrays are scratch buffers which are grown when required and reused across calls,
+ * so once warmed up no object is allocated per match.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+class PrimitiveTournamentEngine extends TournamentEngine {
+
+	/*
+	 * Ring buffer holding positions of the teams which still have to play
+	 * */
+
+	private int[] mQueue = new int[0];
+	private int mQueueHead = 0;
+	private int mQueueTail = 0;
+	private int mQueueSize = 0;
+	private int mQueueCapacity = 0;
+
+	/*
+	 * For a given position, the first and the last position in the list of teams defeated by it
+	 * */
+
+	private int[] mDefeatedHead = new int[0];
+	private int[] mDefeatedTail = new int[0];
+
+	/*
+	 * For a given position, the next position in the defeated list it is part of
+	 * */
+
+	private int[] mNextDefeated = new int[0];
+
+	/*
+	 * Positions and ids of the teams playing the matches of the current round, and the winners
+	 * */
+
+	private int[] mLeft = new int[0];
+	private int[] mRight = new int[0];
+	private int[] mLeftTeams = new int[0];
+	private int[] mRightTeams = new int[0];
+	private int[] mWinnerTeams = new int[0];
+
+	/*
+	 * Metrics of the rounds played, or null if not collected
+	 * */
+
+	private OlympicsMetrics mMetrics = null;
+
+	void setMetrics(OlympicsMetrics metrics){
+		mMetrics = metrics;
+	}
+
+	@Override
+	void play(int[] teams, int offset, int length, Match match, int typeOfSport,
+			int[] winnersOut, int outOffset){
+
+		ensureCapacity(length);
+		Arrays.fill(mDefeatedHead, 0, length, INDEX_NONE);
+		Arrays.fill(mDefeatedTail, 0, length, INDEX_NONE);
+
+		/*
+		 * Initialize the queue with the positions of all the teams. The queue can never
+		 * hold more than length entries since every match removes two teams and adds one.
+		 * */
+
+		mQueueCapacity = length;
+		mQueueHead = 0;
+		mQueueTail = 0;
+		mQueueSize = 0;
+		for(int i = 0; i < length; i++){
+			offer(i);
+		}
+
+		/*
+		 * Main series. Record the defeated teams since they are required to find
+		 * the second winner.
+		 * */
+
+		playRounds(teams, offset, match, typeOfSport, true);
+
+		int overallWinner = poll();
+
+		/*
+		 * The teams defeated by the overall winner compete for the second position.
+		 * Their own defeated lists are of no use anymore, so nothing is recorded here.
+		 * */
+
+		for(int defeated = mDefeatedHead[overallWinner]; defeated != INDEX_NONE;
+				defeated = mNextDefeated[defeated]){
+			offer(defeated);
+		}
+
+		if(mMetrics == null){
+			playRounds(teams, offset, match, typeOfSport, false);
+		}
+		else{
+			int numOfCandidates = mQueueSize;
+			long start = System.nanoTime();
+			playRounds(teams, offset, match, typeOfSport, false);
+			mMetrics.recordRunnerUp(numOfCandidates, System.nanoTime() - start);
+		}
+
+		winnersOut[outOffset] = teams[offset + overallWinner];
+		winnersOut[outOffset + 1] = teams[offset + poll()];
+	}
+
+	/*
+	 * Plays rounds till only one team is left in the queue
+	 * */
+
+	private void playRounds(int[] teams, int offset, Match match, int typeOfSport, boolean recordDefeated){
+		while(mQueueSize > 1){
+			int numOfMatches = mQueueSize / 2;
+			int queueDepth = mQueueSize;
+			for(int i = 0; i < numOfMatches; i++){
+				int first = poll();
+				int second = poll();
+				mLeft[i] = first;
+				mRight[i] = second;
+				mLeftTeams[i] = teams[offset + first];
+				mRightTeams[i] = teams[offset + second];
+			}
+
+			if(mMetrics == null){
+				match.playRound(mLeftTeams, mRightTeams, mWinnerTeams, 0, numOfMatches, typeOfSport);
+			}
+			else{
+				long start = System.nanoTime();
+				match.playRound(mLeftTeams, mRightTeams, mWinnerTeams, 0, numOfMatches, typeOfSport);
+				mMetrics.recordRound(numOfMatches, queueDepth, System.nanoTime() - start);
+			}
+
+			for(int i = 0; i < numOfMatches; i++){
+				int winner;
+				int loser;
+				if(mWinnerTeams[i] == mLeftTeams[i]){
+					winner = mLeft[i];
+					loser = mRight[i];
+				}
+				else{
+					winner = mRight[i];
+					loser = mLeft[i];
+				}
+				if(recordDefeated){
+					addDefeated(winner, loser);
+				}
+				offer(winner);
+			}
+		}
+	}
+
+	private void addDefeated(int winner, int loser){
+		mNextDefeated[loser] = INDEX_NONE;
+		int tail = mDefeatedTail[winner];
+		if(tail == INDEX_NONE){
+			mDefeatedHead[winner] = loser;
+		}
+		else{
+			mNextDefeated[tail] = loser;
+		}
+		mDefeatedTail[winner] = loser;
+	}
+
+	private void offer(int position){
+		mQueue[mQueueTail] = position;
+		mQueueTail = (mQueueTail + 1 == mQueueCapacity) ? 0 : mQueueTail + 1;
+		mQueueSize++;
+	}
+
+	private int poll(){
+		int position = mQueue[mQueueHead];
+		mQueueHead = (mQueueHead + 1 == mQueueCapacity) ? 0 : mQueueHead + 1;
+		mQueueSize--;
+		return position;
+	}
+
+	/*
+	 * Grows the scratch buffers so that they can hold the given number of teams
+	 * */
+
+	private void ensureCapacity(int length){
+		if(mQueue.length < length){
+			mQueue = new int[length];
+			mDefeatedHead = new int[length];
+			mDefeatedTail = new int[length];
+			mNextDefeated = new int[length];
+			mLeft = new int[length / 2];
+			mRight = new int[length / 2];
+			mLeftTeams = new int[length / 2];
+			mRightTeams = new int[length / 2];
+			mWinnerTeams = new int[length / 2];
+		}
+	}
+}
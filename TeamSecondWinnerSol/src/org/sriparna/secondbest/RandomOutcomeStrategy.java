@@ -0,0 +1,46 @@
+package org.sriparna.secondbest;
+
+import java.util.SplittableRandom;
+
+/**
+ * A strategy in which each team wins with the same probability.
+ *
+ * Unlike Math.random, which makes every thread update the same generator, every thread draws from
+ * its own SplittableRandom, so threads never contend. The generators of the threads are split from
+ * a single generator created with the given seed, so a run on a single thread is reproducible.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class RandomOutcomeStrategy implements MatchOutcomeStrategy {
+
+	private final SplittableRandom mRoot;
+
+	private final ThreadLocal<SplittableRandom> mRandoms = ThreadLocal.withInitial(this::split);
+
+	/**
+	 * @param seed the seed of the generators
+	 * */
+
+	public RandomOutcomeStrategy(long seed){
+		mRoot = new SplittableRandom(seed);
+	}
+
+	@Override
+	public int decideWinner(int team1, int team2, int matchType){
+		return mRandoms.get().nextBoolean() ? team1 : team2;
+	}
+
+	@Override
+	public boolean isDeterministic(){
+		return false;
+	}
+
+	/*
+	 * SplittableRandom is not thread safe, so the root generator is split by one thread at a time
+	 * */
+
+	private synchronized SplittableRandom split(){
+		return mRoot.split();
+	}
+}
@@ -0,0 +1,148 @@
+package org.sriparna.secondbest;
+
+/**
+ * A @link Match whose winner is decided from the ratings of the two teams, the way Elo ratings work :
+ * a team rated d points above its opponent wins with probability 1 / (1 + 10 ^ (- d / scale)). Teams with
+ * the same rating have the same chance, and the larger the scale of a sport the more upsets it has.
+ * Check @link RatingTable for the ratings.
+ *
+ * The draw deciding a match is a hash of the two teams, the type of match and a seed rather than a random
+ * number, so the same teams with the same ratings always give the same winner and runs are reproducible.
+ * Different seeds give different draws.
+ *
+ * @link playRound scores a whole round in a few simple loops over primitive arrays : looking up the
+ * ratings, computing the odds and drawing the winners. It gives the same winners as @link play.
+ * If an @link MatchOutcomeStrategy is set, it decides the winners instead of the ratings.
+ *
+ * The winners depend on the ratings, which may change between two matches of the same teams, so
+ * @link Match#isDeterministic is not overridden : results are never reused unless a deterministic
+ * @link MatchOutcomeStrategy is set.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public abstract class RatedMatch extends Match {
+
+	private final RatingTable mRatings;
+
+	/*
+	 * - ln(10) / scale, so that the odds against the first team are exp(d * mExponentPerPoint)
+	 * */
+
+	private final float mExponentPerPoint;
+
+	private final float mScale;
+
+	private long mSeed = 0;
+
+	/*
+	 * Scratch buffer of @link playRound, grown on demand
+	 * */
+
+	private float[] mOdds = new float[0];
+
+	/**
+	 * @param ratings the ratings of the teams
+	 * @param scale the difference of ratings for which the better team wins 10 times out of 11
+	 * */
+
+	protected RatedMatch(RatingTable ratings, float scale){
+		mRatings = ratings;
+		mScale = scale;
+		mExponentPerPoint = (float) (-Math.log(10) / scale);
+	}
+
+	/**
+	 * @return RatingTable the ratings of the teams
+	 * */
+
+	public RatingTable getRatings(){
+		return mRatings;
+	}
+
+	/**
+	 * @return float the difference of ratings for which the better team wins 10 times out of 11
+	 * */
+
+	public float getScale(){
+		return mScale;
+	}
+
+	/**
+	 * Specify the seed mixed in the draws deciding the matches
+	 *
+	 * @param seed the seed
+	 * @return nothing
+	 * */
+
+	public void setSeed(long seed){
+		mSeed = seed;
+	}
+
+	@Override
+	public void play(int team1, int team2, int matchType){
+		if(getOutcomeStrategy() != null){
+			super.play(team1, team2, matchType);
+			return;
+		}
+
+		float odds = (float) Math.exp((mRatings.getRating(team1) - mRatings.getRating(team2)) * mExponentPerPoint);
+		setPlayed(team1, team2, matchType, firstTeamWins(draw(team1, team2, matchType), odds) ? team1 : team2);
+	}
+
+	@Override
+	public void playRound(int[] left, int[] right, int[] winnersOut, int offset, int count, int matchType){
+		if(getOutcomeStrategy() != null){
+			super.playRound(left, right, winnersOut, offset, count, matchType);
+			return;
+		}
+
+		if(mOdds.length < count){
+			mOdds = new float[Math.max(count, 2 * mOdds.length)];
+		}
+		float[] odds = mOdds;
+		float[] ratings = mRatings.array();
+		float defaultRating = mRatings.getDefaultRating();
+		float exponentPerPoint = mExponentPerPoint;
+
+		/*
+		 * Every loop does the same work for every match without calling anything, so that the
+		 * JIT can unroll it and, for the arithmetic, use vector instructions
+		 * */
+
+		for(int j = 0; j < count; j++){
+			int team1 = left[offset + j];
+			int team2 = right[offset + j];
+			float rating1 = (team1 >= 0 && team1 < ratings.length) ? ratings[team1] : defaultRating;
+			float rating2 = (team2 >= 0 && team2 < ratings.length) ? ratings[team2] : defaultRating;
+			odds[j] = (rating1 - rating2) * exponentPerPoint;
+		}
+		for(int j = 0; j < count; j++){
+			odds[j] = (float) Math.exp(odds[j]);
+		}
+		for(int j = 0; j < count; j++){
+			int team1 = left[offset + j];
+			int team2 = right[offset + j];
+			winnersOut[offset + j] = firstTeamWins(draw(team1, team2, matchType), odds[j]) ? team1 : team2;
+		}
+		recycle();
+	}
+
+	/*
+	 * Returns a uniform number in [0, 1) derived from the teams, the type of match and the seed
+	 * */
+
+	private float draw(int team1, int team2, int matchType){
+		long hash = PairHashOutcomeStrategy.mix(mSeed ^ (((long) team1 << 32) | (team2 & 0xFFFFFFFFL)));
+		hash = PairHashOutcomeStrategy.mix(hash ^ matchType);
+		return (hash >>> 40) * 0x1.0p-24f;
+	}
+
+	/*
+	 * The first team wins with probability 1 / (1 + odds), i.e. if draw < 1 / (1 + odds)
+	 * */
+
+	private static boolean firstTeamWins(float draw, float odds){
+		return draw * (1f + odds) < 1f;
+	}
+}
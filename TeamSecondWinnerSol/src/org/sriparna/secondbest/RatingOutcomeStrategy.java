@@ -0,0 +1,66 @@
+package org.sriparna.secondbest;
+
+/**
+ * A strategy in which every team has a strength rating and the team with the higher rating wins.
+ * Teams with the same rating are decided by a hash of the two teams, check @link PairHashOutcomeStrategy.
+ * Teams without a rating have the default rating.
+ *
+ * Ratings should be set before series are played : reading ratings is thread safe, but setting
+ * ratings while series are played is not.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class RatingOutcomeStrategy implements MatchOutcomeStrategy {
+
+	private final IntIntMap mRatings = new IntIntMap(16);
+	private final int mDefaultRating;
+	private final PairHashOutcomeStrategy mTieBreaker;
+
+	/**
+	 * @param defaultRating the rating of teams whose rating has not been set
+	 * @param seed the seed used to decide between teams with the same rating
+	 * */
+
+	public RatingOutcomeStrategy(int defaultRating, long seed){
+		mDefaultRating = defaultRating;
+		mTieBreaker = new PairHashOutcomeStrategy(seed);
+	}
+
+	/**
+	 * Sets the rating of a team
+	 *
+	 * @param team the team
+	 * @param rating the rating of the team. Should not be negative.
+	 * @return nothing
+	 * */
+
+	public void setRating(int team, int rating){
+		mRatings.put(team, rating);
+	}
+
+	/**
+	 * @param team the team
+	 * @return int the rating of the team
+	 * */
+
+	public int getRating(int team){
+		int rating = mRatings.get(team);
+		return (rating == IntIntMap.NO_VALUE) ? mDefaultRating : rating;
+	}
+
+	@Override
+	public int decideWinner(int team1, int team2, int matchType){
+		int rating1 = getRating(team1);
+		int rating2 = getRating(team2);
+		if(rating1 != rating2){
+			return (rating1 > rating2) ? team1 : team2;
+		}
+		return mTieBreaker.decideWinner(team1, team2, matchType);
+	}
+
+	@Override
+	public boolean isDeterministic(){
+		return true;
+	}
+}
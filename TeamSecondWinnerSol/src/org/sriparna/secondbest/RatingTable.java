@@ -0,0 +1,209 @@
+package org.sriparna.secondbest;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The ratings of the teams of a sport, used by @link RatedMatch to decide the winners of matches.
+ * The higher the rating of a team compared to the rating of its opponent, the more likely it is to win.
+ *
+ * Ratings are held in a single float array indexed by the id of the team, so looking up the ratings
+ * of a whole round reads consecutive memory for consecutive team ids and allocates nothing. The array
+ * grows when the rating of a team beyond its end is set, so team ids should be small and dense, for
+ * e.g. 0 ... number of teams - 1. Teams whose rating has not been set have the default rating.
+ *
+ * Reading ratings is thread safe. Setting ratings is thread safe as well, but a series played while
+ * ratings are set may see some of the new ratings and not others. Writers lock one of NUM_STRIPES
+ * locks, picked from the block of 2 ^ STRIPE_SHIFT consecutive team ids holding the team, so threads
+ * updating different teams rarely wait for each other. Growing the table takes all the locks.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class RatingTable {
+
+	/**
+	 * The rating of teams whose rating has not been set, unless specified otherwise
+	 * */
+
+	public static final float DEFAULT_RATING = 1500f;
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	/*
+	 * Consecutive team ids share a lock, so that a batch of updates sorted by team locks rarely
+	 * */
+
+	private static final int STRIPE_SHIFT = 6;
+	private static final int NUM_STRIPES = 64;
+
+	private final ReentrantLock[] mStripes = new ReentrantLock[NUM_STRIPES];
+
+	private final float mDefaultRating;
+
+	/*
+	 * The ratings indexed by team id. Replaced by a larger copy when it grows.
+	 * */
+
+	private volatile float[] mRatings;
+
+	public RatingTable(){
+		this(DEFAULT_RATING, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param defaultRating the rating of teams whose rating has not been set
+	 * @param capacity the number of team ids, from 0, which can be rated without growing the table
+	 * */
+
+	public RatingTable(float defaultRating, int capacity){
+		mDefaultRating = defaultRating;
+		mRatings = new float[Math.max(0, capacity)];
+		Arrays.fill(mRatings, defaultRating);
+		for(int i = 0; i < NUM_STRIPES; i++){
+			mStripes[i] = new ReentrantLock();
+		}
+	}
+
+	/**
+	 * @param team the team
+	 * @return float the rating of the team
+	 * */
+
+	public float getRating(int team){
+		float[] ratings = mRatings;
+		return (team >= 0 && team < ratings.length) ? ratings[team] : mDefaultRating;
+	}
+
+	/**
+	 * Sets the rating of a team
+	 *
+	 * @param team the team
+	 * @param rating the rating of the team
+	 * @return nothing
+	 * @throws IllegalArgumentException In case the id of the team is negative
+	 * */
+
+	public void setRating(int team, float rating) throws IllegalArgumentException{
+		ensureCapacity(team);
+		ReentrantLock stripe = stripe(team);
+		stripe.lock();
+		try{
+			mRatings[team] = rating;
+		}
+		finally{
+			stripe.unlock();
+		}
+	}
+
+	/**
+	 * Adds a value, which may be negative, to the rating of a team
+	 *
+	 * @param team the team
+	 * @param delta the value to add
+	 * @return nothing
+	 * @throws IllegalArgumentException In case the id of the team is negative
+	 * */
+
+	public void addToRating(int team, float delta) throws IllegalArgumentException{
+		ensureCapacity(team);
+		ReentrantLock stripe = stripe(team);
+		stripe.lock();
+		try{
+			mRatings[team] += delta;
+		}
+		finally{
+			stripe.unlock();
+		}
+	}
+
+	/*
+	 * Adds deltas[i] to the rating of teams[i] for every i below count. The teams should be
+	 * sorted and not negative, so that the lock of every stripe is taken once per run of teams.
+	 * */
+
+	void addToRatings(int[] teams, float[] deltas, int count){
+		if(count == 0){
+			return;
+		}
+		ensureCapacity(teams[count - 1]);
+		int i = 0;
+		while(i < count){
+			int block = teams[i] >>> STRIPE_SHIFT;
+			ReentrantLock stripe = mStripes[block & (NUM_STRIPES - 1)];
+			stripe.lock();
+			try{
+				float[] ratings = mRatings;
+				for(; i < count && (teams[i] >>> STRIPE_SHIFT) == block; i++){
+					ratings[teams[i]] += deltas[i];
+				}
+			}
+			finally{
+				stripe.unlock();
+			}
+		}
+	}
+
+	/**
+	 * @return float the rating of teams whose rating has not been set
+	 * */
+
+	public float getDefaultRating(){
+		return mDefaultRating;
+	}
+
+	/**
+	 * @return int the number of team ids, from 0, which can be rated without growing the table
+	 * */
+
+	public int capacity(){
+		return mRatings.length;
+	}
+
+	/*
+	 * Returns the current array of ratings, for batches of lookups. The array must not be modified
+	 * and teams beyond its end have the default rating.
+	 * */
+
+	float[] array(){
+		return mRatings;
+	}
+
+	/*
+	 * Grows the array so that it holds the rating of the team. Holds all the locks while copying,
+	 * so that no update is made to the old array once it has been copied.
+	 * */
+
+	private void ensureCapacity(int team) throws IllegalArgumentException{
+		if(team < 0){
+			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_INVALID_TEAM_ID);
+		}
+		if(team < mRatings.length){
+			return;
+		}
+		synchronized(this){
+			float[] ratings = mRatings;
+			if(team < ratings.length){
+				return;
+			}
+			for(ReentrantLock stripe : mStripes){
+				stripe.lock();
+			}
+			try{
+				int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(team + 1L, 2L * ratings.length));
+				float[] grown = Arrays.copyOf(ratings, capacity);
+				Arrays.fill(grown, ratings.length, capacity, mDefaultRating);
+				mRatings = grown;
+			}
+			finally{
+				for(ReentrantLock stripe : mStripes){
+					stripe.unlock();
+				}
+			}
+		}
+	}
+
+	private ReentrantLock stripe(int team){
+		return mStripes[(team >>> STRIPE_SHIFT) & (NUM_STRIPES - 1)];
+	}
+}
@@ -0,0 +1,196 @@
+package org.sriparna.secondbest;
+
+import java.util.Arrays;
+
+/**
+ * Updates the ratings of a @link RatingTable from the matches recorded in a @link MatchLog, the way
+ * Elo ratings work : after a match, the winner gains and the loser loses K * (1 - expected score of
+ * the winner), the expected score being computed with the same formula as @link RatedMatch.
+ *
+ * Every match of a log is rated against the ratings from before the log, as usual for Elo rating
+ * periods, so the order of the matches does not matter and the series are not played again. This
+ * also lets a log be processed in a few passes over primitive arrays :
+ *  1. the ratings of the two teams of every match are looked up and turned into odds
+ *  2. the odds and the winners give the change of rating of every match
+ *  3. the changes are summed per team, in an array indexed by team id
+ *  4. the sums are added to the table, in increasing order of team id
+ *
+ * Several logs can be processed at the same time, for e.g. by @link updateAll. Logs touching the
+ * same teams only wait for each other while adding the sums, as the table locks stripes of team ids
+ * rather than the whole table. Teams with a negative id are not rated.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class RatingUpdater {
+
+	/**
+	 * The maximum change of rating of a team after a match, unless specified otherwise
+	 * */
+
+	public static final float DEFAULT_K_FACTOR = 32f;
+
+	private final RatingTable mRatings;
+	private final float mKFactor;
+
+	/*
+	 * Same as @link RatedMatch, so that the expected scores are the probabilities used to play
+	 * */
+
+	private final float mExponentPerPoint;
+
+	/*
+	 * Scratch buffers of every thread processing logs, grown on demand
+	 * */
+
+	private final ThreadLocal<Scratch> mScratch = ThreadLocal.withInitial(Scratch::new);
+
+	/**
+	 * Creates an updater for the ratings used by a @link RatedMatch
+	 *
+	 * @param match the match whose ratings and scale are used
+	 * */
+
+	public RatingUpdater(RatedMatch match){
+		this(match.getRatings(), match.getScale(), DEFAULT_K_FACTOR);
+	}
+
+	/**
+	 * @param ratings the ratings to update
+	 * @param scale the scale of the sport, for e.g. @link HockeyMatch#SCALE
+	 * @param kFactor the maximum change of rating of a team after a match
+	 * */
+
+	public RatingUpdater(RatingTable ratings, float scale, float kFactor){
+		mRatings = ratings;
+		mKFactor = kFactor;
+		mExponentPerPoint = (float) (-Math.log(10) / scale);
+	}
+
+	/**
+	 * @return RatingTable the ratings updated
+	 * */
+
+	public RatingTable getRatings(){
+		return mRatings;
+	}
+
+	/**
+	 * Updates the ratings from all the matches of a log. No match should be recorded in the log meanwhile.
+	 *
+	 * @param log the matches played
+	 * @return nothing
+	 * */
+
+	public void update(MatchLog log){
+		int numOfMatches = log.size();
+		int[] team1 = log.team1Array();
+		int[] team2 = log.team2Array();
+		int[] winners = log.winnerArray();
+
+		Scratch scratch = mScratch.get();
+		scratch.ensureMatches(numOfMatches);
+		float[] changes = scratch.mChanges;
+		float[] ratings = mRatings.array();
+		float defaultRating = mRatings.getDefaultRating();
+		float exponentPerPoint = mExponentPerPoint;
+		float kFactor = mKFactor;
+
+		int maxTeam = -1;
+		for(int i = 0; i < numOfMatches; i++){
+			int first = team1[i];
+			int second = team2[i];
+			float rating1 = (first >= 0 && first < ratings.length) ? ratings[first] : defaultRating;
+			float rating2 = (second >= 0 && second < ratings.length) ? ratings[second] : defaultRating;
+			changes[i] = (rating1 - rating2) * exponentPerPoint;
+			maxTeam = Math.max(maxTeam, Math.max(first, second));
+		}
+		for(int i = 0; i < numOfMatches; i++){
+			changes[i] = (float) Math.exp(changes[i]);
+		}
+		for(int i = 0; i < numOfMatches; i++){
+			float score = (winners[i] == team1[i]) ? 1f : 0f;
+			changes[i] = kFactor * (score - 1f / (1f + changes[i]));
+		}
+
+		scratch.ensureTeams(maxTeam + 1);
+		for(int i = 0; i < numOfMatches; i++){
+			scratch.add(team1[i], changes[i]);
+			scratch.add(team2[i], -changes[i]);
+		}
+		scratch.flushTo(mRatings);
+	}
+
+	/**
+	 * Updates the ratings from several logs, processed in parallel on the common ForkJoinPool.
+	 * No match should be recorded in the logs meanwhile.
+	 *
+	 * @param logs the logs, for e.g. one per tournament
+	 * @return nothing
+	 * */
+
+	public void updateAll(MatchLog[] logs){
+		Arrays.stream(logs).parallel().forEach(this::update);
+	}
+
+	/*
+	 * Buffers of a thread. The changes of rating are summed in mSums, indexed by team id, and the
+	 * teams touched are listed in mTeams, so that only they are read and cleared afterwards.
+	 * */
+
+	private static class Scratch {
+
+		private float[] mChanges = new float[0];
+		private float[] mSums = new float[0];
+		private boolean[] mTouched = new boolean[0];
+		private int[] mTeams = new int[0];
+		private float[] mSortedSums = new float[0];
+		private int mNumOfTeams = 0;
+
+		void ensureMatches(int numOfMatches){
+			if(mChanges.length < numOfMatches){
+				mChanges = new float[numOfMatches];
+			}
+		}
+
+		void ensureTeams(int numOfTeamIds){
+			if(mSums.length < numOfTeamIds){
+				mSums = new float[numOfTeamIds];
+				mTouched = new boolean[numOfTeamIds];
+			}
+		}
+
+		void add(int team, float change){
+			if(team < 0){
+				return;
+			}
+			if(!mTouched[team]){
+				mTouched[team] = true;
+				if(mNumOfTeams == mTeams.length){
+					mTeams = Arrays.copyOf(mTeams, Math.max(16, 2 * mNumOfTeams));
+				}
+				mTeams[mNumOfTeams++] = team;
+			}
+			mSums[team] += change;
+		}
+
+		/*
+		 * Adds the sums to the table in increasing order of team id and clears them
+		 * */
+
+		void flushTo(RatingTable ratings){
+			Arrays.sort(mTeams, 0, mNumOfTeams);
+			if(mSortedSums.length < mNumOfTeams){
+				mSortedSums = new float[mTeams.length];
+			}
+			for(int i = 0; i < mNumOfTeams; i++){
+				int team = mTeams[i];
+				mSortedSums[i] = mSums[team];
+				mSums[team] = 0f;
+				mTouched[team] = false;
+			}
+			ratings.addToRatings(mTeams, mSortedSums, mNumOfTeams);
+			mNumOfTeams = 0;
+		}
+	}
+}
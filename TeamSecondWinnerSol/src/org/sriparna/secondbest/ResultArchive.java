@@ -0,0 +1,102 @@
+package org.sriparna.secondbest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * A file of results written by @link ResultWriter, read in place. The file is mapped into memory
+ * and every accessor reads the int it needs from the mapping, so scanning an archive creates no
+ * object per result and runs at the speed of the disk. Check @link ResultWriter for the format.
+ *
+ * A bracket written by @link Bracket#writeTo has a different magic and is rejected by @link open.
+ * It is a header followed by the nodes of the tree, so its leaves are read as its last c ints.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class ResultArchive implements Closeable {
+
+	private final OffHeapIntArray mInts;
+	private final long mNumOfResults;
+
+	private ResultArchive(OffHeapIntArray ints){
+		mInts = ints;
+		mNumOfResults = (ints.length() - ResultWriter.HEADER_INTS) / ResultWriter.RECORD_INTS;
+	}
+
+	/**
+	 * Maps a file of results for reading
+	 *
+	 * @param file the file written by @link ResultWriter
+	 * @return ResultArchive the results in the file
+	 * @throws IOException In case the file cannot be mapped or does not hold results
+	 * */
+
+	public static ResultArchive open(Path file) throws IOException{
+		OffHeapIntArray ints = OffHeapIntArray.map(file);
+		if(ints.length() < ResultWriter.HEADER_INTS || ints.get(0) != ResultWriter.RESULT_MAGIC
+				|| ints.get(1) != ResultWriter.VERSION || ints.get(2) != ResultWriter.RECORD_SIZE){
+			ints.close();
+			throw new IOException(Constants.ERROR_MESSAGE_INVALID_ARCHIVE);
+		}
+		return new ResultArchive(ints);
+	}
+
+	/**
+	 * @return long the number of results in the file
+	 * */
+
+	public long size(){
+		return mNumOfResults;
+	}
+
+	/**
+	 * @param index the index of the result, from 0 to @link size - 1
+	 * @return int the error code of the result
+	 * */
+
+	public int getErrorCode(long index){
+		return mInts.get(offset(index));
+	}
+
+	/**
+	 * @param index the index of the result, from 0 to @link size - 1
+	 * @return int the first winner of the result
+	 * */
+
+	public int getFirstWinner(long index){
+		return mInts.get(offset(index) + 1);
+	}
+
+	/**
+	 * @param index the index of the result, from 0 to @link size - 1
+	 * @return int the second winner of the result
+	 * */
+
+	public int getSecondWinner(long index){
+		return mInts.get(offset(index) + 2);
+	}
+
+	/**
+	 * Creates an @link Olympics.Result object for a result. Scans should rather use the other accessors.
+	 *
+	 * @param index the index of the result, from 0 to @link size - 1
+	 * @return Olympics.Result the result
+	 * */
+
+	public Olympics.Result getResult(long index){
+		long offset = offset(index);
+		return new Olympics.Result(mInts.get(offset),
+				new Olympics.Result.Winners(mInts.get(offset + 1), mInts.get(offset + 2)));
+	}
+
+	@Override
+	public void close() throws IOException{
+		mInts.close();
+	}
+
+	private static long offset(long index){
+		return ResultWriter.HEADER_INTS + index * ResultWriter.RECORD_INTS;
+	}
+}
@@ -0,0 +1,131 @@
+package org.sriparna.secondbest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes results of series to a file in a compact binary format, which can be read back with
+ * @link ResultArchive without creating an object per result.
+ *
+ * All values are 4 byte little endian ints. The file starts with a header of HEADER_INTS ints :
+ *  magic (RESULT_MAGIC), version (VERSION), record size in bytes (RECORD_SIZE), reserved (0)
+ * followed by one record of RECORD_SIZE bytes per result :
+ *  error code, first winner, second winner
+ *
+ * Records are collected in a direct buffer and written BATCH_SIZE records at a time through a
+ * FileChannel. Records still in the buffer are written by @link flush and @link close.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class ResultWriter implements Closeable {
+
+	/**
+	 * Constants describing the format of a file of results
+	 * */
+
+	public static final int RESULT_MAGIC = 0x52594C4F;
+	public static final int VERSION = 1;
+	public static final int HEADER_INTS = 4;
+	public static final int RECORD_INTS = 3;
+	public static final int RECORD_SIZE = RECORD_INTS * Integer.BYTES;
+
+	/**
+	 * Constants describing the format written by @link Bracket#writeTo. All values are 4 byte
+	 * little endian ints. The header has HEADER_INTS ints :
+	 *  magic (BRACKET_MAGIC), version (VERSION), number of leaves c, number of teams
+	 * followed by the first winner, the second winner and the 2c - 1 winners of the nodes of the
+	 * implicit tree, root first, the children of node i being the nodes 2i + 1 and 2i + 2. The last
+	 * c nodes are the leaves, holding the teams. An empty leaf or node holds INVALID_VALUE.
+	 * */
+
+	public static final int BRACKET_MAGIC = 0x4B52424F;
+
+	private static final int BATCH_SIZE = 4096;
+
+	private final FileChannel mChannel;
+	private final ByteBuffer mBuffer;
+
+	/**
+	 * Creates the file, replacing any existing file, and writes the header
+	 *
+	 * @param file the file to write
+	 * @throws IOException In case the file cannot be created or written
+	 * */
+
+	public ResultWriter(Path file) throws IOException{
+		mChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		mBuffer = ByteBuffer.allocateDirect(Math.max(HEADER_INTS * Integer.BYTES, BATCH_SIZE * RECORD_SIZE))
+				.order(ByteOrder.LITTLE_ENDIAN);
+		mBuffer.putInt(RESULT_MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(0);
+	}
+
+	/**
+	 * Adds a result to the file
+	 *
+	 * @param result the result to add
+	 * @return nothing
+	 * @throws IOException In case the file cannot be written
+	 * */
+
+	public void write(Olympics.Result result) throws IOException{
+		write(result.mErrorCode, result.mResult.mFirstWinner, result.mResult.mSecondWinner);
+	}
+
+	/**
+	 * Adds a result to the file without requiring an @link Olympics.Result object
+	 *
+	 * @param errorCode the error code of the result
+	 * @param firstWinner the first winner
+	 * @param secondWinner the second winner
+	 * @return nothing
+	 * @throws IOException In case the file cannot be written
+	 * */
+
+	public void write(int errorCode, int firstWinner, int secondWinner) throws IOException{
+		if(mBuffer.remaining() < RECORD_SIZE){
+			flush();
+		}
+		mBuffer.putInt(errorCode).putInt(firstWinner).putInt(secondWinner);
+	}
+
+	/**
+	 * Writes the results collected so far to the file
+	 *
+	 * @return nothing
+	 * @throws IOException In case the file cannot be written
+	 * */
+
+	public void flush() throws IOException{
+		mBuffer.flip();
+		writeFully(mChannel, mBuffer);
+		mBuffer.clear();
+	}
+
+	@Override
+	public void close() throws IOException{
+		try{
+			flush();
+		}
+		finally{
+			mChannel.close();
+		}
+	}
+
+	/*
+	 * Writes all the remaining bytes of the buffer, since a channel may write only some of them
+	 * */
+
+	static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException{
+		while(buffer.hasRemaining()){
+			channel.write(buffer);
+		}
+	}
+}
@@ -0,0 +1,236 @@
+package org.sriparna.secondbest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+
+/**
+ * Registry of the supported sports, each provided by a @link MatchProvider.
+ *
+ * The sports are held in an array indexed by the type of sport, together with everything
+ * @link MatchFactory keeps per sport : the pool of @link Match objects, the ratings of the teams
+ * and the outcome strategy. Checking whether a sport is supported and finding its provider are
+ * thus a bounds check and an array read, without boxing.
+ *
+ * The sports of @link MatchFactory are registered first, followed by the providers discovered
+ * with java.util.ServiceLoader. A provider which cannot be loaded, or whose type of sport is
+ * invalid or already registered, is skipped and its error can be read with @link getLoadErrors.
+ * More sports can be registered at any time with @link register.
+ * Registering copies the array, so the sports can be read by any number of threads without locking.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public final class SportRegistry {
+
+	/**
+	 * Largest type of sport which can be registered, which bounds the size of the array
+	 * */
+
+	public static final int MAX_TYPE_OF_SPORT = 1 << 16;
+
+	/*
+	 * The registered sports indexed by the type of sport, null for unsupported types.
+	 * Replaced by a copy on every registration.
+	 * */
+
+	private static volatile Sport[] sSports = new Sport[0];
+
+	/*
+	 * The errors of the providers skipped while the registry was initialized
+	 * */
+
+	private static final List<Throwable> sLoadErrors;
+
+	static{
+		register(new BuiltInSport(MatchFactory.SPORT_TYPE_HOCKEY, "hockey", HockeyMatch::new));
+		register(new BuiltInSport(MatchFactory.SPORT_TYPE_CRICKET, "cricket", CricketMatch::new));
+		register(new BuiltInSport(MatchFactory.SPORT_TYPE_FOOTBALL, "football", FootballMatch::new));
+		register(new BuiltInSport(MatchFactory.SPORT_TYPE_SWIMMING, "swimming", SwimmingMatch::new));
+		register(new BuiltInSport(MatchFactory.SPORT_TYPE_ARCHERY, "archery", ArcheryMatch::new));
+
+		/*
+		 * A provider which cannot be loaded or clashes with another sport is skipped, so that it
+		 * does not take the other sports down with it. Its error is kept for @link getLoadErrors.
+		 * */
+
+		List<Throwable> loadErrors = new ArrayList<>();
+		Iterator<MatchProvider> providers = ServiceLoader.load(MatchProvider.class).iterator();
+		while(true){
+			try{
+				if(!providers.hasNext()){
+					break;
+				}
+				register(providers.next());
+			}
+			catch(ServiceConfigurationError | IllegalArgumentException e){
+				loadErrors.add(e);
+			}
+		}
+		sLoadErrors = Collections.unmodifiableList(loadErrors);
+	}
+
+	private SportRegistry(){
+	}
+
+	/**
+	 * Adds a sport, whose matches can be played by @link Olympics as soon as this returns
+	 *
+	 * @param provider the provider of the matches of the sport
+	 * @return nothing
+	 * @throws IllegalArgumentException In case the type of sport is not positive, greater than
+	 * 			MAX_TYPE_OF_SPORT or already registered
+	 * */
+
+	public static synchronized void register(MatchProvider provider) throws IllegalArgumentException{
+		int type = provider.getTypeOfSport();
+		if(type <= 0 || type > MAX_TYPE_OF_SPORT || isSupported(type)){
+			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_INVALID_SPORT_PROVIDER);
+		}
+
+		Sport[] sports = sSports;
+		if(type >= sports.length){
+			sports = Arrays.copyOf(sports, Math.max(type + 1, 2 * sports.length));
+		}
+		else{
+			sports = sports.clone();
+		}
+		sports[type] = new Sport(provider);
+		sSports = sports;
+	}
+
+	/**
+	 * @return List the errors of the providers discovered with java.util.ServiceLoader which were
+	 * 			skipped, either because they could not be loaded or because they could not be registered
+	 * */
+
+	public static List<Throwable> getLoadErrors(){
+		return sLoadErrors;
+	}
+
+	/**
+	 * @param type The type of sport
+	 * @return boolean true if the sport has been registered
+	 * */
+
+	public static boolean isSupported(int type){
+		Sport[] sports = sSports;
+		return type >= 0 && type < sports.length && sports[type] != null;
+	}
+
+	/**
+	 * Throws an IllegalArgumentException in case the sport is not supported
+	 *
+	 * @param type The type of sport
+	 * @return nothing
+	 * @throws IllegalArgumentException In case the sport has not been registered
+	 * */
+
+	public static void checkSupported(int type) throws IllegalArgumentException{
+		if(!isSupported(type)){
+			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_UNSUPPORTED_SPORT);
+		}
+	}
+
+	/**
+	 * @return int[] the types of the registered sports in increasing order
+	 * */
+
+	public static int[] getSupportedSports(){
+		Sport[] sports = sSports;
+		int[] types = new int[sports.length];
+		int numOfSports = 0;
+		for(int type = 0; type < sports.length; type++){
+			if(sports[type] != null){
+				types[numOfSports++] = type;
+			}
+		}
+		return Arrays.copyOf(types, numOfSports);
+	}
+
+	/**
+	 * @return int the largest type of the registered sports
+	 * */
+
+	public static int getMaxTypeOfSport(){
+		Sport[] sports = sSports;
+		int type = sports.length - 1;
+		while(type > 0 && sports[type] == null){
+			type--;
+		}
+		return Math.max(type, 0);
+	}
+
+	/**
+	 * @param type The type of sport
+	 * @return MatchProvider the provider of the sport, or null in case of an unsupported sport
+	 * */
+
+	public static MatchProvider getProvider(int type){
+		Sport sport = getSport(type);
+		return (sport != null) ? sport.mProvider : null;
+	}
+
+	/*
+	 * Returns the state kept for the sport, or null in case of an unsupported sport
+	 * */
+
+	static Sport getSport(int type){
+		Sport[] sports = sSports;
+		return (type >= 0 && type < sports.length) ? sports[type] : null;
+	}
+
+	/*
+	 * Everything kept per sport. Check @link MatchFactory
+	 * */
+
+	static final class Sport {
+
+		final MatchProvider mProvider;
+		final MatchPool mPool;
+		final RatingTable mRatings = new RatingTable();
+		volatile MatchOutcomeStrategy mOutcomeStrategy = null;
+
+		Sport(MatchProvider provider){
+			mProvider = provider;
+			mPool = new MatchPool(provider.getTypeOfSport(), Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+		}
+	}
+
+	/*
+	 * Provider of the sports of @link MatchFactory, each played by a subclass of @link RatedMatch
+	 * */
+
+	private static final class BuiltInSport implements MatchProvider {
+
+		private final int mTypeOfSport;
+		private final String mReadableName;
+		private final Function<RatingTable, Match> mConstructor;
+
+		BuiltInSport(int typeOfSport, String readableName, Function<RatingTable, Match> constructor){
+			mTypeOfSport = typeOfSport;
+			mReadableName = readableName;
+			mConstructor = constructor;
+		}
+
+		@Override
+		public int getTypeOfSport(){
+			return mTypeOfSport;
+		}
+
+		@Override
+		public String getReadableName(){
+			return mReadableName;
+		}
+
+		@Override
+		public Match newMatch(RatingTable ratings){
+			return mConstructor.apply(ratings);
+		}
+	}
+}
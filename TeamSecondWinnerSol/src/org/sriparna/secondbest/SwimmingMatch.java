@@ -0,0 +1,33 @@
+package org.sriparna.secondbest;
+
+/**
+ * A @link Match of swimming, decided from the ratings of the teams. Check @link RatedMatch.
+ * Races are rarely won by the slower swimmer, so the better team is favoured more than in the other sports.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class SwimmingMatch extends RatedMatch {
+
+	/**
+	 * The difference of ratings for which the better team wins 10 times out of 11
+	 * */
+
+	public static final float SCALE = 200f;
+
+	/**
+	 * Creates a match using the ratings of the sport held by @link MatchFactory
+	 * */
+
+	public SwimmingMatch(){
+		this(MatchFactory.getRatingTable(MatchFactory.SPORT_TYPE_SWIMMING));
+	}
+
+	/**
+	 * @param ratings the ratings of the teams
+	 * */
+
+	public SwimmingMatch(RatingTable ratings){
+		super(ratings, SCALE);
+	}
+}
@@ -0,0 +1,41 @@
+package org.sriparna.secondbest;
+
+/**
+ * Base class for the different strategies @link Olympics can use to get a series
+ * played and to find the first and the second winner.
+ *
+ * An engine is only handed inputs which have at least 2 teams. Validation of the input
+ * and creation of the @link Olympics.Result is still done by @link Olympics.
+ *
+ * Engines may keep scratch state between calls, so an instance should not be
+ * shared between threads unless the engine says otherwise.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+abstract class TournamentEngine {
+
+	/*
+	 * Index used in the scratch buffers to specify that there is no team
+	 * */
+
+	static final int INDEX_NONE = -1;
+
+	/**
+	 * method to get a series played amongst the teams teams[offset] ... teams[offset + length - 1]
+	 *
+	 * @param teams array holding the teams to play in the series
+	 * @param offset index of the first team in teams
+	 * @param length number of teams to play. Should be at least 2
+	 * @param match the @link Match object to be used to play the matches
+	 * @param typeOfSport the type of sport to play
+	 * @param winnersOut array in which the first winner is written at outOffset
+	 * 			and the second winner at outOffset + 1
+	 * @param outOffset index in winnersOut at which the winners are written
+	 *
+	 * @return nothing
+	 * */
+
+	abstract void play(int[] teams, int offset, int length, Match match, int typeOfSport,
+			int[] winnersOut, int outOffset);
+}
@@ -0,0 +1,380 @@
+package org.sriparna.secondbest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A server which gets series sent over TCP played by an @link Olympics object, meant to be reached
+ * over the loopback interface by other processes of the same machine.
+ *
+ * All values are 4 byte little endian ints, as in @link ResultWriter. A request is made of :
+ *  sport, number of teams n, the n teams
+ * and its response of RESPONSE_SIZE bytes :
+ *  error code, first winner, second winner
+ * as in @link Olympics.Result. A series of an unsupported sport gets RESULT_INVALID_DATA_PROVIDED.
+ * A request with a negative number of teams or more than MAX_TEAMS_PER_REQUEST teams closes the connection.
+ *
+ * Connections are kept open till the client closes them, and requests can be pipelined : a client
+ * can send any number of requests without waiting for their responses, which are sent in the order
+ * of the requests. Requests split over several packets are put together again.
+ *
+ * A single thread accepts connections, reads requests, plays the series and writes the responses,
+ * using a @link Selector. The teams are decoded straight from the buffer in which a connection reads
+ * into an int array of the connection, and every series is played by @link Olympics#playAll which
+ * writes the result into another array of the connection, so nothing is allocated per request.
+ * While the responses of a connection cannot be written, its requests are not read any further.
+ * A failure of a single connection, including an exception thrown by a @link Match, only closes
+ * that connection.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class TournamentServer implements Closeable {
+
+	/**
+	 * Constants describing the format of requests and responses
+	 * */
+
+	public static final int REQUEST_HEADER_SIZE = 2 * Integer.BYTES;
+	public static final int RESPONSE_SIZE = ResultWriter.RECORD_SIZE;
+	public static final int MAX_TEAMS_PER_REQUEST = 1 << 22;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final Olympics mOlympics;
+	private final Selector mSelector;
+	private final ServerSocketChannel mServerChannel;
+	private final Thread mThread;
+
+	private volatile boolean mClosed = false;
+	private volatile boolean mStarted = false;
+
+	private final AtomicLong mNumOfTournaments = new AtomicLong();
+	private final AtomicLong mNumOfConnections = new AtomicLong();
+
+	/**
+	 * Creates a server playing series with @link Olympics#ENGINE_MODE_PRIMITIVE
+	 *
+	 * @param address the address to listen on, for e.g. the loopback address with port 0 for any free port
+	 * @throws IOException In case the address cannot be bound
+	 * */
+
+	public TournamentServer(InetSocketAddress address) throws IOException{
+		this(address, newPrimitiveOlympics());
+	}
+
+	/**
+	 * @param address the address to listen on, for e.g. the loopback address with port 0 for any free port
+	 * @param olympics the object playing the series. It is only used by the thread of the server.
+	 * @throws IOException In case the address cannot be bound
+	 * */
+
+	public TournamentServer(InetSocketAddress address, Olympics olympics) throws IOException{
+		mOlympics = olympics;
+		mSelector = Selector.open();
+		mServerChannel = ServerSocketChannel.open();
+		try{
+			mServerChannel.bind(address);
+			mServerChannel.configureBlocking(false);
+			mServerChannel.register(mSelector, SelectionKey.OP_ACCEPT);
+		}
+		catch(IOException e){
+			mServerChannel.close();
+			mSelector.close();
+			throw e;
+		}
+
+		mThread = new Thread(this::runLoop, "tournament-server-" + getAddress().getPort());
+		mThread.setDaemon(true);
+	}
+
+	/**
+	 * Starts accepting connections on a daemon thread
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	public void start(){
+		mStarted = true;
+		mThread.start();
+	}
+
+	/**
+	 * @return InetSocketAddress the address the server listens on, with the actual port
+	 * */
+
+	public InetSocketAddress getAddress(){
+		return (InetSocketAddress) mServerChannel.socket().getLocalSocketAddress();
+	}
+
+	/**
+	 * @return long the number of series played
+	 * */
+
+	public long getNumOfTournaments(){
+		return mNumOfTournaments.get();
+	}
+
+	/**
+	 * @return long the number of connections accepted
+	 * */
+
+	public long getNumOfConnections(){
+		return mNumOfConnections.get();
+	}
+
+	/**
+	 * Stops the server and closes all the connections, without waiting for the responses to be written.
+	 * If the caller is interrupted while waiting for the server to stop, the server still closes the
+	 * connections on its own thread.
+	 * */
+
+	@Override
+	public void close() throws IOException{
+		mClosed = true;
+		if(!mStarted){
+			closeChannels();
+			return;
+		}
+
+		/*
+		 * The thread of the server closes the channels before it ends
+		 * */
+
+		mSelector.wakeup();
+		try{
+			mThread.join();
+		}
+		catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void runLoop(){
+		try{
+			while(!mClosed){
+				mSelector.select();
+				Iterator<SelectionKey> keys = mSelector.selectedKeys().iterator();
+				while(keys.hasNext()){
+					SelectionKey key = keys.next();
+					keys.remove();
+					if(!key.isValid()){
+						continue;
+					}
+					if(key.isAcceptable()){
+						try{
+							accept();
+						}
+						catch(IOException e){
+
+							/*
+							 * Only this connection is lost, for e.g. when the process has run out of
+							 * file descriptors. The next connections are accepted as usual.
+							 * */
+
+						}
+						continue;
+					}
+					try{
+						if(key.isWritable()){
+							write(key);
+						}
+						if(key.isValid() && key.isReadable()){
+							read(key);
+						}
+					}
+					catch(IOException | RuntimeException e){
+
+						/*
+						 * Only the connection is closed, for e.g. when the client has gone away,
+						 * has sent an invalid request or a @link Match has failed
+						 * */
+
+						key.channel().close();
+					}
+				}
+			}
+		}
+		catch(IOException e){
+			mClosed = true;
+		}
+		finally{
+			closeChannels();
+		}
+	}
+
+	private void accept() throws IOException{
+		SocketChannel channel = mServerChannel.accept();
+		if(channel == null){
+			return;
+		}
+		try{
+			channel.configureBlocking(false);
+			channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			channel.register(mSelector, SelectionKey.OP_READ, new Connection());
+		}
+		catch(IOException e){
+			channel.close();
+			throw e;
+		}
+		mNumOfConnections.incrementAndGet();
+	}
+
+	private void read(SelectionKey key) throws IOException{
+		Connection connection = (Connection) key.attachment();
+		if(((SocketChannel) key.channel()).read(connection.mIn) < 0){
+			key.channel().close();
+			return;
+		}
+		write(key);
+	}
+
+	/*
+	 * Writes the pending responses and plays the requests of the input buffer, till all the requests
+	 * read have been answered. Reads again only once everything has been written.
+	 * */
+
+	private void write(SelectionKey key) throws IOException{
+		Connection connection = (Connection) key.attachment();
+		ByteBuffer out = connection.mOut;
+		while(true){
+			out.flip();
+			((SocketChannel) key.channel()).write(out);
+			boolean written = !out.hasRemaining();
+			out.compact();
+			if(!written){
+				key.interestOps(SelectionKey.OP_WRITE);
+				return;
+			}
+			playRequests(connection);
+			if(out.position() == 0){
+				break;
+			}
+		}
+		key.interestOps(SelectionKey.OP_READ);
+	}
+
+	/*
+	 * Plays the complete requests of the input buffer whose responses fit in the output buffer
+	 * */
+
+	private void playRequests(Connection connection) throws IOException{
+		ByteBuffer in = connection.mIn;
+		ByteBuffer out = connection.mOut;
+		in.flip();
+		try{
+			while(in.remaining() >= REQUEST_HEADER_SIZE){
+				if(out.remaining() < RESPONSE_SIZE){
+					break;
+				}
+
+				int typeOfSport = in.getInt(in.position());
+				int numOfTeams = in.getInt(in.position() + Integer.BYTES);
+				if(numOfTeams < 0 || numOfTeams > MAX_TEAMS_PER_REQUEST){
+					throw new IOException(Constants.ERROR_MESSAGE_INVALID_REQUEST);
+				}
+				int requestSize = REQUEST_HEADER_SIZE + numOfTeams * Integer.BYTES;
+				if(in.remaining() < requestSize){
+					connection.mPendingRequestSize = requestSize;
+					break;
+				}
+
+				in.position(in.position() + REQUEST_HEADER_SIZE);
+				int[] teams = connection.teams(numOfTeams);
+				for(int i = 0; i < numOfTeams; i++){
+					teams[i] = in.getInt();
+				}
+
+				int[] result = connection.mResult;
+				if(SportRegistry.isSupported(typeOfSport)){
+					connection.mOffsets[1] = numOfTeams;
+					mOlympics.playAll(teams, connection.mOffsets, 1, typeOfSport, result);
+				}
+				else{
+					result[0] = Olympics.Result.RESULT_INVALID_DATA_PROVIDED;
+					result[1] = Olympics.Result.Winners.INVALID_VALUE;
+					result[2] = Olympics.Result.Winners.INVALID_VALUE;
+				}
+				out.putInt(result[0]).putInt(result[1]).putInt(result[2]);
+				mNumOfTournaments.incrementAndGet();
+			}
+		}
+		finally{
+			in.compact();
+			connection.growInput();
+		}
+	}
+
+	private void closeChannels(){
+		for(SelectionKey key : mSelector.keys()){
+			try{
+				key.channel().close();
+			}
+			catch(IOException e){
+			}
+		}
+		try{
+			mServerChannel.close();
+			mSelector.close();
+		}
+		catch(IOException e){
+		}
+	}
+
+	private static Olympics newPrimitiveOlympics(){
+		Olympics olympics = new Olympics();
+		olympics.setEngineMode(Olympics.ENGINE_MODE_PRIMITIVE);
+		return olympics;
+	}
+
+	/*
+	 * The state of a connection, reused by all its requests
+	 * */
+
+	private static class Connection {
+
+		private ByteBuffer mIn = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		private final ByteBuffer mOut = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		private int[] mTeams = new int[256];
+		private final int[] mOffsets = new int[2];
+		private final int[] mResult = new int[Olympics.RESULT_STRIDE];
+
+		/*
+		 * Size of the request at the start of the input buffer if it did not fit, 0 otherwise
+		 * */
+
+		private int mPendingRequestSize = 0;
+
+		int[] teams(int numOfTeams){
+			if(mTeams.length < numOfTeams){
+				mTeams = new int[Math.max(numOfTeams, 2 * mTeams.length)];
+			}
+			return mTeams;
+		}
+
+		/*
+		 * Grows the input buffer, which is in write mode, if the pending request is larger
+		 * */
+
+		void growInput(){
+			if(mPendingRequestSize > mIn.capacity()){
+				ByteBuffer grown = ByteBuffer.allocate(mPendingRequestSize).order(ByteOrder.LITTLE_ENDIAN);
+				mIn.flip();
+				grown.put(mIn);
+				mIn = grown;
+			}
+			mPendingRequestSize = 0;
+		}
+	}
+}
@@ -0,0 +1,310 @@
+package org.sriparna.secondbest;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A service which gets series submitted by any number of callers played on a fixed number of
+ * worker threads, so the throughput depends on the number of cores rather than on the number of callers.
+ *
+ * Every worker has its own @link Olympics object per type of sport, so workers never share the
+ * state of a series and the buffers of the engines are reused across the series of a sport.
+ *
+ * The number of series waiting to be played is bounded. Once the bound is reached, a submission
+ * either fails with a RejectedExecutionException (BACKPRESSURE_REJECT) or waits till a series
+ * is finished (BACKPRESSURE_BLOCK).
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class TournamentService implements Closeable {
+
+	/**
+	 * Constants specifying what happens to a submission once the queue is full :
+	 *
+	 *  1. BACKPRESSURE_REJECT : @link submit throws a RejectedExecutionException
+	 *  2. BACKPRESSURE_BLOCK : @link submit waits till a series is finished
+	 * */
+
+	public static final int BACKPRESSURE_REJECT = 0;
+	public static final int BACKPRESSURE_BLOCK = 1;
+
+	/*
+	 * Number of series which can wait per worker with the default constructor
+	 * */
+
+	private static final int DEFAULT_QUEUED_PER_WORKER = 64;
+
+	private final ThreadPoolExecutor mExecutor;
+	private final int mBackpressureMode;
+	private final Supplier<Olympics> mOlympicsFactory;
+
+	/*
+	 * One permit per series which can be running or waiting. A permit is taken on submission and
+	 * given back once the series is finished or cancelled.
+	 * */
+
+	private final Semaphore mPermits;
+
+	/*
+	 * The @link Olympics objects of the current worker, indexed by the type of sport
+	 * */
+
+	private final ThreadLocal<Olympics[]> mWorkerOlympics;
+
+	private final LongAdder mRejected = new LongAdder();
+
+	/**
+	 * Creates a service with one worker per core, which blocks submissions once
+	 * 64 series per worker are waiting. Series are played with @link Olympics#ENGINE_MODE_PRIMITIVE.
+	 * */
+
+	public TournamentService(){
+		this(Runtime.getRuntime().availableProcessors(),
+				DEFAULT_QUEUED_PER_WORKER * Runtime.getRuntime().availableProcessors(), BACKPRESSURE_BLOCK);
+	}
+
+	/**
+	 * Creates a service playing series with @link Olympics#ENGINE_MODE_PRIMITIVE
+	 *
+	 * @param numOfWorkers the number of worker threads
+	 * @param queueCapacity the maximum number of series waiting for a worker
+	 * @param backpressureMode one of the BACKPRESSURE_* constants
+	 * @throws IllegalArgumentException In case of an invalid capacity or backpressure mode
+	 * */
+
+	public TournamentService(int numOfWorkers, int queueCapacity, int backpressureMode) throws IllegalArgumentException{
+		this(numOfWorkers, queueCapacity, backpressureMode, () -> {
+			Olympics olympics = new Olympics();
+			olympics.setEngineMode(Olympics.ENGINE_MODE_PRIMITIVE);
+			return olympics;
+		});
+	}
+
+	/**
+	 * @param numOfWorkers the number of worker threads
+	 * @param queueCapacity the maximum number of series waiting for a worker
+	 * @param backpressureMode one of the BACKPRESSURE_* constants
+	 * @param olympicsFactory creates the @link Olympics objects of the workers. Should return a new
+	 * 			object for every call, which does not share a @link Match with the other objects.
+	 * @throws IllegalArgumentException In case of an invalid capacity or backpressure mode
+	 * */
+
+	public TournamentService(int numOfWorkers, int queueCapacity, int backpressureMode,
+			Supplier<Olympics> olympicsFactory) throws IllegalArgumentException{
+		if(numOfWorkers < 1 || queueCapacity < 1){
+			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_INVALID_CAPACITY);
+		}
+		if(backpressureMode != BACKPRESSURE_REJECT && backpressureMode != BACKPRESSURE_BLOCK){
+			throw new IllegalArgumentException(Constants.ERROR_MESSAGE_UNSUPPORTED_BACKPRESSURE);
+		}
+
+		mBackpressureMode = backpressureMode;
+		mOlympicsFactory = olympicsFactory;
+		mPermits = new Semaphore(numOfWorkers + queueCapacity);
+		mWorkerOlympics = ThreadLocal.withInitial(() -> new Olympics[SportRegistry.getMaxTypeOfSport() + 1]);
+
+		/*
+		 * The permits already bound the number of series waiting. A series gives back its permit
+		 * just before its worker takes the next one, so the queue leaves room for all the permits.
+		 * */
+
+		mExecutor = new ThreadPoolExecutor(numOfWorkers, numOfWorkers, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(numOfWorkers + queueCapacity), new WorkerThreadFactory());
+	}
+
+	/**
+	 * Submits a series to be played by one of the workers
+	 *
+	 * @param teams set of teams to play in the series. Should not be modified till the series is finished.
+	 * @param typeOfSport the type of sport to play
+	 *
+	 * @return Future The future result of the series, as returned by @link Olympics#play
+	 * @throws IllegalArgumentException In case unsupported match type is provided
+	 * @throws RejectedExecutionException In case the queue is full with BACKPRESSURE_REJECT, the service
+	 * 			has been closed, or the caller is interrupted while waiting with BACKPRESSURE_BLOCK
+	 * */
+
+	public Future<Olympics.Result> submit(final int[] teams, final int typeOfSport)
+			throws IllegalArgumentException, RejectedExecutionException{
+		SportRegistry.checkSupported(typeOfSport);
+		if(mExecutor.isShutdown()){
+			throw new RejectedExecutionException(Constants.ERROR_MESSAGE_SERVICE_CLOSED);
+		}
+		acquirePermit();
+
+		SeriesTask task = new SeriesTask(teams, typeOfSport);
+		try{
+			mExecutor.execute(task);
+		}
+		catch(RejectedExecutionException e){
+
+			/*
+			 * Cancelling gives back the permit. The queue has room for all the permits,
+			 * so unless the service has been closed the executor was saturated.
+			 * */
+
+			task.cancel(false);
+			if(mExecutor.isShutdown()){
+				throw new RejectedExecutionException(Constants.ERROR_MESSAGE_SERVICE_CLOSED, e);
+			}
+			mRejected.increment();
+			throw new RejectedExecutionException(Constants.ERROR_MESSAGE_SERVICE_BUSY, e);
+		}
+		return task;
+	}
+
+	/**
+	 * @return int the number of series submitted which are waiting for a worker
+	 * */
+
+	public int getQueuedCount(){
+		return mExecutor.getQueue().size();
+	}
+
+	/**
+	 * @return long the number of series finished by the workers
+	 * */
+
+	public long getCompletedCount(){
+		return mExecutor.getCompletedTaskCount();
+	}
+
+	/**
+	 * @return long the number of submissions rejected because the queue was full
+	 * */
+
+	public long getRejectedCount(){
+		return mRejected.sum();
+	}
+
+	/**
+	 * Stops accepting series. The series already submitted are still played.
+	 *
+	 * @return nothing
+	 * */
+
+	@Override
+	public void close(){
+		mExecutor.shutdown();
+	}
+
+	/**
+	 * Waits till all the series submitted before @link close are finished
+	 *
+	 * @param timeout the maximum time to wait
+	 * @param unit the unit of the timeout
+	 * @return boolean true if all series are finished, false if the timeout elapsed
+	 * @throws InterruptedException In case the caller is interrupted while waiting
+	 * */
+
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException{
+		return mExecutor.awaitTermination(timeout, unit);
+	}
+
+	private void acquirePermit() throws RejectedExecutionException{
+		if(mBackpressureMode == BACKPRESSURE_REJECT){
+			if(!mPermits.tryAcquire()){
+				mRejected.increment();
+				throw new RejectedExecutionException(Constants.ERROR_MESSAGE_SERVICE_BUSY);
+			}
+			return;
+		}
+
+		try{
+			mPermits.acquire();
+		}
+		catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw new RejectedExecutionException(Constants.ERROR_MESSAGE_SERVICE_BUSY, e);
+		}
+	}
+
+	/*
+	 * Returns the @link Olympics object of the current worker for the given sport
+	 * */
+
+	private Olympics getOlympics(int typeOfSport){
+		Olympics[] olympics = mWorkerOlympics.get();
+		if(typeOfSport >= olympics.length){
+			olympics = Arrays.copyOf(olympics, typeOfSport + 1);
+			mWorkerOlympics.set(olympics);
+		}
+		if(olympics[typeOfSport] == null){
+			olympics[typeOfSport] = mOlympicsFactory.get();
+		}
+		return olympics[typeOfSport];
+	}
+
+	/*
+	 * A submitted series, which gives back its permit once played, before its result is published, 
+	 * or once cancelled. A series cancelled while waiting is removed from the queue before its permit 
+	 * is given back, so the queue always has room for the series holding a permit.
+	 * */
+
+	private class SeriesTask extends FutureTask<Olympics.Result>{
+
+		private final AtomicBoolean mPermitReleased;
+
+		SeriesTask(final int[] teams, final int typeOfSport){
+			this(teams, typeOfSport, new AtomicBoolean());
+		}
+
+		private SeriesTask(final int[] teams, final int typeOfSport, final AtomicBoolean permitReleased){
+			super(() -> {
+				try{
+					return getOlympics(typeOfSport).play(teams, typeOfSport);
+				}
+				finally{
+					releasePermit(permitReleased);
+				}
+			});
+			mPermitReleased = permitReleased;
+		}
+
+		@Override
+		protected void done(){
+			if(isCancelled()){
+				mExecutor.remove(this);
+			}
+			releasePermit(mPermitReleased);
+		}
+	}
+
+	private void releasePermit(AtomicBoolean permitReleased){
+		if(permitReleased.compareAndSet(false, true)){
+			mPermits.release();
+		}
+	}
+
+	/*
+	 * Creates named daemon threads, so that a service which is not closed does not keep the process alive
+	 * */
+
+	private static class WorkerThreadFactory implements ThreadFactory{
+
+		private static final AtomicInteger sNumOfServices = new AtomicInteger();
+
+		private final int mService = sNumOfServices.incrementAndGet();
+		private final AtomicInteger mNumOfWorkers = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable){
+			Thread thread = new Thread(runnable, "tournament-service-" + mService + "-worker-" + mNumOfWorkers.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,221 @@
+package org.sriparna.secondbest;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A series which is played while the teams are still being provided, so the teams never
+ * have to be held in an array. Obtained from @link Olympics#newSession.
+ *
+ * Pending winners are kept like the digits of a binary counter : the slot of rank r holds the
+ * winner of a bracket of 2^r teams. A new team starts as a winner of rank 0 and, as long as the
+ * slot of its rank is taken, plays the winner held there and moves up one rank. So matches are
+ * played as soon as a pair is available and at most one winner per rank is pending.
+ *
+ * Every pending winner keeps the list of teams it defeated directly, which has one team per rank
+ * it has moved up. So the memory held is O(log2(n)) teams for each of the O(log2(n)) pending
+ * winners, independent of the number of teams n.
+ *
+ * Calls should be of the form :
+ * @link offer (any number of times) -> @link finish
+ * after which the session can be used for another series. An object of this class should not
+ * be used by several threads at the same time.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+public class TournamentSession implements IntConsumer {
+
+	/*
+	 * Maximum number of ranks. A team count fits in a long, so there are at most 63 ranks.
+	 * */
+
+	private static final int MAX_RANKS = 64;
+
+	/*
+	 * Maximum number of teams defeated directly by a team. A team defeats one team per rank it
+	 * moves up, and at most one more per rank when the pending winners play each other in @link finish
+	 * */
+
+	private static final int MAX_DEFEATED = 2 * MAX_RANKS;
+
+	/*
+	 * Number of lists of defeated teams : one per rank and one for the team moving up
+	 * */
+
+	private static final int NUM_OF_LISTS = MAX_RANKS + 1;
+
+	private static final int NONE = -1;
+
+	private final Olympics mOlympics;
+	private final int mTypeOfSport;
+	private Match mMatch = null;
+
+	/*
+	 * For every rank, the pending winner and the list holding the teams it defeated.
+	 * The list is NONE if the slot is free, since any int can be a team.
+	 * */
+
+	private final int[] mWinners = new int[MAX_RANKS];
+	private final int[] mWinnerLists = new int[MAX_RANKS];
+
+	/*
+	 * Lists of defeated teams. Lists which are not owned by a pending winner are kept in a stack.
+	 * */
+
+	private final int[][] mDefeated = new int[NUM_OF_LISTS][MAX_DEFEATED];
+	private final int[] mNumOfDefeated = new int[NUM_OF_LISTS];
+	private final int[] mFreeLists = new int[NUM_OF_LISTS];
+	private int mNumOfFreeLists = 0;
+
+	private long mNumOfTeams = 0;
+
+	TournamentSession(Olympics olympics, int typeOfSport){
+		mOlympics = olympics;
+		mTypeOfSport = typeOfSport;
+		reset();
+	}
+
+	/**
+	 * Adds a team to the series and plays the matches which have become possible.
+	 *
+	 * @param team the team to add
+	 * @return nothing
+	 * */
+
+	public void offer(int team){
+		if(mMatch == null){
+			mMatch = mOlympics.acquireMatch(mTypeOfSport);
+		}
+		mNumOfTeams++;
+
+		int winner = team;
+		int list = mFreeLists[--mNumOfFreeLists];
+		mNumOfDefeated[list] = 0;
+
+		int rank = 0;
+		while(mWinnerLists[rank] != NONE){
+			int otherWinner = mWinners[rank];
+			int otherList = mWinnerLists[rank];
+			mWinnerLists[rank] = NONE;
+
+			/*
+			 * The pending winner got here first, so it is the first team to play
+			 * */
+
+			if(playMatch(otherWinner, winner) == otherWinner){
+				addDefeated(otherList, winner);
+				mFreeLists[mNumOfFreeLists++] = list;
+				winner = otherWinner;
+				list = otherList;
+			}
+			else{
+				addDefeated(list, otherWinner);
+				mFreeLists[mNumOfFreeLists++] = otherList;
+			}
+			rank++;
+		}
+		mWinners[rank] = winner;
+		mWinnerLists[rank] = list;
+	}
+
+	/**
+	 * Same as @link offer
+	 * */
+
+	@Override
+	public void accept(int team){
+		offer(team);
+	}
+
+	/**
+	 * @return long the number of teams offered since the series started
+	 * */
+
+	public long getNumOfTeams(){
+		return mNumOfTeams;
+	}
+
+	/**
+	 * Ends the series. The pending winners play each other, starting from the lowest rank,
+	 * and the teams defeated directly by the overall winner then compete for the second position.
+	 * The session is reset so that it can be used for another series.
+	 *
+	 * @return Olympics.Result The result of the series, with the same error codes as @link Olympics#play
+	 * */
+
+	public Olympics.Result finish(){
+		Olympics.Result result = null;
+		try{
+			if(mNumOfTeams == 0){
+				Olympics.Result.Winners winners = new Olympics.Result.Winners(Olympics.Result.Winners.INVALID_VALUE,
+						Olympics.Result.Winners.INVALID_VALUE);
+				result = new Olympics.Result(Olympics.Result.RESULT_INVALID_DATA_PROVIDED, winners);
+			}
+			else if(mNumOfTeams == 1){
+				Olympics.Result.Winners winners = new Olympics.Result.Winners(mWinners[0],
+						Olympics.Result.Winners.INVALID_VALUE);
+				result = new Olympics.Result(Olympics.Result.RESULT_INADEQUATE_DATA_PROVIDED, winners);
+			}
+			else{
+				int overallWinner = Olympics.Result.Winners.INVALID_VALUE;
+				int list = NONE;
+				for(int rank = 0; rank < MAX_RANKS; rank++){
+					if(mWinnerLists[rank] == NONE){
+						continue;
+					}
+					if(list == NONE){
+						overallWinner = mWinners[rank];
+						list = mWinnerLists[rank];
+					}
+					else if(playMatch(mWinners[rank], overallWinner) == overallWinner){
+						addDefeated(list, mWinners[rank]);
+					}
+					else{
+						addDefeated(mWinnerLists[rank], overallWinner);
+						overallWinner = mWinners[rank];
+						list = mWinnerLists[rank];
+					}
+				}
+
+				int[] candidates = mDefeated[list];
+				int secondWinner = candidates[0];
+				for(int i = 1; i < mNumOfDefeated[list]; i++){
+					secondWinner = playMatch(secondWinner, candidates[i]);
+				}
+
+				Olympics.Result.Winners winners = new Olympics.Result.Winners(overallWinner, secondWinner);
+				result = new Olympics.Result(Olympics.Result.RESULT_OK, winners);
+			}
+		}
+		finally{
+			if(mMatch != null){
+				mOlympics.releaseMatch(mTypeOfSport, mMatch);
+				mMatch = null;
+			}
+			reset();
+		}
+		return result;
+	}
+
+	private int playMatch(int team1, int team2){
+		mMatch.play(team1, team2, mTypeOfSport);
+		int winner = mMatch.getWinner();
+		mMatch.recycle();
+		return winner;
+	}
+
+	private void addDefeated(int list, int team){
+		mDefeated[list][mNumOfDefeated[list]++] = team;
+	}
+
+	private void reset(){
+		for(int rank = 0; rank < MAX_RANKS; rank++){
+			mWinnerLists[rank] = NONE;
+		}
+		for(int list = 0; list < NUM_OF_LISTS; list++){
+			mFreeLists[list] = list;
+		}
+		mNumOfFreeLists = NUM_OF_LISTS;
+		mNumOfTeams = 0;
+	}
+}
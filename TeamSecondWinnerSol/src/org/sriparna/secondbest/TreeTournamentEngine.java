@@ -0,0 +1,238 @@
+package org.sriparna.secondbest;
+
+import java.util.Arrays;
+
+/**
+ * An engine which stores the series as an implicit binary tree in a single int array.
+ *
+ * For n teams the tree has 2n - 1 nodes. The children of node i are the nodes 2i + 1 and 2i + 2,
+ * the leaves n - 1 ... 2n - 2 hold the positions of the teams in the input and every internal
+ * node holds the position of the winner of the match played between the winners of its children.
+ * So node 0 holds the overall winner.
+ *
+ * The second winner must have lost directly to the overall winner. Those teams are exactly the
+ * winners of the siblings along the path from the root to the leaf of the overall winner, and
+ * there are at most ceil(log2(n)) of them. So the series is decided in at most
+ * n + ceil(log2(n)) - 2 matches, which is the minimum possible.
+ *
+ * Note that the teams are paired differently than in the queue based engine. Both give the same
+ * winners whenever the outcome of the matches is consistent with a ranking of the teams.
+ *
+ * The matches are not grouped in rounds, so only the series are recorded in @link OlympicsMetrics.
+ *
+ * @author SriparnaChakraborty
+ * */
+
+class TreeTournamentEngine extends TournamentEngine {
+
+	/*
+	 * The implicit tree holding positions of the teams in the input
+	 * */
+
+	private int[] mTree = new int[0];
+
+	/*
+	 * Holds the teams defeated by the overall winner. A path in the tree has at most 31 edges.
+	 * */
+
+	private final int[] mCandidates = new int[32];
+
+	/*
+	 * Heap of the candidates for the next rank, used by @link playTopK
+	 * */
+
+	private int[] mHeap = new int[0];
+
+	@Override
+	void play(int[] teams, int offset, int length, Match match, int typeOfSport,
+			int[] winnersOut, int outOffset){
+
+		int[] tree = buildTree(teams, offset, length, match, typeOfSport);
+		int overallWinner = tree[0];
+
+		/*
+		 * Walk down from the root following the overall winner and collect the teams it defeated.
+		 * */
+
+		int numOfCandidates = 0;
+		int node = 0;
+		while(node < length - 1){
+			int left = 2 * node + 1;
+			int right = left + 1;
+			if(tree[left] == overallWinner){
+				mCandidates[numOfCandidates++] = tree[right];
+				node = left;
+			}
+			else{
+				mCandidates[numOfCandidates++] = tree[left];
+				node = right;
+			}
+		}
+
+		/*
+		 * The candidates compete for the second position. Every match eliminates one candidate.
+		 * */
+
+		int secondWinner = mCandidates[0];
+		for(int i = 1; i < numOfCandidates; i++){
+			secondWinner = playMatch(teams, offset, secondWinner, mCandidates[i], match, typeOfSport);
+		}
+
+		winnersOut[outOffset] = teams[offset + overallWinner];
+		winnersOut[outOffset + 1] = teams[offset + secondWinner];
+	}
+
+	/**
+	 * method to find the k best teams. This generalizes the way the second winner is found :
+	 * the team ranked r must have lost directly to one of the teams ranked before it. So once a
+	 * team is ranked, the teams it defeated directly in the tree become candidates, and the best
+	 * candidate is ranked next. Candidates are kept in a binary heap whose comparisons are matches,
+	 * so about n + k * log2(n) * log2(k * log2(n)) matches are played instead of k series.
+	 * The teams defeated by the last ranked team do not compete, and the candidates for the last
+	 * rank only challenge the best one, so k = 1 and k = 2 play as many matches as @link play.
+	 *
+	 * @param teams array holding the teams to play
+	 * @param offset index of the first team in teams
+	 * @param length number of teams to play. Should be at least 2
+	 * @param match the @link Match object to be used to play the matches
+	 * @param typeOfSport the type of sport to play
+	 * @param rankingOut array in which the best teams are written, best first
+	 * @param k the number of teams to rank. Should not be more than length
+	 *
+	 * @return nothing
+	 * */
+
+	void playTopK(int[] teams, int offset, int length, Match match, int typeOfSport, int[] rankingOut, int k){
+		int[] tree = buildTree(teams, offset, length, match, typeOfSport);
+		int numOfCandidates = 0;
+
+		int ranked = tree[0];
+		for(int rank = 0; rank < k; rank++){
+			if(rank > 0){
+				ranked = mHeap[0];
+				if(rank < k - 1){
+					mHeap[0] = mHeap[--numOfCandidates];
+					siftDown(teams, offset, numOfCandidates, match, typeOfSport);
+				}
+			}
+			rankingOut[rank] = teams[offset + ranked];
+
+			/*
+			 * Nothing is ranked after the last rank, so the teams it defeated need not compete
+			 * */
+
+			if(rank == k - 1){
+				break;
+			}
+
+			/*
+			 * Walk up from the leaf of the ranked team as long as it won the match of the parent,
+			 * and add the winners of the sibling subtrees to the candidates. When only the last
+			 * rank is left, just the best candidate is needed, so the new candidates challenge the
+			 * top of the heap instead of being pushed, as in @link play.
+			 * */
+
+			int node = length - 1 + ranked;
+			while(node > 0 && tree[(node - 1) / 2] == ranked){
+				int sibling = ((node & 1) == 1) ? node + 1 : node - 1;
+				if(rank == k - 2 && numOfCandidates > 0){
+					mHeap[0] = playMatch(teams, offset, mHeap[0], tree[sibling], match, typeOfSport);
+				}
+				else{
+					numOfCandidates = push(teams, offset, numOfCandidates, tree[sibling], match, typeOfSport);
+				}
+				node = (node - 1) / 2;
+			}
+		}
+	}
+
+	/*
+	 * Adds a candidate to the heap and returns the new number of candidates
+	 * */
+
+	private int push(int[] teams, int offset, int numOfCandidates, int candidate, Match match, int typeOfSport){
+		if(mHeap.length == numOfCandidates){
+			mHeap = Arrays.copyOf(mHeap, Math.max(32, 2 * numOfCandidates));
+		}
+		int child = numOfCandidates;
+		mHeap[child] = candidate;
+		while(child > 0){
+			int parent = (child - 1) / 2;
+			if(playMatch(teams, offset, mHeap[parent], mHeap[child], match, typeOfSport) == mHeap[parent]){
+				break;
+			}
+			int temp = mHeap[parent];
+			mHeap[parent] = mHeap[child];
+			mHeap[child] = temp;
+			child = parent;
+		}
+		return numOfCandidates + 1;
+	}
+
+	/*
+	 * Moves the candidate at the top of the heap down to its place
+	 * */
+
+	private void siftDown(int[] teams, int offset, int numOfCandidates, Match match, int typeOfSport){
+		int parent = 0;
+		while(true){
+			int best = 2 * parent + 1;
+			if(best >= numOfCandidates){
+				break;
+			}
+			if(best + 1 < numOfCandidates){
+				best = playMatch(teams, offset, mHeap[best], mHeap[best + 1], match, typeOfSport) == mHeap[best]
+						? best : best + 1;
+			}
+			if(playMatch(teams, offset, mHeap[parent], mHeap[best], match, typeOfSport) == mHeap[parent]){
+				break;
+			}
+			int temp = mHeap[parent];
+			mHeap[parent] = mHeap[best];
+			mHeap[best] = temp;
+			parent = best;
+		}
+	}
+
+	/*
+	 * Fills the leaves with the positions of the teams and plays the n - 1 matches of the
+	 * internal nodes bottom up.
+	 * */
+
+	private int[] buildTree(int[] teams, int offset, int length, Match match, int typeOfSport){
+		ensureCapacity(length);
+		int[] tree = mTree;
+		int firstLeaf = length - 1;
+		for(int i = 0; i < length; i++){
+			tree[firstLeaf + i] = i;
+		}
+		for(int node = length - 2; node >= 0; node--){
+			tree[node] = playMatch(teams, offset, tree[2 * node + 1], tree[2 * node + 2], match, typeOfSport);
+		}
+		return tree;
+	}
+
+	/*
+	 * Plays a match between the teams at the given positions and returns the position of the winner.
+	 * */
+
+	static int playMatch(int[] teams, int offset, int first, int second, Match match, int typeOfSport){
+		int team1 = teams[offset + first];
+		int team2 = teams[offset + second];
+		match.play(team1, team2, typeOfSport);
+		int winner = match.getWinner();
+		match.recycle();
+
+		return (winner == team1) ? first : second;
+	}
+
+	/*
+	 * Grows the scratch buffers so that they can hold the given number of teams
+	 * */
+
+	private void ensureCapacity(int length){
+		if(mTree.length < 2 * length - 1){
+			mTree = new int[2 * length - 1];
+		}
+	}
+}
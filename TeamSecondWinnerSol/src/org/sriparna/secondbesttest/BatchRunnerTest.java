@@ -0,0 +1,132 @@
+package org.sriparna.secondbesttest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.BatchRunner;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.Olympics;
+
+/**
+ * Class to test BatchRunner
+ *
+ * @author SriparnaChakraborty
+ *
+ * */
+
+public class BatchRunnerTest {
+
+	/**
+	 * Method to verify that every series of the input gets the same result as when played on its own,
+	 * across several chunks and sports
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testResultsMatchPlay(){
+		Olympics olympics = new Olympics(new Matches.HigherTeamWinsMatch());
+		StringBuilder input = new StringBuilder();
+		StringBuilder expected = new StringBuilder();
+		int numOfSeries = 10000;
+		for(int t = 0; t < numOfSeries; t++){
+			int sport = (t < 5000) ? MatchFactory.SPORT_TYPE_HOCKEY : MatchFactory.SPORT_TYPE_CRICKET;
+			if(t == 7000){
+				sport = 42;
+			}
+			int[] teams = Matches.shuffledTeams(t % 13, t);
+			input.append(sport).append((t % 2 == 0) ? ' ' : '\n').append(teams.length);
+			for(int team : teams){
+				input.append((t % 3 == 0) ? "\t" : "  ").append(team - 6);
+			}
+			input.append('\n');
+
+			if(sport == 42){
+				expected.append(Olympics.Result.RESULT_INVALID_DATA_PROVIDED).append(' ').append(Olympics.Result.Winners.INVALID_VALUE)
+						.append(' ').append(Olympics.Result.Winners.INVALID_VALUE).append('\n');
+				continue;
+			}
+			for(int i = 0; i < teams.length; i++){
+				teams[i] -= 6;
+			}
+			Olympics.Result result = olympics.play(teams, sport);
+			expected.append(result.mErrorCode).append(' ').append(result.mResult.mFirstWinner)
+					.append(' ').append(result.mResult.mSecondWinner).append('\n');
+		}
+
+		BatchRunner runner = new BatchRunner(olympics);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try{
+			Assert.assertEquals(runner.run(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.US_ASCII)), out),
+					numOfSeries);
+		}
+		catch(IOException e){
+			Assert.fail(e.getMessage());
+		}
+		Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.US_ASCII), expected.toString());
+		Assert.assertEquals(runner.getNumOfTournaments(), numOfSeries);
+		Assert.assertTrue(runner.getTournamentsPerSecond() > 0);
+	}
+
+	/**
+	 * Method to verify that an input with a series cut short is rejected, after the results
+	 * of the series read completely have been written
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testTruncatedInput(){
+		byte[] input = "1 3 4 5 6\n1 2 7 8\n1 3 4 5".getBytes(StandardCharsets.US_ASCII);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try{
+			new BatchRunner(new Olympics(new Matches.HigherTeamWinsMatch())).run(new ByteArrayInputStream(input), out);
+			Assert.fail("the input should be rejected");
+		}
+		catch(IOException e){
+		}
+		Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.US_ASCII), "0 6 5\n0 8 7\n");
+	}
+
+	/**
+	 * Method to verify that a number of teams too large for an array, or much larger than the input,
+	 * is rejected as malformed input
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testHugeNumOfTeams(){
+		for(String input : new String[]{"1 3 4 5 6\n1 2147483647 1 2", "1 3 4 5 6\n1 2147483000 1 2"}){
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try{
+				new BatchRunner(new Olympics(new Matches.HigherTeamWinsMatch()))
+						.run(new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), out);
+				Assert.fail("the input should be rejected");
+			}
+			catch(IOException e){
+			}
+			Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.US_ASCII), "0 6 5\n");
+		}
+	}
+
+	/**
+	 * Method to verify that an input with something other than integers is rejected
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test(expected = IOException.class)
+	public void testMalformedInput() throws IOException{
+		byte[] input = "1 2 4 5x\n".getBytes(StandardCharsets.US_ASCII);
+		new BatchRunner(new Olympics()).run(new ByteArrayInputStream(input), new ByteArrayOutputStream());
+	}
+}
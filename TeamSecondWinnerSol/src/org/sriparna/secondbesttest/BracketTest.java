@@ -0,0 +1,187 @@
+package org.sriparna.secondbesttest;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.Bracket;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.Olympics;
+
+/**
+ * Class to test Bracket
+ *
+ * @author SriparnaChakraborty
+ *
+ * */
+
+public class BracketTest {
+
+	/**
+	 * Method to verify that a bracket gives the same result as a series, including the
+	 * error codes of a series with no team and with one team
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testBracketAgreesWithPlay(){
+		Olympics olympics = new Olympics(new Matches.HigherTeamWinsMatch());
+		for(int numOfTeams = 0; numOfTeams <= 300; numOfTeams++){
+			int[] teams = Matches.shuffledTeams(numOfTeams, numOfTeams);
+			Olympics.Result expected = olympics.play(teams, MatchFactory.SPORT_TYPE_CRICKET);
+			Olympics.Result actual = olympics.playBracket(teams, MatchFactory.SPORT_TYPE_CRICKET).getResult();
+
+			Assert.assertEquals(actual.mErrorCode, expected.mErrorCode);
+			Assert.assertEquals(actual.mResult.mFirstWinner, expected.mResult.mFirstWinner);
+			Assert.assertEquals(actual.mResult.mSecondWinner, expected.mResult.mSecondWinner);
+		}
+	}
+
+	/**
+	 * Method to verify that overturning a match replays only the matches which depend on it,
+	 * and stops as soon as a match keeps its winner
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testOverturnReplaysOnlyPath(){
+		final int[] numOfMatches = new int[1];
+		Olympics olympics = new Olympics(new Matches.HigherTeamWinsMatch(){
+			@Override
+			public void play(int team1, int team2, int matchType){
+				numOfMatches[0]++;
+				super.play(team1, team2, matchType);
+			}
+		});
+
+		int[] teams = new int[1024];
+		for(int i = 0; i < teams.length; i++){
+			teams[i] = i + 1;
+		}
+		Bracket bracket = olympics.playBracket(teams, MatchFactory.SPORT_TYPE_FOOTBALL);
+
+		/*
+		 * 1 now beats 2 but still loses to the winner of 3 and 4, so only that match is replayed
+		 * */
+
+		numOfMatches[0] = 0;
+		bracket.overturn(1, 2);
+		Assert.assertEquals(bracket.getFirstWinner(), 1024);
+		Assert.assertEquals(bracket.getSecondWinner(), 1023);
+		Assert.assertTrue(numOfMatches[0] <= 1 + 9);
+
+		/*
+		 * 1023 now beats 1024 and wins every match on its way to the root
+		 * */
+
+		numOfMatches[0] = 0;
+		bracket.overturn(1024, 1023);
+		Assert.assertEquals(bracket.getFirstWinner(), 1023);
+		Assert.assertEquals(bracket.getSecondWinner(), 1024);
+		Assert.assertTrue(numOfMatches[0] <= 9 + 9);
+
+		/*
+		 * Overturning the same match again restores the original result
+		 * */
+
+		bracket.overturn(1023, 1024);
+		Assert.assertEquals(bracket.getResult().mResult.mFirstWinner, 1024);
+		Assert.assertEquals(bracket.getResult().mResult.mSecondWinner, 1023);
+	}
+
+	/**
+	 * Method to verify that the winners are kept up to date while teams join and withdraw,
+	 * starting from an empty bracket, and that every change replays O(log2(n)) matches
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testAddAndRemoveTeams(){
+		final int[] numOfMatches = new int[1];
+		Olympics olympics = new Olympics(new Matches.HigherTeamWinsMatch(){
+			@Override
+			public void play(int team1, int team2, int matchType){
+				numOfMatches[0]++;
+				super.play(team1, team2, matchType);
+			}
+		});
+		Bracket bracket = olympics.playBracket(new int[0], MatchFactory.SPORT_TYPE_SWIMMING);
+		TreeSet<Integer> teams = new TreeSet<>();
+		Random random = new Random(15);
+
+		for(int i = 0; i < 5000; i++){
+			numOfMatches[0] = 0;
+			int team = random.nextInt(2000);
+			if(teams.contains(team)){
+				bracket.removeTeam(team);
+				teams.remove(team);
+			}
+			else{
+				bracket.addTeam(team);
+				teams.add(team);
+			}
+
+			Assert.assertEquals(bracket.getNumOfTeams(), teams.size());
+			Assert.assertTrue(numOfMatches[0] <= 2 * 12);
+			Olympics.Result result = bracket.getResult();
+			if(teams.size() >= 2){
+				Assert.assertEquals(result.mErrorCode, Olympics.Result.RESULT_OK);
+				Assert.assertEquals(bracket.getFirstWinner(), (int) teams.last());
+				Assert.assertEquals(bracket.getSecondWinner(), (int) teams.lower(teams.last()));
+			}
+			else if(teams.size() == 1){
+				Assert.assertEquals(result.mErrorCode, Olympics.Result.RESULT_INADEQUATE_DATA_PROVIDED);
+				Assert.assertEquals(bracket.getFirstWinner(), (int) teams.first());
+			}
+			else{
+				Assert.assertEquals(result.mErrorCode, Olympics.Result.RESULT_INVALID_DATA_PROVIDED);
+			}
+		}
+	}
+
+	/**
+	 * Method to verify that a team which is not in the bracket cannot be withdrawn
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRemoveUnknownTeam(){
+		Olympics olympics = new Olympics(new Matches.HigherTeamWinsMatch());
+		olympics.playBracket(new int[]{1, 2, 3}, MatchFactory.SPORT_TYPE_FOOTBALL).removeTeam(4);
+	}
+
+	/**
+	 * Method to verify that only a match which was played can be overturned
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testOverturnUnplayedMatch(){
+		Olympics olympics = new Olympics(new Matches.HigherTeamWinsMatch());
+		Bracket bracket = olympics.playBracket(new int[]{1, 2, 3, 4}, MatchFactory.SPORT_TYPE_FOOTBALL);
+		bracket.overturn(1, 3);
+	}
+
+	/**
+	 * Method to verify that a team cannot appear twice in a bracket
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDuplicateTeam(){
+		new Olympics(new Matches.HigherTeamWinsMatch()).playBracket(new int[]{1, 2, 1}, MatchFactory.SPORT_TYPE_FOOTBALL);
+	}
+}
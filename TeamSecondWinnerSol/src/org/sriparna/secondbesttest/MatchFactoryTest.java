@@ -0,0 +1,74 @@
+package org.sriparna.secondbesttest;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.Match;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.MatchPool;
+
+/**
+ * Class to test MatchFactory
+ * 
+ * @author SriparnaChakraborty
+ * 
+ * */
+
+public class MatchFactoryTest {
+	
+	/**
+	 * Method to verify that a returned @link Match object is recycled and handed out again, 
+	 * and that the statistics of the pool are updated accordingly
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testMatchPoolReusesReturnedInstances(){
+		MatchPool pool = new MatchPool(MatchFactory.SPORT_TYPE_CRICKET, 2);
+		
+		Match match1 = pool.borrowMatch();
+		Match match2 = pool.borrowMatch();
+		Match match3 = pool.borrowMatch();
+		Assert.assertEquals(pool.getMissCount(), 3);
+		Assert.assertEquals(pool.getHighWaterMark(), 3);
+		
+		match1.play(1, 2, MatchFactory.SPORT_TYPE_CRICKET);
+		pool.returnMatch(match1);
+		pool.returnMatch(match2);
+		pool.returnMatch(match3);
+		
+		Match match4 = pool.borrowMatch();
+		Assert.assertSame(match4, match1);
+		Assert.assertEquals(pool.getHitCount(), 1);
+		Assert.assertEquals(pool.getHighWaterMark(), 3);
+		
+		try{
+			match4.getWinner();
+			Assert.fail("a returned match should be recycled");
+		}
+		catch(IllegalStateException e){
+		}
+	}
+	
+	/**
+	 * Method to verify that the factory hands out pooled instances for the supported sports
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testBorrowMatchInstance(){
+		MatchPool pool = MatchFactory.getMatchPool(MatchFactory.SPORT_TYPE_SWIMMING);
+		Assert.assertNotNull(pool);
+		
+		Match match = MatchFactory.borrowMatchInstance(MatchFactory.SPORT_TYPE_SWIMMING);
+		MatchFactory.returnMatchInstance(MatchFactory.SPORT_TYPE_SWIMMING, match);
+		long hits = pool.getHitCount();
+		
+		Assert.assertSame(MatchFactory.borrowMatchInstance(MatchFactory.SPORT_TYPE_SWIMMING), match);
+		Assert.assertEquals(pool.getHitCount(), hits + 1);
+		MatchFactory.returnMatchInstance(MatchFactory.SPORT_TYPE_SWIMMING, match);
+	}
+}
@@ -0,0 +1,222 @@
+package org.sriparna.secondbesttest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.MatchJournal;
+import org.sriparna.secondbest.Olympics;
+
+/**
+ * Class to test MatchJournal and the resuming of series with Olympics#playWithJournal
+ *
+ * @author SriparnaChakraborty
+ *
+ * */
+
+public class MatchJournalTest {
+
+	/**
+	 * Method to verify that a series interrupted after some matches is resumed without playing
+	 * again the matches already persisted, and gets the same result as an uninterrupted series.
+	 * The primitive engine plays whole rounds at once, so it is interrupted after its first round.
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testResumeAfterInterruption() throws IOException{
+		int[] teams = Matches.shuffledTeams(1000, 5);
+		for(int engineMode : new int[]{Olympics.ENGINE_MODE_QUEUE, Olympics.ENGINE_MODE_PRIMITIVE}){
+			CountingMatch uninterruptedMatch = new CountingMatch(Integer.MAX_VALUE);
+			Olympics uninterrupted = new Olympics(uninterruptedMatch);
+			uninterrupted.setEngineMode(engineMode);
+			Olympics.Result expected = uninterrupted.play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+
+			Path file = Files.createTempFile("journal", ".bin");
+			Files.delete(file);
+			try{
+				CountingMatch failingMatch = new CountingMatch(700);
+				Olympics interrupted = new Olympics(failingMatch);
+				interrupted.setEngineMode(engineMode);
+				try{
+					interrupted.playWithJournal(teams, MatchFactory.SPORT_TYPE_HOCKEY, file);
+					Assert.fail("the series should have been interrupted");
+				}
+				catch(IllegalStateException e){
+				}
+
+				long numOfPersistedMatches;
+				try(MatchJournal journal = MatchJournal.open(file)){
+					numOfPersistedMatches = journal.getNumOfRecords();
+				}
+				Assert.assertTrue(numOfPersistedMatches > 0);
+
+				CountingMatch resumedMatch = new CountingMatch(Integer.MAX_VALUE);
+				Olympics resumed = new Olympics(resumedMatch);
+				resumed.setEngineMode(engineMode);
+				Olympics.Result result = resumed.playWithJournal(teams, MatchFactory.SPORT_TYPE_HOCKEY, file);
+				Assert.assertEquals(result.mErrorCode, expected.mErrorCode);
+				Assert.assertEquals(result.mResult.mFirstWinner, expected.mResult.mFirstWinner);
+				Assert.assertEquals(result.mResult.mSecondWinner, expected.mResult.mSecondWinner);
+				Assert.assertEquals(resumedMatch.mNumOfPlays, uninterruptedMatch.mNumOfPlays - numOfPersistedMatches);
+				Assert.assertNull(resumed.getMatchJournal());
+
+				try(MatchJournal journal = MatchJournal.open(file)){
+					Assert.assertEquals(journal.getNumOfRecords(), uninterruptedMatch.mNumOfPlays);
+				}
+			}
+			finally{
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	/**
+	 * Method to verify that the records of a journal are read back when it is opened again,
+	 * and that a record cut short is dropped
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testRecoveryDropsTornRecord() throws IOException{
+		Path file = Files.createTempFile("journal", ".bin");
+		Files.delete(file);
+		try{
+			try(MatchJournal journal = MatchJournal.open(file, 2)){
+				Assert.assertEquals(journal.getNumOfRecoveredMatches(), 0);
+				for(int i = 0; i < 1000; i++){
+					journal.append(i, i + 1000, MatchFactory.SPORT_TYPE_CRICKET, i % 2 == 0 ? i : i + 1000);
+				}
+			}
+			Files.write(file, new byte[]{1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+			try(MatchJournal journal = MatchJournal.open(file)){
+				Assert.assertEquals(Files.size(file), (MatchJournal.HEADER_INTS + 1000 * MatchJournal.RECORD_INTS) * Integer.BYTES);
+				Assert.assertEquals(journal.getNumOfRecoveredMatches(), 1000);
+				Assert.assertEquals(journal.getRecordedWinner(MatchFactory.SPORT_TYPE_CRICKET, 4, 1004), 4);
+				Assert.assertEquals(journal.getRecordedWinner(MatchFactory.SPORT_TYPE_CRICKET, 1007, 7), 1007);
+				Assert.assertEquals(journal.getRecordedWinner(MatchFactory.SPORT_TYPE_HOCKEY, 4, 1004), MatchJournal.NO_WINNER);
+				Assert.assertEquals(journal.getRecordedWinner(MatchFactory.SPORT_TYPE_CRICKET, 4, 5), MatchJournal.NO_WINNER);
+				journal.append(4, 5, MatchFactory.SPORT_TYPE_CRICKET, 5);
+			}
+
+			try(MatchJournal journal = MatchJournal.open(file)){
+				Assert.assertEquals(journal.getNumOfRecords(), 1001);
+				Assert.assertEquals(journal.getRecordedWinner(MatchFactory.SPORT_TYPE_CRICKET, 5, 4), 5);
+			}
+		}
+		finally{
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Method to verify that the engines playing on several threads still serialize the use of 
+	 * a @link Match specified by the user when the matches are persisted
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testSharedMatchIsSerializedWhenJournaled() throws IOException{
+		int[] teams = Matches.shuffledTeams(16384, 19);
+		for(int engineMode : new int[]{Olympics.ENGINE_MODE_PARALLEL, Olympics.ENGINE_MODE_ASYNC}){
+			Path file = Files.createTempFile("journal", ".bin");
+			Files.delete(file);
+			try{
+				Matches.SerialHigherTeamWinsMatch match = new Matches.SerialHigherTeamWinsMatch();
+				Olympics olympics = new Olympics(match);
+				olympics.setEngineMode(engineMode);
+				Olympics.Result result = olympics.playWithJournal(teams, MatchFactory.SPORT_TYPE_HOCKEY, file);
+
+				Assert.assertEquals(result.mResult.mFirstWinner, 16384);
+				Assert.assertEquals(result.mResult.mSecondWinner, 16383);
+				Assert.assertEquals(match.getNumOfOverlaps(), 0);
+				try(MatchJournal journal = MatchJournal.open(file)){
+					Assert.assertTrue(journal.getNumOfRecords() >= 16383);
+				}
+			}
+			finally{
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	/**
+	 * Method to verify that a file cut short while its header was written is started again
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testTornHeaderStartsNewJournal() throws IOException{
+		Path file = Files.createTempFile("journal", ".bin");
+		try{
+			Files.write(file, new byte[]{0x4F, 0x59, 0x52, 0x4A, 1, 0});
+			try(MatchJournal journal = MatchJournal.open(file)){
+				Assert.assertEquals(journal.getNumOfRecoveredMatches(), 0);
+				journal.append(1, 2, MatchFactory.SPORT_TYPE_HOCKEY, 2);
+			}
+
+			try(MatchJournal journal = MatchJournal.open(file)){
+				Assert.assertEquals(journal.getNumOfRecords(), 1);
+				Assert.assertEquals(journal.getRecordedWinner(MatchFactory.SPORT_TYPE_HOCKEY, 1, 2), 2);
+			}
+		}
+		finally{
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Method to verify that a file which is not a journal is rejected
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test(expected = IOException.class)
+	public void testInvalidJournal() throws IOException{
+		Path file = Files.createTempFile("journal", ".bin");
+		try{
+			Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+			MatchJournal.open(file).close();
+		}
+		finally{
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/*
+	 * Match counting the matches played, which fails once it has played a given number of matches
+	 * */
+
+	private static class CountingMatch extends Matches.PairHashMatch {
+
+		private final int mMaxNumOfPlays;
+		private int mNumOfPlays = 0;
+
+		CountingMatch(int maxNumOfPlays){
+			mMaxNumOfPlays = maxNumOfPlays;
+		}
+
+		@Override
+		public void play(int team1, int team2, int matchType){
+			if(mNumOfPlays == mMaxNumOfPlays){
+				throw new IllegalStateException("interrupted");
+			}
+			mNumOfPlays++;
+			super.play(team1, team2, matchType);
+		}
+	}
+}
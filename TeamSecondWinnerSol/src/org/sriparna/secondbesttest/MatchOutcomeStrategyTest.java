@@ -0,0 +1,133 @@
+package org.sriparna.secondbesttest;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.Match;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.Olympics;
+import org.sriparna.secondbest.PairHashOutcomeStrategy;
+import org.sriparna.secondbest.RandomOutcomeStrategy;
+import org.sriparna.secondbest.RatingOutcomeStrategy;
+
+/**
+ * Class to test the implementations of MatchOutcomeStrategy
+ *
+ * @author SriparnaChakraborty
+ *
+ * */
+
+public class MatchOutcomeStrategyTest {
+
+	@After
+	public void tearDown(){
+		MatchFactory.setOutcomeStrategy(MatchFactory.SPORT_TYPE_CRICKET, null);
+	}
+
+	/**
+	 * Method to verify that the random strategy gives both teams a fair chance, and that
+	 * the same seed gives the same outcomes on a single thread
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testRandomStrategyIsFairAndReproducible(){
+		RandomOutcomeStrategy strategy1 = new RandomOutcomeStrategy(42);
+		RandomOutcomeStrategy strategy2 = new RandomOutcomeStrategy(42);
+		int numOfFirstTeamWins = 0;
+		for(int i = 0; i < 10000; i++){
+			int winner = strategy1.decideWinner(1, 2, MatchFactory.SPORT_TYPE_HOCKEY);
+			Assert.assertEquals(strategy2.decideWinner(1, 2, MatchFactory.SPORT_TYPE_HOCKEY), winner);
+			if(winner == 1){
+				numOfFirstTeamWins++;
+			}
+		}
+		Assert.assertTrue(numOfFirstTeamWins > 4500 && numOfFirstTeamWins < 5500);
+		Assert.assertFalse(strategy1.isDeterministic());
+	}
+
+	/**
+	 * Method to verify that the pair hash strategy does not depend on the order of the teams
+	 * and that every team wins about half of its matches
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testPairHashStrategyIsSymmetricAndBalanced(){
+		PairHashOutcomeStrategy strategy = new PairHashOutcomeStrategy(7);
+		int numOfLowerTeamWins = 0;
+		for(int team1 = 0; team1 < 100; team1++){
+			for(int team2 = team1 + 1; team2 < 100; team2++){
+				int winner = strategy.decideWinner(team1, team2, MatchFactory.SPORT_TYPE_HOCKEY);
+				Assert.assertEquals(strategy.decideWinner(team2, team1, MatchFactory.SPORT_TYPE_HOCKEY), winner);
+				if(winner == team1){
+					numOfLowerTeamWins++;
+				}
+			}
+		}
+		Assert.assertTrue(numOfLowerTeamWins > 4950 * 0.45 && numOfLowerTeamWins < 4950 * 0.55);
+		Assert.assertTrue(strategy.isDeterministic());
+	}
+
+	/**
+	 * Method to verify that the team with the higher rating wins, so the series is won by the
+	 * team with the highest rating and the second winner has the next highest rating
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testRatingStrategyDecidesSeries(){
+		RatingOutcomeStrategy strategy = new RatingOutcomeStrategy(1000, 1);
+		int[] teams = Matches.shuffledTeams(500, 3);
+		for(int team : teams){
+			strategy.setRating(team, 5000 - 7 * team);
+		}
+
+		Match match = new Match();
+		match.setOutcomeStrategy(strategy);
+		Assert.assertTrue(match.isDeterministic());
+
+		Olympics.Result result = new Olympics(match).play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+		Assert.assertEquals(result.mResult.mFirstWinner, 1);
+		Assert.assertEquals(result.mResult.mSecondWinner, 2);
+		Assert.assertEquals(strategy.getRating(1000), 1000);
+	}
+
+	/**
+	 * Method to verify that the strategy of a sport is used by the @link Match objects handed out
+	 * by MatchFactory, including the ones already in its pool
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testFactoryStrategy(){
+		Match pooled = MatchFactory.borrowMatchInstance(MatchFactory.SPORT_TYPE_CRICKET);
+		MatchFactory.returnMatchInstance(MatchFactory.SPORT_TYPE_CRICKET, pooled);
+
+		PairHashOutcomeStrategy strategy = new PairHashOutcomeStrategy(11);
+		MatchFactory.setOutcomeStrategy(MatchFactory.SPORT_TYPE_CRICKET, strategy);
+
+		Match match = MatchFactory.borrowMatchInstance(MatchFactory.SPORT_TYPE_CRICKET);
+		Assert.assertSame(match.getOutcomeStrategy(), strategy);
+		MatchFactory.returnMatchInstance(MatchFactory.SPORT_TYPE_CRICKET, match);
+		Assert.assertSame(MatchFactory.getMatchInstance(MatchFactory.SPORT_TYPE_CRICKET).getOutcomeStrategy(), strategy);
+		Assert.assertNull(MatchFactory.getMatchInstance(MatchFactory.SPORT_TYPE_HOCKEY).getOutcomeStrategy());
+
+		int[] teams = Matches.shuffledTeams(100, 5);
+		Olympics.Result result1 = new Olympics().play(teams, MatchFactory.SPORT_TYPE_CRICKET);
+		Olympics.Result result2 = new Olympics().play(teams, MatchFactory.SPORT_TYPE_CRICKET);
+		Assert.assertEquals(result1.mResult.mFirstWinner, result2.mResult.mFirstWinner);
+		Assert.assertEquals(result1.mResult.mSecondWinner, result2.mResult.mSecondWinner);
+
+		MatchFactory.setOutcomeStrategy(MatchFactory.SPORT_TYPE_CRICKET, null);
+		Assert.assertNull(MatchFactory.borrowMatchInstance(MatchFactory.SPORT_TYPE_CRICKET).getOutcomeStrategy());
+	}
+}
@@ -0,0 +1,152 @@
+package org.sriparna.secondbesttest;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.CachingMatch;
+import org.sriparna.secondbest.LoggingMatch;
+import org.sriparna.secondbest.Match;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.MatchLog;
+import org.sriparna.secondbest.MatchPool;
+import org.sriparna.secondbest.MatchResultCache;
+import org.sriparna.secondbest.Olympics;
+
+/**
+ * Class to test MatchResultCache
+ * 
+ * @author SriparnaChakraborty
+ * 
+ * */
+
+public class MatchResultCacheTest {
+	
+	/**
+	 * Method to verify that results are found for the same sport and ordered pair only
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testLookupAfterPut(){
+		MatchResultCache cache = new MatchResultCache(16);
+		cache.put(MatchFactory.SPORT_TYPE_HOCKEY, 7, -3, -3);
+		
+		Assert.assertEquals(cache.lookup(MatchFactory.SPORT_TYPE_HOCKEY, 7, -3), MatchResultCache.OUTCOME_TEAM2_WON);
+		Assert.assertEquals(cache.lookup(MatchFactory.SPORT_TYPE_HOCKEY, -3, 7), MatchResultCache.OUTCOME_UNKNOWN);
+		Assert.assertEquals(cache.lookup(MatchFactory.SPORT_TYPE_CRICKET, 7, -3), MatchResultCache.OUTCOME_UNKNOWN);
+		Assert.assertEquals(cache.getHitCount(), 1);
+		Assert.assertEquals(cache.getMissCount(), 2);
+	}
+	
+	/**
+	 * Method to verify that the cache never holds more than its capacity
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testCacheIsBounded(){
+		MatchResultCache cache = new MatchResultCache(64);
+		for(int i = 0; i < 1000; i++){
+			cache.put(MatchFactory.SPORT_TYPE_HOCKEY, i, i + 1, i);
+		}
+		
+		int found = 0;
+		for(int i = 0; i < 1000; i++){
+			if(cache.lookup(MatchFactory.SPORT_TYPE_HOCKEY, i, i + 1) == MatchResultCache.OUTCOME_TEAM1_WON){
+				found++;
+			}
+		}
+		Assert.assertTrue(found <= cache.getCapacity());
+		Assert.assertEquals(cache.getEvictionCount(), 1000 - cache.getCapacity());
+	}
+	
+	/**
+	 * Method to verify that a series played again with a cache plays no match, 
+	 * unless the @link Match is not deterministic
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testSeriesReusesCachedResults(){
+		final int[] numOfMatches = new int[1];
+		final boolean[] deterministic = new boolean[]{true};
+		Match match = new Matches.HigherTeamWinsMatch(){
+			@Override
+			public void play(int team1, int team2, int matchType){
+				numOfMatches[0]++;
+				super.play(team1, team2, matchType);
+			}
+			
+			@Override
+			public boolean isDeterministic(){
+				return deterministic[0];
+			}
+		};
+		
+		for(int engineMode : new int[]{Olympics.ENGINE_MODE_QUEUE, Olympics.ENGINE_MODE_PRIMITIVE}){
+			Olympics olympics = new Olympics(match);
+			olympics.setEngineMode(engineMode);
+			olympics.setResultCache(new MatchResultCache(1024));
+			deterministic[0] = true;
+			
+			olympics.play(Inputs.validInputEven1, MatchFactory.SPORT_TYPE_HOCKEY);
+			numOfMatches[0] = 0;
+			Olympics.Result result = olympics.play(Inputs.validInputEven1, MatchFactory.SPORT_TYPE_HOCKEY);
+			Assert.assertEquals(numOfMatches[0], 0);
+			Assert.assertEquals(result.mResult.mFirstWinner, 6);
+			Assert.assertEquals(result.mResult.mSecondWinner, 5);
+			
+			deterministic[0] = false;
+			olympics.play(Inputs.validInputEven1, MatchFactory.SPORT_TYPE_HOCKEY);
+			Assert.assertTrue(numOfMatches[0] > 0);
+		}
+	}
+	
+	/**
+	 * Method to verify that only the objects of a pool are handed back to it, even when the cache 
+	 * and the log are cleared while a series is being played, and that series are still played
+	 * correctly once the decorators wrapped around the objects are reused
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testDecoratorsAreNotReturnedToPool(){
+		final Olympics[] olympics = new Olympics[1];
+		MatchPool pool = new MatchPool(MatchFactory.SPORT_TYPE_HOCKEY, 4, () -> new Matches.HigherTeamWinsMatch(){
+			@Override
+			public void play(int team1, int team2, int matchType){
+				olympics[0].setResultCache(null);
+				olympics[0].setMatchLog(null);
+				super.play(team1, team2, matchType);
+			}
+		});
+		olympics[0] = new Olympics(pool);
+		olympics[0].setResultCache(new MatchResultCache(64));
+		olympics[0].setMatchLog(new MatchLog(4));
+		olympics[0].play(Matches.shuffledTeams(8, 1), MatchFactory.SPORT_TYPE_HOCKEY);
+		
+		Match match = pool.borrowMatch();
+		Assert.assertFalse(match instanceof CachingMatch);
+		Assert.assertFalse(match instanceof LoggingMatch);
+		Assert.assertEquals(pool.getHitCount(), 1);
+		pool.returnMatch(match);
+		
+		MatchLog log = new MatchLog(4);
+		Olympics reused = new Olympics(new MatchPool(MatchFactory.SPORT_TYPE_HOCKEY, 4, Matches.HigherTeamWinsMatch::new));
+		reused.setMatchLog(log);
+		reused.setResultCache(new MatchResultCache(64));
+		for(int i = 0; i < 10; i++){
+			Olympics.Result result = reused.play(Matches.shuffledTeams(8, i), MatchFactory.SPORT_TYPE_HOCKEY);
+			Assert.assertEquals(result.mResult.mFirstWinner, 8);
+			Assert.assertEquals(result.mResult.mSecondWinner, 7);
+		}
+		Assert.assertEquals(log.size(), 10 * 9);
+	}
+}
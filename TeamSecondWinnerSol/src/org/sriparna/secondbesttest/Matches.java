@@ -0,0 +1,130 @@
+package org.sriparna.secondbesttest;
+
+import org.sriparna.secondbest.Match;
+
+/**
+ * class which provides deterministic @link Match implementations for testing
+ * 
+ * @author SriparnaChakraborty
+ * 
+ * */
+
+public class Matches {
+
+	/**
+	 * Match in which the first of the two teams provided as input is always the winner
+	 * */
+	
+	public static class FirstTeamWinsMatch extends Match{
+		
+		@Override
+		public void play(int team1, int team2, int matchType){
+			super.play(team1, team2, matchType);
+			mWinner = team1;
+		}
+		
+		@Override
+		public boolean isDeterministic(){
+			return true;
+		}
+	}
+	
+	/**
+	 * Match in which the team with the higher id is always the winner. 
+	 * So the first winner is the highest id and the second winner is the 
+	 * next highest id, irrespective of the order in which matches are played.
+	 * */
+	
+	public static class HigherTeamWinsMatch extends Match{
+		
+		@Override
+		public void play(int team1, int team2, int matchType){
+			super.play(team1, team2, matchType);
+			mWinner = Math.max(team1, team2);
+		}
+		
+		@Override
+		public boolean isDeterministic(){
+			return true;
+		}
+	}
+	
+	/**
+	 * Match in which the winner depends only on the two teams provided as input, 
+	 * but not in a way which is consistent with any ordering of the teams.
+	 * */
+	
+	public static class PairHashMatch extends Match{
+		
+		@Override
+		public void play(int team1, int team2, int matchType){
+			super.play(team1, team2, matchType);
+			int hash = (team1 * 31 + team2) * 0x9E3779B9;
+			mWinner = ((hash >>> 16) & 1) == 0 ? team1 : team2;
+		}
+		
+		@Override
+		public boolean isDeterministic(){
+			return true;
+		}
+	}
+	
+	/**
+	 * Match in which the team with the higher id is always the winner, which counts the calls 
+	 * made while another thread is playing it. A @link Match holds state, so a shared one 
+	 * should never be played by two threads at once.
+	 * */
+	
+	public static class SerialHigherTeamWinsMatch extends HigherTeamWinsMatch{
+		
+		private final java.util.concurrent.atomic.AtomicInteger mNumOfCallsInFlight = 
+				new java.util.concurrent.atomic.AtomicInteger();
+		private final java.util.concurrent.atomic.AtomicInteger mNumOfOverlaps = 
+				new java.util.concurrent.atomic.AtomicInteger();
+		
+		@Override
+		public void play(int team1, int team2, int matchType){
+			if(mNumOfCallsInFlight.getAndIncrement() != 0){
+				mNumOfOverlaps.incrementAndGet();
+			}
+			try{
+				super.play(team1, team2, matchType);
+				Thread.yield();
+			}
+			finally{
+				mNumOfCallsInFlight.decrementAndGet();
+			}
+		}
+		
+		/**
+		 * @return int the number of calls made while another thread was playing this match
+		 * */
+		
+		public int getNumOfOverlaps(){
+			return mNumOfOverlaps.get();
+		}
+	}
+	
+	/**
+	 * Returns an array holding the ids 1 ... numOfTeams in a shuffled order. 
+	 * 
+	 * @param numOfTeams the number of teams 
+	 * @param seed the seed used for shuffling
+	 * @return int[] the shuffled team ids
+	 * */
+	
+	public static int[] shuffledTeams(int numOfTeams, long seed){
+		java.util.Random random = new java.util.Random(seed);
+		int[] teams = new int[numOfTeams];
+		for(int i = 0; i < numOfTeams; i++){
+			teams[i] = i + 1;
+		}
+		for(int i = numOfTeams - 1; i > 0; i--){
+			int j = random.nextInt(i + 1);
+			int temp = teams[i];
+			teams[i] = teams[j];
+			teams[j] = temp;
+		}
+		return teams;
+	}
+}
@@ -0,0 +1,151 @@
+package org.sriparna.secondbesttest;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.Olympics;
+import org.sriparna.secondbest.OlympicsMetrics;
+
+/**
+ * Class to test OlympicsMetrics
+ *
+ * @author SriparnaChakraborty
+ *
+ * */
+
+public class OlympicsMetricsTest {
+
+	@After
+	public void tearDown(){
+		MatchFactory.setMetrics(null);
+	}
+
+	/**
+	 * Method to verify that the queue engine and the primitive engine record the same matches,
+	 * and that the primitive engine records its rounds
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testEnginesRecordMatches(){
+		int[] teams = Matches.shuffledTeams(1000, 13);
+
+		OlympicsMetrics queueMetrics = new OlympicsMetrics();
+		Olympics olympics = new Olympics(new Matches.HigherTeamWinsMatch());
+		olympics.setMetrics(queueMetrics);
+		olympics.play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+
+		OlympicsMetrics primitiveMetrics = new OlympicsMetrics();
+		olympics.setMetrics(primitiveMetrics);
+		olympics.setEngineMode(Olympics.ENGINE_MODE_PRIMITIVE);
+		olympics.play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+
+		OlympicsMetrics.Snapshot queue = queueMetrics.snapshot();
+		OlympicsMetrics.Snapshot primitive = primitiveMetrics.snapshot();
+
+		Assert.assertEquals(queue.mSeriesPlayed, 1);
+		Assert.assertEquals(primitive.mSeriesPlayed, 1);
+		Assert.assertEquals(queue.mMatchesPlayed, primitive.mMatchesPlayed);
+		Assert.assertEquals(queue.mRunnerUpMatches, primitive.mRunnerUpMatches);
+		Assert.assertEquals(queue.mMatchesPlayed, 999 + queue.mRunnerUpMatches);
+		Assert.assertEquals(queue.mDefeatedListSizes.mMax, queue.mRunnerUpMatches + 1);
+		Assert.assertEquals(queue.mMaxQueueDepth, 1000);
+		Assert.assertEquals(primitive.mMaxQueueDepth, 1000);
+		Assert.assertEquals(queue.mMatchLatency.mCount, queue.mMatchesPlayed);
+		Assert.assertEquals(primitive.mMatchLatency.mCount, primitive.mMatchesPlayed);
+		Assert.assertTrue(primitive.mRoundsPlayed >= 10);
+		Assert.assertTrue(queue.mSeriesNanos >= queue.mMatchNanos);
+
+		olympics.setMetrics(null);
+		olympics.play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+		Assert.assertEquals(primitiveMetrics.snapshot().mSeriesPlayed, 1);
+	}
+
+	/**
+	 * Method to verify that the parallel engine and the async engine record the same rounds
+	 * as the primitive engine
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testEnginesRecordRounds(){
+		int[] teams = Matches.shuffledTeams(1000, 17);
+		Olympics olympics = new Olympics(new Matches.HigherTeamWinsMatch());
+
+		OlympicsMetrics.Snapshot[] snapshots = new OlympicsMetrics.Snapshot[3];
+		int[] engineModes = {Olympics.ENGINE_MODE_PRIMITIVE, Olympics.ENGINE_MODE_PARALLEL, Olympics.ENGINE_MODE_ASYNC};
+		for(int i = 0; i < engineModes.length; i++){
+			OlympicsMetrics metrics = new OlympicsMetrics();
+			olympics.setMetrics(metrics);
+			olympics.setEngineMode(engineModes[i]);
+			olympics.play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+			snapshots[i] = metrics.snapshot();
+		}
+
+		for(int i = 1; i < snapshots.length; i++){
+			Assert.assertEquals(snapshots[i].mSeriesPlayed, 1);
+			Assert.assertEquals(snapshots[i].mRoundsPlayed, snapshots[0].mRoundsPlayed);
+			Assert.assertEquals(snapshots[i].mMatchesPlayed, snapshots[0].mMatchesPlayed);
+			Assert.assertEquals(snapshots[i].mRunnerUpMatches, snapshots[0].mRunnerUpMatches);
+			Assert.assertEquals(snapshots[i].mMaxQueueDepth, 1000);
+			Assert.assertEquals(snapshots[i].mMatchLatency.mCount, snapshots[i].mMatchesPlayed);
+		}
+	}
+
+	/**
+	 * Method to verify that the percentiles of a histogram are within its precision
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testHistogramPercentiles(){
+		OlympicsMetrics.Histogram histogram = new OlympicsMetrics.Histogram();
+		for(long value = 1; value <= 100000; value++){
+			histogram.record(value, 1);
+		}
+		OlympicsMetrics.HistogramSnapshot snapshot = histogram.snapshot();
+
+		Assert.assertEquals(snapshot.mCount, 100000);
+		Assert.assertEquals(snapshot.mMax, 100000);
+		Assert.assertEquals(snapshot.getValueAtPercentile(0), 1);
+		Assert.assertEquals(snapshot.getValueAtPercentile(100), 100000 - 100000 % 2048);
+		assertWithin(snapshot.getValueAtPercentile(50), 50000);
+		assertWithin(snapshot.getValueAtPercentile(99), 99000);
+		assertWithin(snapshot.getValueAtPercentile(99.9), 99900);
+	}
+
+	/**
+	 * Method to verify that the @link Match objects created by @link MatchFactory are counted
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testMatchInstancesCreatedAreCounted(){
+		OlympicsMetrics metrics = new OlympicsMetrics();
+		MatchFactory.setMetrics(metrics);
+		MatchFactory.getMatchInstance(MatchFactory.SPORT_TYPE_SWIMMING);
+		MatchFactory.getMatchInstance(MatchFactory.SPORT_TYPE_CRICKET);
+		MatchFactory.setMetrics(null);
+		MatchFactory.getMatchInstance(MatchFactory.SPORT_TYPE_CRICKET);
+
+		Assert.assertEquals(metrics.snapshot().mMatchInstancesCreated, 2);
+	}
+
+	/*
+	 * Checks that a value of the histogram is at most 1 / 32 below the expected value
+	 * */
+
+	private static void assertWithin(long value, long expected){
+		Assert.assertTrue(value <= expected);
+		Assert.assertTrue(value >= expected - expected / 32);
+	}
+}
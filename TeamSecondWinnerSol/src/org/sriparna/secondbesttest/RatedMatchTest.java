@@ -0,0 +1,147 @@
+package org.sriparna.secondbesttest;
+
+import java.util.SplittableRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.CricketMatch;
+import org.sriparna.secondbest.HockeyMatch;
+import org.sriparna.secondbest.Match;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.PairHashOutcomeStrategy;
+import org.sriparna.secondbest.RatedMatch;
+import org.sriparna.secondbest.RatingTable;
+import org.sriparna.secondbest.SwimmingMatch;
+
+/**
+ * Class to test RatedMatch, its subclasses and RatingTable
+ *
+ * @author SriparnaChakraborty
+ *
+ * */
+
+public class RatedMatchTest {
+
+	/**
+	 * Method to verify that a team rated SCALE points above its opponent wins 10 matches out of 11
+	 * and that teams with the same rating win half of their matches
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testOutcomesFollowRatings(){
+		RatingTable ratings = new RatingTable();
+		for(int team = 0; team < 10000; team++){
+			ratings.setRating(team, RatingTable.DEFAULT_RATING + HockeyMatch.SCALE);
+		}
+		HockeyMatch match = new HockeyMatch(ratings);
+
+		int numOfFavouriteWins = 0;
+		int numOfFirstTeamWins = 0;
+		for(int team = 0; team < 10000; team++){
+			match.play(team + 10000, team, MatchFactory.SPORT_TYPE_HOCKEY);
+			if(match.getWinner() == team){
+				numOfFavouriteWins++;
+			}
+			match.recycle();
+
+			match.play(team + 10000, team + 20000, MatchFactory.SPORT_TYPE_HOCKEY);
+			if(match.getWinner() == team + 10000){
+				numOfFirstTeamWins++;
+			}
+			match.recycle();
+		}
+		Assert.assertTrue(numOfFavouriteWins > 8800 && numOfFavouriteWins < 9400);
+		Assert.assertTrue(numOfFirstTeamWins > 4700 && numOfFirstTeamWins < 5300);
+		Assert.assertFalse(match.isDeterministic());
+	}
+
+	/**
+	 * Method to verify that a round scored by RatedMatch#playRound has the same winners as
+	 * matches played one by one, including teams without a rating
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testPlayRoundMatchesPlay(){
+		SplittableRandom random = new SplittableRandom(3);
+		RatingTable ratings = new RatingTable(1200f, 16);
+		for(int team = 0; team < 500; team++){
+			ratings.setRating(team, 800 + random.nextInt(1000));
+		}
+
+		int count = 1000;
+		int[] left = new int[count + 1];
+		int[] right = new int[count + 1];
+		int[] winners = new int[count + 1];
+		for(int i = 1; i <= count; i++){
+			left[i] = random.nextInt(600) - 50;
+			right[i] = random.nextInt(600) - 50;
+		}
+
+		RatedMatch match = new CricketMatch(ratings);
+		match.setSeed(17);
+		match.playRound(left, right, winners, 1, count, MatchFactory.SPORT_TYPE_CRICKET);
+		for(int i = 1; i <= count; i++){
+			match.play(left[i], right[i], MatchFactory.SPORT_TYPE_CRICKET);
+			Assert.assertEquals(winners[i], match.getWinner());
+			match.recycle();
+		}
+		Assert.assertEquals(winners[0], 0);
+		Assert.assertEquals(ratings.getRating(-3), 1200f, 0f);
+	}
+
+	/**
+	 * Method to verify that the factory hands out a subclass of RatedMatch per sport using the ratings
+	 * of the sport, and that an outcome strategy takes precedence over the ratings
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testFactoryInstances(){
+		Match match = MatchFactory.getMatchInstance(MatchFactory.SPORT_TYPE_SWIMMING);
+		Assert.assertTrue(match instanceof SwimmingMatch);
+		Assert.assertSame(((RatedMatch) match).getRatings(), MatchFactory.getRatingTable(MatchFactory.SPORT_TYPE_SWIMMING));
+		Assert.assertNull(MatchFactory.getRatingTable(42));
+
+		RatingTable ratings = new RatingTable();
+		ratings.setRating(1, 0f);
+		RatedMatch rated = new HockeyMatch(ratings);
+		rated.play(1, 2, MatchFactory.SPORT_TYPE_HOCKEY);
+		Assert.assertEquals(rated.getWinner(), 2);
+		rated.recycle();
+
+		PairHashOutcomeStrategy strategy = new PairHashOutcomeStrategy(5);
+		rated.setOutcomeStrategy(strategy);
+		int[] winners = new int[1];
+		rated.playRound(new int[]{1}, new int[]{2}, winners, 0, 1, MatchFactory.SPORT_TYPE_HOCKEY);
+		Assert.assertEquals(winners[0], strategy.decideWinner(1, 2, MatchFactory.SPORT_TYPE_HOCKEY));
+		Assert.assertTrue(rated.isDeterministic());
+	}
+
+	/**
+	 * Method to verify that RatingTable grows to hold any team id and rejects negative ids
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRatingTableGrows(){
+		RatingTable ratings = new RatingTable(1000f, 4);
+		ratings.setRating(3, 1100f);
+		ratings.setRating(100, 900f);
+		ratings.addToRating(100, 25f);
+		Assert.assertTrue(ratings.capacity() > 100);
+		Assert.assertEquals(ratings.getRating(3), 1100f, 0f);
+		Assert.assertEquals(ratings.getRating(100), 925f, 0f);
+		Assert.assertEquals(ratings.getRating(99), 1000f, 0f);
+		ratings.setRating(-1, 1000f);
+	}
+}
@@ -0,0 +1,154 @@
+package org.sriparna.secondbesttest;
+
+import java.util.SplittableRandom;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.HockeyMatch;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.MatchLog;
+import org.sriparna.secondbest.Olympics;
+import org.sriparna.secondbest.RatingTable;
+import org.sriparna.secondbest.RatingUpdater;
+
+/**
+ * Class to test MatchLog and RatingUpdater
+ *
+ * @author SriparnaChakraborty
+ *
+ * */
+
+public class RatingUpdaterTest {
+
+	/**
+	 * Method to verify that every match of a series is logged, whether the engine plays matches
+	 * one at a time or whole rounds at once
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testMatchesAreLogged(){
+		int[] teams = Matches.shuffledTeams(100, 9);
+		for(int engineMode : new int[]{Olympics.ENGINE_MODE_QUEUE, Olympics.ENGINE_MODE_PRIMITIVE}){
+			MatchLog log = new MatchLog(4);
+			Olympics olympics = new Olympics(new Matches.HigherTeamWinsMatch());
+			olympics.setEngineMode(engineMode);
+			olympics.setMatchLog(log);
+			olympics.play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+
+			Assert.assertTrue(log.size() >= 99);
+			int numOfWinsOfBest = 0;
+			for(int i = 0; i < log.size(); i++){
+				Assert.assertEquals(log.getWinner(i), Math.max(log.getTeam1(i), log.getTeam2(i)));
+				if(log.getWinner(i) == 100){
+					numOfWinsOfBest++;
+				}
+			}
+			Assert.assertEquals(numOfWinsOfBest, 7);
+
+			olympics.setMatchLog(null);
+			int size = log.size();
+			olympics.play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+			Assert.assertEquals(log.size(), size);
+		}
+	}
+
+	/**
+	 * Method to verify that the engines playing on several threads still serialize the use of 
+	 * a @link Match specified by the user when the matches are logged
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testSharedMatchIsSerializedWhenLogged(){
+		int[] teams = Matches.shuffledTeams(16384, 11);
+		MatchLog expectedLog = new MatchLog();
+		Olympics sequential = new Olympics(new Matches.HigherTeamWinsMatch());
+		sequential.setEngineMode(Olympics.ENGINE_MODE_PRIMITIVE);
+		sequential.setMatchLog(expectedLog);
+		sequential.play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+
+		for(int engineMode : new int[]{Olympics.ENGINE_MODE_PARALLEL, Olympics.ENGINE_MODE_ASYNC}){
+			MatchLog log = new MatchLog();
+			Matches.SerialHigherTeamWinsMatch match = new Matches.SerialHigherTeamWinsMatch();
+			Olympics olympics = new Olympics(match);
+			olympics.setEngineMode(engineMode);
+			olympics.setMatchLog(log);
+			Olympics.Result result = olympics.play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+
+			Assert.assertEquals(result.mResult.mFirstWinner, 16384);
+			Assert.assertEquals(result.mResult.mSecondWinner, 16383);
+			Assert.assertEquals(match.getNumOfOverlaps(), 0);
+			Assert.assertEquals(log.size(), expectedLog.size());
+		}
+	}
+
+	/**
+	 * Method to verify the changes of rating, which are computed from the ratings before the log
+	 * so that they do not depend on the order of the matches
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testRatingsAreUpdated(){
+		RatingTable ratings = new RatingTable();
+		ratings.setRating(3, RatingTable.DEFAULT_RATING + HockeyMatch.SCALE);
+		RatingUpdater updater = new RatingUpdater(new HockeyMatch(ratings));
+
+		MatchLog log = new MatchLog();
+		log.add(1, 2, 1);
+		log.add(3, 1, 1);
+		log.add(-5, 2, -5);
+		updater.update(log);
+
+		float upset = RatingUpdater.DEFAULT_K_FACTOR * 10f / 11f;
+		float even = RatingUpdater.DEFAULT_K_FACTOR / 2f;
+		Assert.assertEquals(ratings.getRating(1), RatingTable.DEFAULT_RATING + even + upset, 1e-3);
+		Assert.assertEquals(ratings.getRating(2), RatingTable.DEFAULT_RATING - even - even, 1e-3);
+		Assert.assertEquals(ratings.getRating(3), RatingTable.DEFAULT_RATING + HockeyMatch.SCALE - upset, 1e-3);
+		Assert.assertEquals(ratings.getRating(-5), RatingTable.DEFAULT_RATING, 0);
+	}
+
+	/**
+	 * Method to verify that logs processed in parallel lose no update, since every match moves
+	 * as many points from the loser to the winner the sum of the ratings does not change
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testParallelUpdatesKeepSum(){
+		int numOfTeams = 300;
+		RatingTable ratings = new RatingTable(RatingTable.DEFAULT_RATING, 8);
+		RatingUpdater updater = new RatingUpdater(ratings, HockeyMatch.SCALE, 16f);
+
+		SplittableRandom random = new SplittableRandom(21);
+		MatchLog[] logs = new MatchLog[200];
+		for(int t = 0; t < logs.length; t++){
+			logs[t] = new MatchLog();
+			for(int i = 0; i < 500; i++){
+				int team1 = random.nextInt(numOfTeams);
+				int team2 = random.nextInt(numOfTeams);
+				logs[t].add(team1, team2, random.nextBoolean() ? team1 : team2);
+			}
+		}
+		updater.updateAll(logs);
+
+		double sum = 0;
+		double spread = 0;
+		for(int team = 0; team < numOfTeams; team++){
+			sum += ratings.getRating(team);
+			spread += Math.abs(ratings.getRating(team) - RatingTable.DEFAULT_RATING);
+		}
+		Assert.assertEquals(sum, numOfTeams * (double) RatingTable.DEFAULT_RATING, 1);
+		Assert.assertTrue(spread > numOfTeams);
+		Assert.assertTrue(ratings.capacity() >= numOfTeams);
+	}
+}
@@ -0,0 +1,125 @@
+package org.sriparna.secondbesttest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.Bracket;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.Olympics;
+import org.sriparna.secondbest.ResultArchive;
+import org.sriparna.secondbest.ResultWriter;
+
+/**
+ * Class to test ResultWriter and ResultArchive
+ *
+ * @author SriparnaChakraborty
+ *
+ * */
+
+public class ResultArchiveTest {
+
+	/**
+	 * Method to verify that results written in several batches are read back unchanged
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testResultsAreReadBack() throws IOException{
+		Path file = Files.createTempFile("results", ".bin");
+		try{
+			Olympics olympics = new Olympics(new Matches.HigherTeamWinsMatch());
+			try(ResultWriter writer = new ResultWriter(file)){
+				for(int i = 0; i < 10000; i++){
+					writer.write(olympics.play(Matches.shuffledTeams(i % 5, i), MatchFactory.SPORT_TYPE_HOCKEY));
+				}
+			}
+			Assert.assertEquals(Files.size(file), 16 + 10000 * ResultWriter.RECORD_SIZE);
+
+			try(ResultArchive archive = ResultArchive.open(file)){
+				Assert.assertEquals(archive.size(), 10000);
+				for(int i = 0; i < 10000; i++){
+					Olympics.Result expected = olympics.play(Matches.shuffledTeams(i % 5, i), MatchFactory.SPORT_TYPE_HOCKEY);
+					Assert.assertEquals(archive.getErrorCode(i), expected.mErrorCode);
+					Assert.assertEquals(archive.getFirstWinner(i), expected.mResult.mFirstWinner);
+					Assert.assertEquals(archive.getSecondWinner(i), expected.mResult.mSecondWinner);
+				}
+				Assert.assertEquals(archive.getResult(9999).mResult.mFirstWinner, 4);
+			}
+		}
+		finally{
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Method to verify that a file which was not written by ResultWriter is rejected
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test(expected = IOException.class)
+	public void testInvalidArchive() throws IOException{
+		Path file = Files.createTempFile("results", ".bin");
+		try{
+			Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+			ResultArchive.open(file).close();
+		}
+		finally{
+			Files.deleteIfExists(file);
+		}
+	}
+
+	/**
+	 * Method to verify the layout of a bracket written by Bracket#writeTo
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testBracketIsWritten() throws IOException{
+		Bracket bracket = new Olympics(new Matches.HigherTeamWinsMatch()).playBracket(new int[]{5, 9, 2},
+				MatchFactory.SPORT_TYPE_HOCKEY);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		bracket.writeTo(Channels.newChannel(bytes));
+
+		ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+		Assert.assertEquals(buffer.remaining(), (4 + 2 + 7) * 4);
+		Assert.assertEquals(buffer.getInt(), ResultWriter.BRACKET_MAGIC);
+		Assert.assertEquals(buffer.getInt(), ResultWriter.VERSION);
+		Assert.assertEquals(buffer.getInt(), 4);
+		Assert.assertEquals(buffer.getInt(), 3);
+		Assert.assertEquals(buffer.getInt(), 9);
+		Assert.assertEquals(buffer.getInt(), 5);
+
+		int[] expected = {9, 9, 2, 5, 9, 2, Olympics.Result.Winners.INVALID_VALUE};
+		for(int value : expected){
+			Assert.assertEquals(buffer.getInt(), value);
+		}
+		Assert.assertEquals(buffer.remaining(), 0);
+	}
+
+	/**
+	 * Method to verify that the description of a result holds the winners
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testResultDescriptionHoldsWinners(){
+		String desc = new Olympics(new Matches.HigherTeamWinsMatch()).play(new int[]{3, 8, 6},
+				MatchFactory.SPORT_TYPE_HOCKEY).toString();
+		Assert.assertTrue(desc.endsWith("winner = 8  second winner = 6"));
+	}
+}
@@ -0,0 +1,128 @@
+package org.sriparna.secondbesttest;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.Match;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.MatchProvider;
+import org.sriparna.secondbest.Olympics;
+import org.sriparna.secondbest.RatingTable;
+import org.sriparna.secondbest.SportRegistry;
+
+/**
+ * Class to test SportRegistry
+ *
+ * @author SriparnaChakraborty
+ *
+ * */
+
+public class SportRegistryTest {
+
+	/*
+	 * Smallest type of the sports registered by the tests, far from the sports of MatchFactory
+	 * */
+
+	private static final int MIN_SPORT_TYPE_CHESS = 1000;
+
+	/**
+	 * Method to verify that the sports of MatchFactory are registered in order, and that no
+	 * provider has been skipped
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testBuiltInSports(){
+		int[] sports = SportRegistry.getSupportedSports();
+		for(int i = 0; i < 5; i++){
+			Assert.assertEquals(sports[i], MatchFactory.SPORT_TYPE_HOCKEY + i);
+			Assert.assertTrue(SportRegistry.isSupported(sports[i]));
+		}
+		Assert.assertEquals(MatchFactory.getReadableNameForSport(MatchFactory.SPORT_TYPE_SWIMMING), "swimming");
+		Assert.assertEquals(MatchFactory.getReadableNameForSport(42), "invalid");
+		Assert.assertTrue(SportRegistry.getLoadErrors().isEmpty());
+	}
+
+	/**
+	 * Method to verify that unknown sports, including types beyond the registered ones,
+	 * are rejected with an IllegalArgumentException
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testUnknownSportsAreRejected(){
+		Olympics olympics = new Olympics(new Matches.HigherTeamWinsMatch());
+		for(int sport : new int[]{0, -1, 42, Integer.MIN_VALUE, SportRegistry.MAX_TYPE_OF_SPORT + 1}){
+			Assert.assertFalse(SportRegistry.isSupported(sport));
+			try{
+				olympics.play(new int[]{1, 2, 3}, sport);
+				Assert.fail("the sport " + sport + " should be rejected");
+			}
+			catch(IllegalArgumentException e){
+			}
+		}
+	}
+
+	/**
+	 * Method to verify that a sport registered at runtime can be played, gets its own pool and
+	 * ratings, and cannot be registered twice
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testRegisterAtRuntime(){
+
+		/*
+		 * Sports cannot be unregistered, so every run registers an unused type
+		 * */
+
+		int typeOfSport = MIN_SPORT_TYPE_CHESS;
+		while(SportRegistry.isSupported(typeOfSport)){
+			typeOfSport++;
+		}
+		final int typeOfChess = typeOfSport;
+
+		MatchProvider provider = new MatchProvider(){
+
+			@Override
+			public int getTypeOfSport(){
+				return typeOfChess;
+			}
+
+			@Override
+			public String getReadableName(){
+				return "chess";
+			}
+
+			@Override
+			public Match newMatch(RatingTable ratings){
+				return new Matches.HigherTeamWinsMatch();
+			}
+		};
+		SportRegistry.register(provider);
+
+		Assert.assertSame(SportRegistry.getProvider(typeOfChess), provider);
+		Assert.assertEquals(MatchFactory.getReadableNameForSport(typeOfChess), "chess");
+		Assert.assertTrue(SportRegistry.getMaxTypeOfSport() >= typeOfChess);
+		Assert.assertNotNull(MatchFactory.getMatchPool(typeOfChess));
+		Assert.assertNotNull(MatchFactory.getRatingTable(typeOfChess));
+		Assert.assertNull(MatchFactory.getOutcomeStrategy(typeOfChess));
+
+		Olympics.Result result = new Olympics().play(new int[]{5, 9, 2, 7}, typeOfChess);
+		Assert.assertEquals(result.mErrorCode, Olympics.Result.RESULT_OK);
+		Assert.assertEquals(result.mResult.mFirstWinner, 9);
+		Assert.assertEquals(result.mResult.mSecondWinner, 7);
+
+		try{
+			SportRegistry.register(provider);
+			Assert.fail("a sport should not be registered twice");
+		}
+		catch(IllegalArgumentException e){
+		}
+	}
+}
@@ -0,0 +1,511 @@
+package org.sriparna.secondbesttest;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.Match;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.MatchPool;
+import org.sriparna.secondbest.Olympics;
+
+/**
+ * Class to test the different engines which can be selected in @link Olympics
+ * 
+ * @author SriparnaChakraborty
+ * 
+ * */
+
+public class TournamentEngineTest {
+	
+	/**
+	 * Method to verify the primitive engine gives the same results as the queue 
+	 * engine for the even and the odd input when the first team always wins
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testPrimitiveEngineWithValidInput(){
+		Olympics olympics = new Olympics(new Matches.FirstTeamWinsMatch());
+		olympics.setEngineMode(Olympics.ENGINE_MODE_PRIMITIVE);
+		
+		Olympics.Result result = olympics.play(Inputs.validInputEven1, MatchFactory.SPORT_TYPE_ARCHERY);
+		Assert.assertEquals(result.mErrorCode, Olympics.Result.RESULT_OK);
+		Assert.assertEquals(result.mResult.mFirstWinner, Inputs.validInputEven1First);
+		Assert.assertEquals(result.mResult.mSecondWinner, Inputs.validInputEven1Second);
+		
+		result = olympics.play(Inputs.validInputOdd1, MatchFactory.SPORT_TYPE_ARCHERY);
+		Assert.assertEquals(result.mErrorCode, Olympics.Result.RESULT_OK);
+		Assert.assertEquals(result.mResult.mFirstWinner, Inputs.validInputOdd1First);
+		Assert.assertEquals(result.mResult.mSecondWinner, Inputs.validInputOdd1Second);
+	}
+	
+	/**
+	 * Method to verify that the primitive engine plays the same matches as the queue engine
+	 * for a range of sizes, including 2 and 3 teams where the winner may have defeated only one team
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testPrimitiveEngineMatchesQueueEngine(){
+		assertEnginesAgree(Olympics.ENGINE_MODE_QUEUE, Olympics.ENGINE_MODE_PRIMITIVE, new Matches.PairHashMatch());
+	}
+	
+	/**
+	 * Method to verify that the primitive engine plays a whole round with one call to 
+	 * @link Match#playRound. With 8 teams the series has 3 rounds and the 3 teams 
+	 * defeated by the winner play 2 more rounds for the second position.
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testPrimitiveEnginePlaysWholeRounds(){
+		final int[] numOfRounds = new int[1];
+		Match match = new Matches.HigherTeamWinsMatch(){
+			@Override
+			public void playRound(int[] left, int[] right, int[] winnersOut, int offset, int count, int matchType){
+				numOfRounds[0]++;
+				super.playRound(left, right, winnersOut, offset, count, matchType);
+			}
+		};
+		Olympics olympics = new Olympics(match);
+		olympics.setEngineMode(Olympics.ENGINE_MODE_PRIMITIVE);
+		Olympics.Result result = olympics.play(new int[]{3, 8, 1, 6, 2, 7, 5, 4}, MatchFactory.SPORT_TYPE_HOCKEY);
+		
+		Assert.assertEquals(result.mResult.mFirstWinner, 8);
+		Assert.assertEquals(result.mResult.mSecondWinner, 7);
+		Assert.assertEquals(numOfRounds[0], 5);
+	}
+	
+	/**
+	 * Method to verify that the tree engine finds the two best teams in at most 
+	 * n + ceil(log2(n)) - 2 matches
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testTreeEngineFindsSecondBestInOptimalMatches(){
+		final int[] numOfMatches = new int[1];
+		Match match = new Matches.HigherTeamWinsMatch(){
+			@Override
+			public void play(int team1, int team2, int matchType){
+				numOfMatches[0]++;
+				super.play(team1, team2, matchType);
+			}
+		};
+		Olympics olympics = new Olympics(match);
+		olympics.setEngineMode(Olympics.ENGINE_MODE_TREE);
+		
+		for(int numOfTeams = 2; numOfTeams <= 300; numOfTeams++){
+			numOfMatches[0] = 0;
+			Olympics.Result result = olympics.play(Matches.shuffledTeams(numOfTeams, numOfTeams), 
+					MatchFactory.SPORT_TYPE_HOCKEY);
+			
+			int ceilLog2 = 32 - Integer.numberOfLeadingZeros(numOfTeams - 1);
+			Assert.assertEquals(result.mErrorCode, Olympics.Result.RESULT_OK);
+			Assert.assertEquals(result.mResult.mFirstWinner, numOfTeams);
+			Assert.assertEquals(result.mResult.mSecondWinner, numOfTeams - 1);
+			Assert.assertTrue(numOfMatches[0] <= numOfTeams + ceilLog2 - 2);
+		}
+	}
+	
+	/**
+	 * Method to verify that the tree engine finds the same winners as the queue engine 
+	 * when the outcome of the matches is consistent with a ranking of the teams
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testTreeEngineMatchesQueueEngine(){
+		assertEnginesAgree(Olympics.ENGINE_MODE_QUEUE, Olympics.ENGINE_MODE_TREE, new Matches.HigherTeamWinsMatch());
+	}
+	
+	/**
+	 * Method to verify that the k best teams are ranked in order, with much fewer matches 
+	 * than a series per rank, and with no more matches than a series for k = 1 and k = 2
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testPlayTopK(){
+		final int[] numOfMatches = new int[1];
+		Match match = new Matches.HigherTeamWinsMatch(){
+			@Override
+			public void play(int team1, int team2, int matchType){
+				numOfMatches[0]++;
+				super.play(team1, team2, matchType);
+			}
+		};
+		Olympics olympics = new Olympics(match);
+		
+		for(int numOfTeams : new int[]{2, 3, 17, 1000, 4097}){
+			for(int k : new int[]{1, 2, 10, 300}){
+				numOfMatches[0] = 0;
+				Olympics.RankedResult result = olympics.playTopK(Matches.shuffledTeams(numOfTeams, k), 
+						MatchFactory.SPORT_TYPE_HOCKEY, k);
+				
+				int numOfRanked = Math.min(k, numOfTeams);
+				Assert.assertEquals(result.mErrorCode, Olympics.Result.RESULT_OK);
+				Assert.assertEquals(result.mRanking.length, numOfRanked);
+				for(int rank = 0; rank < numOfRanked; rank++){
+					Assert.assertEquals(result.mRanking[rank], numOfTeams - rank);
+				}
+				Assert.assertEquals(result.mResult.mFirstWinner, numOfTeams);
+				
+				int log2 = 32 - Integer.numberOfLeadingZeros(numOfTeams);
+				Assert.assertTrue(numOfMatches[0] <= numOfTeams + 3 * numOfRanked * log2 * log2);
+				if(k == 1){
+					Assert.assertEquals(numOfMatches[0], numOfTeams - 1);
+				}
+				else if(k == 2){
+					Assert.assertTrue(numOfMatches[0] <= numOfTeams + log2 - 2);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Method to verify that the parallel engine plays the same matches as the queue engine.
+	 * Sizes above 1024 teams are split in several sub-brackets.
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testParallelEngineMatchesQueueEngine(){
+		assertEnginesAgree(Olympics.ENGINE_MODE_QUEUE, Olympics.ENGINE_MODE_PARALLEL, new Matches.PairHashMatch());
+		
+		Olympics sequential = new Olympics(new Matches.PairHashMatch());
+		sequential.setEngineMode(Olympics.ENGINE_MODE_PRIMITIVE);
+		Olympics parallel = new Olympics(new Matches.PairHashMatch());
+		parallel.setEngineMode(Olympics.ENGINE_MODE_PARALLEL);
+		
+		for(int numOfTeams : new int[]{5000, 100001}){
+			int[] teams = Matches.shuffledTeams(numOfTeams, numOfTeams);
+			Olympics.Result expected = sequential.play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+			Olympics.Result result = parallel.play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+			
+			Assert.assertEquals(result.mResult.mFirstWinner, expected.mResult.mFirstWinner);
+			Assert.assertEquals(result.mResult.mSecondWinner, expected.mResult.mSecondWinner);
+		}
+	}
+	
+	/**
+	 * Method to verify that the async engine plays the same matches as the queue engine
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testAsyncEngineMatchesQueueEngine(){
+		assertEnginesAgree(Olympics.ENGINE_MODE_QUEUE, Olympics.ENGINE_MODE_ASYNC, new Matches.PairHashMatch());
+	}
+	
+	/**
+	 * Method to verify that the async engine plays several matches at the same time, 
+	 * but never more than the configured maximum
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testAsyncEngineCapsMatchesInFlight() throws Exception{
+		MatchPool pool = new MatchPool(MatchFactory.SPORT_TYPE_FOOTBALL, 16, () -> new SlowMatch(5));
+		Olympics olympics = new Olympics(pool);
+		olympics.setMaxMatchesInFlight(4);
+		
+		Olympics.Result result = olympics.playAsync(Matches.shuffledTeams(64, 64), MatchFactory.SPORT_TYPE_FOOTBALL).get();
+		
+		Assert.assertEquals(result.mErrorCode, Olympics.Result.RESULT_OK);
+		Assert.assertEquals(result.mResult.mFirstWinner, 64);
+		Assert.assertEquals(result.mResult.mSecondWinner, 63);
+		Assert.assertTrue(pool.getHighWaterMark() > 1);
+		Assert.assertTrue(pool.getHighWaterMark() <= 4);
+	}
+	
+	/**
+	 * Method to verify that a @link Match which throws is still handed back to its pool,
+	 * whatever the engine
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testThrowingMatchIsReturnedToPool(){
+		int[] modes = {Olympics.ENGINE_MODE_QUEUE, Olympics.ENGINE_MODE_TREE, Olympics.ENGINE_MODE_PRIMITIVE};
+		for(int mode : modes){
+			MatchPool pool = new MatchPool(MatchFactory.SPORT_TYPE_HOCKEY, 1, () -> new Matches.HigherTeamWinsMatch(){
+				@Override
+				public void play(int team1, int team2, int matchType){
+					throw new IllegalStateException("scoring service unavailable");
+				}
+			});
+			Olympics olympics = new Olympics(pool);
+			olympics.setEngineMode(mode);
+			for(int i = 0; i < 3; i++){
+				try{
+					olympics.play(new int[]{1, 2, 3, 4}, MatchFactory.SPORT_TYPE_HOCKEY);
+					Assert.fail("the exception of the match should be thrown");
+				}
+				catch(IllegalStateException e){
+				}
+			}
+			Assert.assertEquals(pool.getMissCount(), 1);
+			Assert.assertEquals(pool.getHitCount(), 2);
+			Assert.assertEquals(pool.getHighWaterMark(), 1);
+		}
+	}
+	
+	/**
+	 * Method to verify that more series than threads can be played at the same time on a bounded
+	 * executor, and that the exception of a @link Match is thrown as is by a synchronous series
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testAsyncEngineOnBoundedExecutor() throws Exception{
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try{
+			MatchPool pool = new MatchPool(MatchFactory.SPORT_TYPE_FOOTBALL, 16, () -> new SlowMatch(1));
+			Olympics olympics = new Olympics(pool);
+			olympics.setAsyncExecutor(executor);
+			
+			List<CompletableFuture<Olympics.Result>> futures = new ArrayList<>();
+			for(int i = 0; i < 8; i++){
+				futures.add(olympics.playAsync(Matches.shuffledTeams(16, i), MatchFactory.SPORT_TYPE_FOOTBALL));
+			}
+			for(CompletableFuture<Olympics.Result> future : futures){
+				Assert.assertEquals(future.get(10, TimeUnit.SECONDS).mResult.mFirstWinner, 16);
+			}
+			
+			Olympics failing = new Olympics(new Matches.HigherTeamWinsMatch(){
+				@Override
+				public void play(int team1, int team2, int matchType){
+					throw new IllegalStateException("scoring service unavailable");
+				}
+			});
+			failing.setAsyncExecutor(executor);
+			failing.setEngineMode(Olympics.ENGINE_MODE_ASYNC);
+			try{
+				failing.play(new int[]{1, 2, 3}, MatchFactory.SPORT_TYPE_FOOTBALL);
+				Assert.fail("the exception of the match should be thrown");
+			}
+			catch(IllegalStateException e){
+			}
+		}
+		finally{
+			executor.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Method to verify that no more matches are played once an asynchronous series is cancelled
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testPlayAsyncCanBeCancelled() throws Exception{
+		final AtomicInteger numOfMatches = new AtomicInteger();
+		MatchPool pool = new MatchPool(MatchFactory.SPORT_TYPE_FOOTBALL, 16, () -> new SlowMatch(20){
+			@Override
+			public void play(int team1, int team2, int matchType){
+				numOfMatches.incrementAndGet();
+				super.play(team1, team2, matchType);
+			}
+		});
+		Olympics olympics = new Olympics(pool);
+		olympics.setMaxMatchesInFlight(8);
+		
+		CompletableFuture<Olympics.Result> future = olympics.playAsync(Matches.shuffledTeams(1024, 1), 
+				MatchFactory.SPORT_TYPE_FOOTBALL);
+		Thread.sleep(50);
+		Assert.assertTrue(future.cancel(true));
+		Assert.assertTrue(future.isCancelled());
+		
+		Thread.sleep(100);
+		int played = numOfMatches.get();
+		Thread.sleep(100);
+		Assert.assertEquals(numOfMatches.get(), played);
+		Assert.assertTrue(played < 1023);
+	}
+	
+	/**
+	 * Method to verify that series played in a single call with playAll give the same results 
+	 * as series played one at a time, with the primitive, tree and parallel engines
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testPlayAllMatchesPlay(){
+		int numOfSeries = 2000;
+		int[] offsets = new int[numOfSeries + 1];
+		for(int t = 0; t < numOfSeries; t++){
+			offsets[t + 1] = offsets[t] + (t * 7) % 65;
+		}
+		int[] teams = Matches.shuffledTeams(offsets[numOfSeries], 17);
+		
+		Olympics queue = new Olympics(new Matches.PairHashMatch());
+		int[] modes = {Olympics.ENGINE_MODE_QUEUE, Olympics.ENGINE_MODE_TREE, Olympics.ENGINE_MODE_PARALLEL};
+		for(int mode : modes){
+			MatchPool pool = new MatchPool(MatchFactory.SPORT_TYPE_HOCKEY, 8, Matches.PairHashMatch::new);
+			Olympics olympics = new Olympics(pool);
+			olympics.setEngineMode(mode);
+			queue.setEngineMode((mode == Olympics.ENGINE_MODE_TREE) ? mode : Olympics.ENGINE_MODE_QUEUE);
+			
+			int[] results = new int[Olympics.RESULT_STRIDE * numOfSeries];
+			olympics.playAll(teams, offsets, numOfSeries, MatchFactory.SPORT_TYPE_HOCKEY, results);
+			
+			for(int t = 0; t < numOfSeries; t++){
+				int[] series = Arrays.copyOfRange(teams, offsets[t], offsets[t + 1]);
+				Olympics.Result expected = queue.play(series, MatchFactory.SPORT_TYPE_HOCKEY);
+				Assert.assertEquals(results[Olympics.RESULT_STRIDE * t], expected.mErrorCode);
+				Assert.assertEquals(results[Olympics.RESULT_STRIDE * t + 1], expected.mResult.mFirstWinner);
+				Assert.assertEquals(results[Olympics.RESULT_STRIDE * t + 2], expected.mResult.mSecondWinner);
+			}
+		}
+		
+		Olympics.Result[] results = queue.playAll(new int[][]{{4, 9, 1}, null, {7}}, MatchFactory.SPORT_TYPE_HOCKEY);
+		Assert.assertEquals(results.length, 3);
+		Assert.assertEquals(results[0].mErrorCode, Olympics.Result.RESULT_OK);
+		Assert.assertEquals(results[1].mErrorCode, Olympics.Result.RESULT_INVALID_DATA_PROVIDED);
+		Assert.assertEquals(results[2].mErrorCode, Olympics.Result.RESULT_INADEQUATE_DATA_PROVIDED);
+		Assert.assertEquals(results[2].mResult.mFirstWinner, 7);
+	}
+	
+	/**
+	 * Method to verify that playAll rejects offsets which go beyond the teams
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testPlayAllInvalidOffsets(){
+		new Olympics().playAll(new int[]{1, 2, 3}, new int[]{0, 2, 4}, 2, MatchFactory.SPORT_TYPE_HOCKEY, new int[6]);
+	}
+	
+	/**
+	 * Method to verify that a series played from a file plays the same matches as the queue engine,
+	 * including series with more matches in a round than a batch
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testFileSeriesMatchesQueueEngine() throws Exception{
+		Olympics queue = new Olympics(new Matches.PairHashMatch());
+		Olympics mapped = new Olympics(new Matches.PairHashMatch());
+		Path file = Files.createTempFile("teams", ".bin");
+		try{
+			for(int numOfTeams : new int[]{0, 1, 2, 3, 4, 5, 6, 7, 100, 1001, 8193, 20001}){
+				int[] teams = Matches.shuffledTeams(numOfTeams, numOfTeams);
+				ByteBuffer buffer = ByteBuffer.allocate(4 * numOfTeams).order(ByteOrder.LITTLE_ENDIAN);
+				buffer.asIntBuffer().put(teams);
+				Files.write(file, buffer.array());
+				
+				Olympics.Result expected = queue.play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+				Olympics.Result result = mapped.play(file, MatchFactory.SPORT_TYPE_HOCKEY);
+				
+				Assert.assertEquals(result.mErrorCode, expected.mErrorCode);
+				Assert.assertEquals(result.mResult.mFirstWinner, expected.mResult.mFirstWinner);
+				Assert.assertEquals(result.mResult.mSecondWinner, expected.mResult.mSecondWinner);
+			}
+		}
+		finally{
+			Files.deleteIfExists(file);
+		}
+	}
+	
+	/**
+	 * Method to verify that an unsupported engine mode is rejected
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnsupportedEngineMode(){
+		new Olympics().setEngineMode(-1);
+	}
+	
+	/*
+	 * Match which waits for some time before deciding that the team with the higher id wins.
+	 * Stands in for a match calling out to a scoring service.
+	 * */
+	
+	static class SlowMatch extends Matches.HigherTeamWinsMatch{
+		
+		private final long mDelayMillis;
+		
+		SlowMatch(long delayMillis){
+			mDelayMillis = delayMillis;
+		}
+		
+		@Override
+		public void play(int team1, int team2, int matchType){
+			try{
+				Thread.sleep(mDelayMillis);
+			}
+			catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+			}
+			super.play(team1, team2, matchType);
+		}
+	}
+	
+	/*
+	 * Plays the same inputs with both engines and checks that the winners are the same
+	 * */
+	
+	static void assertEnginesAgree(int engineMode1, int engineMode2, Match match){
+		Olympics olympics1 = new Olympics(match);
+		olympics1.setEngineMode(engineMode1);
+		Olympics olympics2 = new Olympics(match);
+		olympics2.setEngineMode(engineMode2);
+		
+		for(int numOfTeams = 2; numOfTeams <= 300; numOfTeams++){
+			int[] teams = Matches.shuffledTeams(numOfTeams, numOfTeams);
+			Olympics.Result result1 = olympics1.play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+			Olympics.Result result2 = olympics2.play(teams, MatchFactory.SPORT_TYPE_HOCKEY);
+			
+			Assert.assertEquals(result1.mErrorCode, Olympics.Result.RESULT_OK);
+			Assert.assertEquals(result2.mErrorCode, Olympics.Result.RESULT_OK);
+			Assert.assertEquals(result1.mResult.mFirstWinner, result2.mResult.mFirstWinner);
+			Assert.assertEquals(result1.mResult.mSecondWinner, result2.mResult.mSecondWinner);
+		}
+	}
+}
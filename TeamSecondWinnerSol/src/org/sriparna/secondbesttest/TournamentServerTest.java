@@ -0,0 +1,189 @@
+package org.sriparna.secondbesttest;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.Olympics;
+import org.sriparna.secondbest.TournamentServer;
+
+/**
+ * Class to test TournamentServer over the loopback interface
+ *
+ * @author SriparnaChakraborty
+ *
+ * */
+
+public class TournamentServerTest {
+
+	/**
+	 * Method to verify that pipelined requests, sent in a single write and including a series
+	 * larger than the buffers of the server, get their responses in order
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testPipelinedRequests() throws IOException{
+		Olympics expected = new Olympics(new Matches.HigherTeamWinsMatch());
+		try(TournamentServer server = newServer();
+				SocketChannel client = SocketChannel.open(server.getAddress())){
+
+			int numOfRequests = 20000;
+			int[][] series = new int[numOfRequests][];
+			int size = 0;
+			for(int t = 0; t < numOfRequests; t++){
+				series[t] = Matches.shuffledTeams((t == 500) ? 50000 : t % 17, t);
+				size += TournamentServer.REQUEST_HEADER_SIZE + series[t].length * Integer.BYTES;
+			}
+			ByteBuffer requests = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+			for(int t = 0; t < numOfRequests; t++){
+				requests.putInt((t == 9) ? 42 : MatchFactory.SPORT_TYPE_HOCKEY).putInt(series[t].length);
+				for(int team : series[t]){
+					requests.putInt(team);
+				}
+			}
+			requests.flip();
+
+			ByteBuffer responses = exchange(client, requests, numOfRequests * TournamentServer.RESPONSE_SIZE);
+			for(int t = 0; t < numOfRequests; t++){
+				if(t == 9){
+					Assert.assertEquals(responses.getInt(), Olympics.Result.RESULT_INVALID_DATA_PROVIDED);
+					responses.getInt();
+					responses.getInt();
+					continue;
+				}
+				Olympics.Result result = expected.play(series[t], MatchFactory.SPORT_TYPE_HOCKEY);
+				Assert.assertEquals(responses.getInt(), result.mErrorCode);
+				Assert.assertEquals(responses.getInt(), result.mResult.mFirstWinner);
+				Assert.assertEquals(responses.getInt(), result.mResult.mSecondWinner);
+			}
+			Assert.assertEquals(server.getNumOfTournaments(), numOfRequests);
+		}
+	}
+
+	/**
+	 * Method to verify that a connection is kept open across requests split over several writes
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testKeepAliveAndSplitRequests() throws IOException{
+		try(TournamentServer server = newServer();
+				SocketChannel client = SocketChannel.open(server.getAddress())){
+			for(int i = 0; i < 100; i++){
+				ByteBuffer request = ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN);
+				request.putInt(MatchFactory.SPORT_TYPE_CRICKET).putInt(3).putInt(i).putInt(i + 7).putInt(i + 3);
+				request.flip();
+				request.limit(6);
+				client.write(request);
+				request.limit(20);
+
+				ByteBuffer response = exchange(client, request, TournamentServer.RESPONSE_SIZE);
+				Assert.assertEquals(response.getInt(), Olympics.Result.RESULT_OK);
+				Assert.assertEquals(response.getInt(), i + 7);
+				Assert.assertEquals(response.getInt(), i + 3);
+			}
+			Assert.assertEquals(server.getNumOfConnections(), 1);
+		}
+	}
+
+	/**
+	 * Method to verify that an invalid request closes the connection
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testInvalidRequestClosesConnection() throws IOException{
+		try(TournamentServer server = newServer();
+				SocketChannel client = SocketChannel.open(server.getAddress())){
+			ByteBuffer request = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+			request.putInt(MatchFactory.SPORT_TYPE_HOCKEY).putInt(-1).flip();
+			client.write(request);
+			Assert.assertEquals(client.read(ByteBuffer.allocate(TournamentServer.RESPONSE_SIZE)), -1);
+		}
+	}
+
+	/**
+	 * Method to verify that an exception thrown by a Match only closes the connection of the
+	 * series, and that the server keeps serving the other connections
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testFailingMatchClosesOnlyItsConnection() throws IOException{
+		Olympics olympics = new Olympics(new Matches.HigherTeamWinsMatch(){
+			@Override
+			public void play(int team1, int team2, int matchType){
+				if(team1 == 13 || team2 == 13){
+					throw new IllegalStateException("scoring service unavailable");
+				}
+				super.play(team1, team2, matchType);
+			}
+		});
+		try(TournamentServer server = new TournamentServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), olympics)){
+			server.start();
+			try(SocketChannel failing = SocketChannel.open(server.getAddress());
+					SocketChannel client = SocketChannel.open(server.getAddress())){
+				ByteBuffer request = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+				request.putInt(MatchFactory.SPORT_TYPE_HOCKEY).putInt(2).putInt(13).putInt(14).flip();
+				failing.write(request);
+				Assert.assertEquals(failing.read(ByteBuffer.allocate(TournamentServer.RESPONSE_SIZE)), -1);
+
+				request.clear();
+				request.putInt(MatchFactory.SPORT_TYPE_HOCKEY).putInt(2).putInt(11).putInt(12).flip();
+				ByteBuffer response = exchange(client, request, TournamentServer.RESPONSE_SIZE);
+				Assert.assertEquals(response.getInt(), Olympics.Result.RESULT_OK);
+				Assert.assertEquals(response.getInt(), 12);
+				Assert.assertEquals(response.getInt(), 11);
+			}
+		}
+	}
+
+	private static TournamentServer newServer() throws IOException{
+		TournamentServer server = new TournamentServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+				new Olympics(new Matches.HigherTeamWinsMatch()));
+		server.start();
+		return server;
+	}
+
+	/*
+	 * Writes the requests while reading the responses, since the server stops reading once
+	 * the responses it cannot write pile up
+	 * */
+
+	private static ByteBuffer exchange(SocketChannel client, ByteBuffer requests, int responseSize) throws IOException{
+		ByteBuffer responses = ByteBuffer.allocate(responseSize).order(ByteOrder.LITTLE_ENDIAN);
+		client.configureBlocking(false);
+		try{
+			while(requests.hasRemaining() || responses.hasRemaining()){
+				int written = client.write(requests);
+				int read = client.read(responses);
+				if(read < 0){
+					Assert.fail("the connection was closed");
+				}
+				if(written == 0 && read == 0){
+					Thread.yield();
+				}
+			}
+		}
+		finally{
+			client.configureBlocking(true);
+		}
+		responses.flip();
+		return responses;
+	}
+}
@@ -0,0 +1,164 @@
+package org.sriparna.secondbesttest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.MatchPool;
+import org.sriparna.secondbest.Olympics;
+import org.sriparna.secondbest.TournamentService;
+
+/**
+ * Class to test TournamentService
+ *
+ * @author SriparnaChakraborty
+ *
+ * */
+
+public class TournamentServiceTest {
+
+	/**
+	 * Method to verify that series of all the sports submitted to a service are played
+	 * and give the same winners as a series played directly
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testServicePlaysSubmittedSeries() throws Exception{
+		TournamentService service = new TournamentService(4, 8, TournamentService.BACKPRESSURE_BLOCK,
+				() -> new Olympics(new MatchPool(MatchFactory.SPORT_TYPE_HOCKEY, 4, Matches.HigherTeamWinsMatch::new)));
+
+		List<Future<Olympics.Result>> futures = new ArrayList<>();
+		for(int i = 0; i < 200; i++){
+			int sport = MatchFactory.LIST_OF_SUPPORTED_SPORTS.get(i % MatchFactory.LIST_OF_SUPPORTED_SPORTS.size());
+			futures.add(service.submit(Matches.shuffledTeams(2 + i, i), sport));
+		}
+
+		for(int i = 0; i < 200; i++){
+			Olympics.Result result = futures.get(i).get();
+			Assert.assertEquals(result.mErrorCode, Olympics.Result.RESULT_OK);
+			Assert.assertEquals(result.mResult.mFirstWinner, 2 + i);
+			Assert.assertEquals(result.mResult.mSecondWinner, 1 + i);
+		}
+
+		service.close();
+		Assert.assertTrue(service.awaitTermination(10, TimeUnit.SECONDS));
+		Assert.assertEquals(service.getCompletedCount(), 200);
+		Assert.assertEquals(service.getRejectedCount(), 0);
+	}
+
+	/**
+	 * Method to verify that a service rejects series once its workers are busy and its queue
+	 * is full, and accepts series again once they are played
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testServiceRejectsWhenFull() throws Exception{
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		MatchPool pool = new MatchPool(MatchFactory.SPORT_TYPE_ARCHERY, 2, () -> new Matches.HigherTeamWinsMatch(){
+			@Override
+			public void play(int team1, int team2, int matchType){
+				started.countDown();
+				try{
+					release.await();
+				}
+				catch(InterruptedException e){
+					Thread.currentThread().interrupt();
+				}
+				super.play(team1, team2, matchType);
+			}
+		});
+		TournamentService service = new TournamentService(1, 1, TournamentService.BACKPRESSURE_REJECT,
+				() -> new Olympics(pool));
+
+		Future<Olympics.Result> running = service.submit(new int[]{1, 2}, MatchFactory.SPORT_TYPE_ARCHERY);
+		started.await();
+		Future<Olympics.Result> queued = service.submit(new int[]{3, 4}, MatchFactory.SPORT_TYPE_ARCHERY);
+
+		try{
+			service.submit(new int[]{5, 6}, MatchFactory.SPORT_TYPE_ARCHERY);
+			Assert.fail();
+		}
+		catch(RejectedExecutionException e){
+			Assert.assertEquals(service.getRejectedCount(), 1);
+		}
+
+		release.countDown();
+		Assert.assertEquals(running.get().mResult.mFirstWinner, 2);
+		Assert.assertEquals(queued.get().mResult.mFirstWinner, 4);
+		Assert.assertEquals(service.submit(new int[]{5, 6}, MatchFactory.SPORT_TYPE_ARCHERY).get().mResult.mFirstWinner, 6);
+		service.close();
+	}
+
+	/**
+	 * Method to verify that series cancelled while waiting leave the queue, so that
+	 * submitting and cancelling series repeatedly never fills it
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test
+	public void testCancelledSeriesLeaveQueue() throws Exception{
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		MatchPool pool = new MatchPool(MatchFactory.SPORT_TYPE_ARCHERY, 2, () -> new Matches.HigherTeamWinsMatch(){
+			@Override
+			public void play(int team1, int team2, int matchType){
+				started.countDown();
+				try{
+					release.await();
+				}
+				catch(InterruptedException e){
+					Thread.currentThread().interrupt();
+				}
+				super.play(team1, team2, matchType);
+			}
+		});
+		TournamentService service = new TournamentService(1, 1, TournamentService.BACKPRESSURE_REJECT,
+				() -> new Olympics(pool));
+
+		Future<Olympics.Result> running = service.submit(new int[]{1, 2}, MatchFactory.SPORT_TYPE_ARCHERY);
+		started.await();
+		for(int i = 0; i < 100; i++){
+			Future<Olympics.Result> queued = service.submit(new int[]{3, 4}, MatchFactory.SPORT_TYPE_ARCHERY);
+			Assert.assertTrue(queued.cancel(false));
+			Assert.assertEquals(service.getQueuedCount(), 0);
+		}
+		Assert.assertEquals(service.getRejectedCount(), 0);
+
+		release.countDown();
+		Assert.assertEquals(running.get().mResult.mFirstWinner, 2);
+		service.close();
+	}
+
+	/**
+	 * Method to verify that an unsupported sport is rejected on submission
+	 *
+	 * @param nothing
+	 * @return nothing
+	 * */
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnsupportedSport(){
+		TournamentService service = new TournamentService(1, 1, TournamentService.BACKPRESSURE_BLOCK);
+		try{
+			service.submit(new int[]{1, 2}, 42);
+		}
+		finally{
+			service.close();
+		}
+	}
+}
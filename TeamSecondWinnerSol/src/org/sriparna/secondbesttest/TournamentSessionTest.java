@@ -0,0 +1,72 @@
+package org.sriparna.secondbesttest;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.sriparna.secondbest.Match;
+import org.sriparna.secondbest.MatchFactory;
+import org.sriparna.secondbest.Olympics;
+import org.sriparna.secondbest.TournamentSession;
+
+/**
+ * Class to test TournamentSession
+ * 
+ * @author SriparnaChakraborty
+ * 
+ * */
+
+public class TournamentSessionTest {
+	
+	/**
+	 * Method to verify that a session finds the two best teams, playing at most 
+	 * about n + 2 * log2(n) matches, and can be reused for another series
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testSessionFindsTwoBestTeams(){
+		final int[] numOfMatches = new int[1];
+		Match match = new Matches.HigherTeamWinsMatch(){
+			@Override
+			public void play(int team1, int team2, int matchType){
+				numOfMatches[0]++;
+				super.play(team1, team2, matchType);
+			}
+		};
+		TournamentSession session = new Olympics(match).newSession(MatchFactory.SPORT_TYPE_CRICKET);
+		
+		for(int numOfTeams = 2; numOfTeams <= 1100; numOfTeams++){
+			numOfMatches[0] = 0;
+			for(int team : Matches.shuffledTeams(numOfTeams, numOfTeams)){
+				session.offer(team);
+			}
+			Assert.assertEquals(session.getNumOfTeams(), numOfTeams);
+			
+			Olympics.Result result = session.finish();
+			int log2 = 31 - Integer.numberOfLeadingZeros(numOfTeams);
+			Assert.assertEquals(result.mErrorCode, Olympics.Result.RESULT_OK);
+			Assert.assertEquals(result.mResult.mFirstWinner, numOfTeams);
+			Assert.assertEquals(result.mResult.mSecondWinner, numOfTeams - 1);
+			Assert.assertTrue(numOfMatches[0] <= numOfTeams + 2 * log2);
+		}
+	}
+	
+	/**
+	 * Method to verify the error codes of a session with no team and with one team
+	 * 
+	 * @param nothing
+	 * @return nothing
+	 * */
+	
+	@Test
+	public void testSessionWithInadequateInput(){
+		TournamentSession session = new Olympics(new Matches.HigherTeamWinsMatch()).newSession(MatchFactory.SPORT_TYPE_CRICKET);
+		Assert.assertEquals(session.finish().mErrorCode, Olympics.Result.RESULT_INVALID_DATA_PROVIDED);
+		
+		session.offer(-1);
+		Olympics.Result result = session.finish();
+		Assert.assertEquals(result.mErrorCode, Olympics.Result.RESULT_INADEQUATE_DATA_PROVIDED);
+		Assert.assertEquals(result.mResult.mFirstWinner, -1);
+	}
+}